@@ -0,0 +1,349 @@
+/*
+ * Copyright (C) 2024 The REINCARNATION Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package reincarnation;
+
+import java.util.Arrays;
+
+/**
+ * The iterative back-edge detection. The depth-first search is driven by the explicit stack and
+ * the passed and on-stack states are held in the bitsets by {@link Node#index}, so the very large
+ * method never overflows the call stack and each edge is checked in constant time.
+ * <p>
+ * When the graph is reducible, the retreating edges of any depth-first search are the same, and
+ * they are found in the same order as the exhaustive path search which visits the node again on
+ * each path. So the single linear search is used and the reducibility is verified by the
+ * dominators of the forward edges. Only the irreducible graph falls back to the exhaustive path
+ * search to keep the historical result. The number of paths grows exponentially in the generated
+ * state machine or the obfuscated flow, so the exhaustive search is abandoned when it exceeds
+ * {@link #LIMIT} steps and the retreating edges of the linear search are used instead.
+ */
+final class BackedgeSearch {
+
+    /** The maximum number of steps of the exhaustive search. */
+    static final int LIMIT = 1 << 20;
+
+    /** The passed nodes. */
+    private long[] passed = new long[1];
+
+    /** The nodes on the current path. */
+    private long[] onPath = new long[1];
+
+    /** The reverse post-order number by index. */
+    private int[] orders = new int[64];
+
+    /** The nodes in reverse post-order. */
+    private Node[] sorted = new Node[64];
+
+    /** The number of passed nodes. */
+    private int count;
+
+    /** The source nodes of retreating edges. */
+    private Node[] sources = new Node[16];
+
+    /** The target nodes of retreating edges. */
+    private Node[] targets = new Node[16];
+
+    /** The number of retreating edges. */
+    private int edges;
+
+    /** The current path. */
+    private Node[] path = new Node[64];
+
+    /** The next outgoing position of each node on the current path. */
+    private int[] cursors = new int[64];
+
+    /**
+     * Hide constructor.
+     */
+    private BackedgeSearch() {
+    }
+
+    /**
+     * Search all backedges from the specified root node and register them into
+     * {@link Node#backedges}.
+     *
+     * @param root The entrance node.
+     * @return true if the graph is reducible.
+     */
+    static boolean search(Node root) {
+        BackedgeSearch search = new BackedgeSearch();
+        search.traverse(root);
+
+        if (search.isReducible()) {
+            search.register(0, search.edges);
+            return true;
+        } else {
+            int linear = search.edges;
+            if (!search.enumerate(root)) {
+                // rollback the partial result
+                for (int i = linear; i < search.edges; i++) {
+                    search.targets[i].backedges.remove(search.sources[i]);
+                }
+                search.register(0, linear);
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Register the collected retreating edges as backedges.
+     *
+     * @param from The first edge number (inclusive).
+     * @param to The last edge number (exclusive).
+     */
+    private void register(int from, int to) {
+        for (int i = from; i < to; i++) {
+            targets[i].backedges.addIfAbsent(sources[i]);
+        }
+    }
+
+    /**
+     * Traverse all nodes only once and collect the retreating edges.
+     *
+     * @param root The entrance node.
+     */
+    private void traverse(Node root) {
+        int top = push(root, 0);
+        set(passed, root);
+        int post = 0;
+        Node[] posts = new Node[16];
+
+        int steps = 0;
+
+        while (0 < top) {
+            Budget.checkpoint(++steps);
+
+            Node node = path[top - 1];
+
+            if (cursors[top - 1] < node.outgoing.size()) {
+                Node out = node.outgoing.get(cursors[top - 1]++);
+
+                if (get(onPath, out)) {
+                    retreat(node, out);
+                } else if (!get(passed, out)) {
+                    set(passed, out);
+                    top = push(out, top);
+                }
+            } else {
+                clear(onPath, node);
+                top--;
+
+                if (posts.length == post) posts = Arrays.copyOf(posts, post * 2);
+                posts[post++] = node;
+            }
+        }
+
+        // number by reverse post-order
+        count = post;
+        if (sorted.length < count) sorted = new Node[count];
+        for (int i = 0; i < count; i++) {
+            Node node = posts[count - 1 - i];
+            sorted[i] = node;
+            if (orders.length <= node.index) orders = Arrays.copyOf(orders, Math.max(node.index + 1, orders.length * 2));
+            orders[node.index] = i;
+        }
+    }
+
+    /**
+     * Verify that all retreating edges point to the dominator of its source.
+     *
+     * @return A result.
+     */
+    private boolean isReducible() {
+        if (edges == 0) {
+            return true;
+        }
+
+        // Compute the immediate dominators on the forward edges, the reverse post-order is the
+        // topological order of them.
+        int[] dominators = new int[count];
+        dominators[0] = 0;
+        for (int i = 1; i < count; i++) {
+            Node node = sorted[i];
+            int dominator = -1;
+
+            for (int j = 0; j < node.incoming.size(); j++) {
+                Node in = node.incoming.get(j);
+
+                if (get(passed, in) && orders[in.index] < i) {
+                    dominator = dominator == -1 ? orders[in.index] : intersect(dominators, dominator, orders[in.index]);
+                }
+            }
+            dominators[i] = dominator == -1 ? 0 : dominator;
+        }
+
+        // number the dominator tree to check the dominance in constant time
+        int[] offsets = new int[count + 1];
+        for (int i = 1; i < count; i++) {
+            offsets[dominators[i] + 1]++;
+        }
+        for (int i = 0; i < count; i++) {
+            offsets[i + 1] += offsets[i];
+        }
+        int[] children = new int[count];
+        int[] filled = Arrays.copyOf(offsets, count);
+        for (int i = 1; i < count; i++) {
+            children[filled[dominators[i]]++] = i;
+        }
+
+        int[] pre = new int[count];
+        int[] post = new int[count];
+        int[] stack = new int[count];
+        int[] cursor = Arrays.copyOf(offsets, count);
+        int counter = 0;
+        int top = 0;
+        stack[top++] = 0;
+        pre[0] = counter++;
+
+        while (0 < top) {
+            int node = stack[top - 1];
+            if (cursor[node] < offsets[node + 1]) {
+                int child = children[cursor[node]++];
+                pre[child] = counter++;
+                stack[top++] = child;
+            } else {
+                post[node] = counter++;
+                top--;
+            }
+        }
+
+        for (int i = 0; i < edges; i++) {
+            int source = orders[sources[i].index];
+            int target = orders[targets[i].index];
+
+            if (pre[source] < pre[target] || post[target] < post[source]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Find the nearest common dominator by the reverse post-order numbers.
+     *
+     * @param dominators The immediate dominators.
+     * @param one A node number.
+     * @param other A node number.
+     * @return The common dominator number.
+     */
+    private static int intersect(int[] dominators, int one, int other) {
+        while (one != other) {
+            while (other < one) {
+                one = dominators[one];
+            }
+            while (one < other) {
+                other = dominators[other];
+            }
+        }
+        return one;
+    }
+
+    /**
+     * Enumerate all paths without the passed state, this is the exhaustive search for the
+     * irreducible graph. The newly registered backedges are recorded after the retreating edges of
+     * the linear search to rollback them.
+     *
+     * @param root The entrance node.
+     * @return false if the search is abandoned by the step limit.
+     */
+    private boolean enumerate(Node root) {
+        Arrays.fill(onPath, 0);
+        int top = push(root, 0);
+        int steps = 0;
+
+        while (0 < top) {
+            if (LIMIT < ++steps) {
+                return false;
+            }
+            Budget.checkpoint(steps);
+
+            Node node = path[top - 1];
+
+            if (cursors[top - 1] < node.outgoing.size()) {
+                Node out = node.outgoing.get(cursors[top - 1]++);
+
+                if (get(onPath, out)) {
+                    if (out.backedges.addIfAbsent(node)) retreat(node, out);
+                } else {
+                    top = push(out, top);
+                }
+            } else {
+                clear(onPath, node);
+                top--;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Push the node on the current path.
+     *
+     * @param node A node to push.
+     * @param top The current size of path.
+     * @return The new size of path.
+     */
+    private int push(Node node, int top) {
+        if (path.length == top) {
+            path = Arrays.copyOf(path, top * 2);
+            cursors = Arrays.copyOf(cursors, top * 2);
+        }
+        path[top] = node;
+        cursors[top] = 0;
+        set(onPath, node);
+        return top + 1;
+    }
+
+    /**
+     * Record the retreating edge.
+     *
+     * @param source A source node.
+     * @param target A target node.
+     */
+    private void retreat(Node source, Node target) {
+        if (sources.length == edges) {
+            sources = Arrays.copyOf(sources, edges * 2);
+            targets = Arrays.copyOf(targets, edges * 2);
+        }
+        sources[edges] = source;
+        targets[edges] = target;
+        edges++;
+    }
+
+    /**
+     * Test the bit of the node.
+     */
+    private static boolean get(long[] bits, Node node) {
+        int word = node.index >>> 6;
+        return word < bits.length && (bits[word] & (1L << node.index)) != 0;
+    }
+
+    /**
+     * Clear the bit of the node.
+     */
+    private static void clear(long[] bits, Node node) {
+        int word = node.index >>> 6;
+        if (word < bits.length) bits[word] &= ~(1L << node.index);
+    }
+
+    /**
+     * Set the bit of the node.
+     */
+    private void set(long[] bits, Node node) {
+        int word = node.index >>> 6;
+        if (bits.length <= word) {
+            boolean path = bits == onPath;
+            int size = Math.max(word + 1, bits.length * 2);
+            passed = Arrays.copyOf(passed, size);
+            onPath = Arrays.copyOf(onPath, size);
+            bits = path ? onPath : passed;
+        }
+        bits[word] |= 1L << node.index;
+    }
+}
@@ -0,0 +1,276 @@
+/*
+ * Copyright (C) 2024 The REINCARNATION Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package reincarnation;
+
+import java.time.Duration;
+import java.util.Collection;
+
+/**
+ * The resource budget of the method decompilation. The analysis of the method which exceeds any
+ * budget (the number of nodes, the number of operands or the elapsed time) is abandoned and the
+ * method is written as the stub with the reason, so the pathological method never aborts the
+ * whole class. All budgets are unlimited by default.
+ */
+public final class Budget {
+
+    /** The budget of the method which is analyzing on the current thread. */
+    private static final ThreadLocal<Meter> CURRENT = new ThreadLocal();
+
+    /** The number of steps between the time checks in the long pass (must be a power of two). */
+    static final int INTERVAL = 1 << 12;
+
+    /** The default maximum number of components to index the reachability. */
+    static final int REACHABILITY = 8192;
+
+    /** The maximum number of nodes. */
+    private volatile int nodes = Integer.MAX_VALUE;
+
+    /** The maximum number of operands. */
+    private volatile int operands = Integer.MAX_VALUE;
+
+    /** The maximum elapsed time in nanoseconds. */
+    private volatile long time = Long.MAX_VALUE;
+
+    /** The maximum number of components to index the reachability. */
+    private volatile int reachability = REACHABILITY;
+
+    /**
+     * Hide constructor.
+     */
+    Budget() {
+    }
+
+    /**
+     * Configure the maximum number of nodes (basic blocks) of each method.
+     *
+     * @param nodes The maximum number of nodes.
+     * @return Chainable API.
+     */
+    public Budget nodes(int nodes) {
+        if (nodes <= 0) {
+            throw new IllegalArgumentException("Node budget must be positive. [" + nodes + "]");
+        }
+        this.nodes = nodes;
+        return this;
+    }
+
+    /**
+     * Configure the maximum number of operands of each method.
+     *
+     * @param operands The maximum number of operands.
+     * @return Chainable API.
+     */
+    public Budget operands(int operands) {
+        if (operands <= 0) {
+            throw new IllegalArgumentException("Operand budget must be positive. [" + operands + "]");
+        }
+        this.operands = operands;
+        return this;
+    }
+
+    /**
+     * Configure the maximum elapsed time of the analysis of each method.
+     *
+     * @param time The maximum elapsed time.
+     * @return Chainable API.
+     */
+    public Budget time(Duration time) {
+        if (time == null || time.isNegative() || time.isZero()) {
+            throw new IllegalArgumentException("Time budget must be positive. [" + time + "]");
+        }
+        this.time = time.compareTo(Duration.ofNanos(Long.MAX_VALUE)) < 0 ? time.toNanos() : Long.MAX_VALUE;
+        return this;
+    }
+
+    /**
+     * Configure the maximum number of the strongly connected components of each method whose
+     * reachability is indexed. The index needs n * n / 8 bytes while analyzing, the larger method
+     * is traversed at each query instead. Unlike other budgets, it never abandons the analysis.
+     *
+     * @param components The maximum number of components.
+     * @return Chainable API.
+     */
+    public Budget reachability(int components) {
+        if (components < 0) {
+            throw new IllegalArgumentException("Reachability budget must not be negative. [" + components + "]");
+        }
+        this.reachability = components;
+        return this;
+    }
+
+    /**
+     * Start to measure the analysis of the specified method on the current thread. The returned
+     * meter must be closed after the analysis.
+     *
+     * @param method A target method.
+     * @return A started meter.
+     */
+    Meter start(Object method) {
+        Meter meter = new Meter(method, nodes, operands, time, reachability);
+        CURRENT.set(meter);
+        return meter;
+    }
+
+    /**
+     * Check the size of the specified nodes and the elapsed time of the analysis on the current
+     * thread.
+     *
+     * @param nodes All nodes of the method.
+     * @throws Exceeded If any budget is exceeded.
+     */
+    static void check(Collection<Node> nodes) {
+        Meter meter = CURRENT.get();
+        if (meter != null) {
+            meter.check(nodes);
+        }
+    }
+
+    /**
+     * Check the elapsed time of the analysis on the current thread.
+     *
+     * @throws Exceeded If the time budget is exceeded.
+     */
+    static void checkpoint() {
+        Meter meter = CURRENT.get();
+        if (meter != null) {
+            meter.checkTime();
+        }
+    }
+
+    /**
+     * Check the elapsed time of the analysis on the current thread at every {@link #INTERVAL}
+     * steps of the long pass.
+     *
+     * @param steps The number of steps of the current pass.
+     * @throws Exceeded If the time budget is exceeded.
+     */
+    static void checkpoint(int steps) {
+        if ((steps & (INTERVAL - 1)) == 0) {
+            checkpoint();
+        }
+    }
+
+    /**
+     * Get the maximum number of components to index the reachability of the method which is
+     * analyzing on the current thread.
+     *
+     * @return The maximum number of components.
+     */
+    static int reachability() {
+        Meter meter = CURRENT.get();
+        return meter == null ? REACHABILITY : meter.reachability;
+    }
+
+    /**
+     * The exceeded budget.
+     */
+    @SuppressWarnings("serial")
+    static final class Exceeded extends RuntimeException {
+
+        /**
+         * @param message The reason.
+         */
+        private Exceeded(String message) {
+            super(message, null, false, false);
+        }
+    }
+
+    /**
+     * The measurement of the single method.
+     */
+    static final class Meter implements AutoCloseable {
+
+        /** The target method. */
+        private final Object method;
+
+        /** The maximum number of nodes. */
+        private final int nodes;
+
+        /** The maximum number of operands. */
+        private final int operands;
+
+        /** The maximum elapsed time in nanoseconds. */
+        private final long time;
+
+        /** The maximum number of components to index the reachability. */
+        private final int reachability;
+
+        /** The start time. */
+        private final long start = System.nanoTime();
+
+        /** The meter of the enclosing analysis. */
+        private final Meter previous = CURRENT.get();
+
+        /**
+         * @param method The target method.
+         * @param nodes The maximum number of nodes.
+         * @param operands The maximum number of operands.
+         * @param time The maximum elapsed time in nanoseconds.
+         * @param reachability The maximum number of components to index the reachability.
+         */
+        private Meter(Object method, int nodes, int operands, long time, int reachability) {
+            this.method = method;
+            this.nodes = nodes;
+            this.operands = operands;
+            this.time = time;
+            this.reachability = reachability;
+        }
+
+        /**
+         * Check the size of the specified nodes and the elapsed time.
+         *
+         * @param nodes All nodes of the method.
+         * @throws Exceeded If any budget is exceeded.
+         */
+        private void check(Collection<Node> nodes) {
+            if (this.nodes < nodes.size()) {
+                throw new Exceeded("The method [" + method + "] has " + nodes.size() + " nodes over the budget " + this.nodes + ".");
+            }
+
+            if (operands != Integer.MAX_VALUE) {
+                int count = 0;
+                for (Node node : nodes) {
+                    count += node.stack.size();
+                }
+
+                if (operands < count) {
+                    throw new Exceeded("The method [" + method + "] has " + count + " operands over the budget " + operands + ".");
+                }
+            }
+            checkTime();
+        }
+
+        /**
+         * Check the elapsed time.
+         *
+         * @throws Exceeded If the time budget is exceeded.
+         */
+        private void checkTime() {
+            if (time != Long.MAX_VALUE) {
+                long elapsed = System.nanoTime() - start;
+                if (time < elapsed) {
+                    throw new Exceeded("The method [" + method + "] takes " + elapsed / 1000000 + "ms over the budget " + time / 1000000 + "ms.");
+                }
+            }
+        }
+
+        /**
+         * Restore the meter of the enclosing analysis.
+         */
+        @Override
+        public void close() {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+}
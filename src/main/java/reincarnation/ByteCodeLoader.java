@@ -0,0 +1,154 @@
+/*
+ * Copyright (C) 2024 The REINCARNATION Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package reincarnation;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import kiss.I;
+
+/**
+ * {@link ClassLoader} which defines classes from the raw class file bytes. The defined classes are
+ * never initialized by this loader, so their static initializers are not executed while
+ * decompiling. All classes are released together with this loader.
+ * <p>
+ * The class whose name is already defined by this loader with the other bytes is defined by the
+ * next loader which shares the parent and the class path, so the loader is shared by all class
+ * files of the same class path.
+ */
+class ByteCodeLoader extends ClassLoader {
+
+    static {
+        registerAsParallelCapable();
+    }
+
+    /** The root directory of the class path, may be null. */
+    private final Path root;
+
+    /** The registered class file bytes. */
+    private final Map<String, byte[]> bytes = new ConcurrentHashMap();
+
+    /** The loader for the other definition of the defined class, may be null. */
+    private ByteCodeLoader next;
+
+    /**
+     * @param parent The parent class loader to resolve dependencies.
+     * @param root The root directory of the class path, may be null.
+     */
+    ByteCodeLoader(ClassLoader parent, Path root) {
+        super(parent);
+        this.root = root;
+    }
+
+    /**
+     * Define the class from the given bytes without initialization.
+     *
+     * @param name A fully qualified class name.
+     * @param code A class file bytes.
+     * @return The defined class.
+     */
+    Class define(String name, byte[] code) {
+        synchronized (getClassLoadingLock(name)) {
+            byte[] defined = findLoadedClass(name) == null ? bytes.putIfAbsent(name, code) : read(name);
+
+            if (defined != null && !Arrays.equals(defined, code)) {
+                return next().define(name, code);
+            }
+
+            try {
+                return Class.forName(name, false, this);
+            } catch (ClassNotFoundException e) {
+                throw I.quiet(e);
+            }
+        }
+    }
+
+    /**
+     * Get the loader for the other definition of the defined class.
+     *
+     * @return The next loader.
+     */
+    private synchronized ByteCodeLoader next() {
+        if (next == null) {
+            next = new ByteCodeLoader(getParent(), root);
+        }
+        return next;
+    }
+
+    /**
+     * Read the class file bytes of the specified class.
+     *
+     * @param name A fully qualified class name.
+     * @return The class file bytes or null.
+     */
+    byte[] read(String name) {
+        byte[] code = bytes.get(name);
+
+        if (code == null && root != null) {
+            Path file = root.resolve(name.replace('.', '/') + ".class");
+
+            if (Files.isRegularFile(file)) {
+                try {
+                    code = Files.readAllBytes(file);
+                } catch (IOException e) {
+                    throw I.quiet(e);
+                }
+            }
+        }
+        return code;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+        synchronized (getClassLoadingLock(name)) {
+            Class loaded = findLoadedClass(name);
+
+            if (loaded == null) {
+                // The given bytes take precedence over the parent loader, otherwise the class which
+                // is also visible from the parent would be decompiled instead of the given one.
+                byte[] code = read(name);
+
+                if (code == null) {
+                    return super.loadClass(name, resolve);
+                }
+                loaded = defineClass(name, code, 0, code.length);
+            }
+
+            if (resolve) {
+                resolveClass(loaded);
+            }
+            return loaded;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public InputStream getResourceAsStream(String name) {
+        if (name.endsWith(".class")) {
+            byte[] code = read(name.substring(0, name.length() - 6).replace('/', '.'));
+
+            if (code != null) {
+                return new ByteArrayInputStream(code);
+            }
+        }
+        return super.getResourceAsStream(name);
+    }
+}
@@ -0,0 +1,349 @@
+/*
+ * Copyright (C) 2024 The REINCARNATION Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package reincarnation;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.LongAdder;
+
+import kiss.I;
+
+/**
+ * The memoization of {@link Reincarnation}. The decompiled unit is held by the target class itself,
+ * so the cache never pins the class and its loader. The completed units are bounded by the total
+ * weight (the number of nodes) and the least recently used one is evicted first.
+ */
+public final class Cache {
+
+    /** The classes which are decompiling on the current thread. */
+    private static final ThreadLocal<Set<Class>> DECOMPILING = ThreadLocal.withInitial(HashSet::new);
+
+    /** The memoized decompilation of each class. */
+    private final ClassValue<Slot> slots = new ClassValue<>() {
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        protected Slot computeValue(Class<?> type) {
+            return new Slot(type, collected);
+        }
+    };
+
+    /** The weak index of the completed units in the access order. */
+    private final LinkedHashMap<Key, Key> index = new LinkedHashMap(16, 0.75f, true);
+
+    /** The queue of the collected classes. */
+    private final ReferenceQueue<Class> collected = new ReferenceQueue();
+
+    /** The hit counter. */
+    private final LongAdder hits = new LongAdder();
+
+    /** The miss counter. */
+    private final LongAdder misses = new LongAdder();
+
+    /** The eviction counter. */
+    private final LongAdder evictions = new LongAdder();
+
+    /** The maximum total weight. */
+    private long limit = Long.MAX_VALUE;
+
+    /** The current total weight. */
+    private long weight;
+
+    /**
+     * Hide constructor.
+     */
+    Cache() {
+    }
+
+    /**
+     * Memoize the decompilation of the specified class. Only the first caller decompiles the class,
+     * the other callers wait for the shared in-flight result without blocking the decompilation of
+     * any other class. The failed result is not memoized, so the next request will retry it.
+     *
+     * @param clazz A target class.
+     * @param decompiler The actual decompilation.
+     * @return A decompiled unit.
+     */
+    Reincarnation get(Class clazz, Callable<Reincarnation> decompiler) {
+        Slot slot = slots.get(clazz);
+        FutureTask<Reincarnation> task;
+        boolean owner = false;
+
+        synchronized (slot) {
+            if (slot.task == null) {
+                owner = true;
+                slot.task = new FutureTask(() -> {
+                    Set<Class> decompiling = DECOMPILING.get();
+                    decompiling.add(clazz);
+                    try {
+                        return decompiler.call();
+                    } finally {
+                        decompiling.remove(clazz);
+                    }
+                });
+            }
+            task = slot.task;
+        }
+
+        if (owner) {
+            misses.increment();
+            task.run();
+        } else {
+            hits.increment();
+
+            if (!task.isDone() && DECOMPILING.get().contains(clazz)) {
+                // Waiting for the result which is computing on the current thread never ends.
+                throw new Error("Recursive decompilation [" + clazz.getName() + "]");
+            }
+        }
+
+        try {
+            Reincarnation reincarnation = task.get();
+
+            synchronized (this) {
+                if (owner) {
+                    admit(clazz, slot, reincarnation.weight());
+                } else {
+                    index.get(slot.key);
+                }
+            }
+            return reincarnation;
+        } catch (ExecutionException e) {
+            if (owner) remove(clazz, slot);
+            throw I.quiet(e.getCause());
+        } catch (InterruptedException e) {
+            throw I.quiet(e);
+        }
+    }
+
+    /**
+     * Register the completed unit and evict the least recently used units over the limit. The unit
+     * which is invalidated while decompiling is not registered, because its slot is already
+     * replaced.
+     *
+     * @param clazz A target class.
+     * @param slot A slot of the completed unit.
+     * @param weight A weight of the completed unit.
+     */
+    private void admit(Class clazz, Slot slot, long weight) {
+        expunge();
+
+        if (slots.get(clazz) == slot) {
+            Key key = slot.key;
+            key.weight = weight;
+            index.put(key, key);
+            this.weight += weight;
+
+            evict();
+        }
+    }
+
+    /**
+     * Evict the least recently used units over the limit.
+     */
+    private void evict() {
+        Iterator<Key> iterator = index.keySet().iterator();
+        while (limit < this.weight && iterator.hasNext()) {
+            Key eldest = iterator.next();
+            iterator.remove();
+            this.weight -= eldest.weight;
+
+            Class clazz = eldest.get();
+            if (clazz != null && slots.get(clazz).key == eldest) slots.remove(clazz);
+            evictions.increment();
+        }
+    }
+
+    /**
+     * Remove the unit of the collected class from index.
+     */
+    private void expunge() {
+        Reference<? extends Class> reference;
+        while ((reference = collected.poll()) != null) {
+            Key key = (Key) reference;
+            if (index.remove(key) != null) {
+                weight -= key.weight;
+            }
+        }
+    }
+
+    /**
+     * Remove the specified slot.
+     *
+     * @param clazz A target class.
+     * @param slot A target slot.
+     */
+    private synchronized void remove(Class clazz, Slot slot) {
+        if (slots.get(clazz) == slot) {
+            slots.remove(clazz);
+        }
+
+        if (index.remove(slot.key) != null) {
+            weight -= slot.key.weight;
+        }
+    }
+
+    /**
+     * Configure the maximum total weight (the number of nodes) of the memoized units. Zero means
+     * that no completed unit is memoized.
+     *
+     * @param limit The maximum total weight.
+     * @return Chainable API.
+     */
+    public synchronized Cache limit(long limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("Limit must not be negative. [" + limit + "]");
+        }
+        this.limit = limit;
+
+        expunge();
+        evict();
+        return this;
+    }
+
+    /**
+     * Invalidate the memoized unit of the specified class.
+     *
+     * @param clazz A target class.
+     */
+    public void invalidate(Class clazz) {
+        if (clazz != null) {
+            remove(clazz, slots.get(clazz));
+        }
+    }
+
+    /**
+     * Invalidate all memoized units of the classes which are defined by the specified class loader.
+     * The unit which is still decompiling will be memoized after this invalidation.
+     *
+     * @param loader A target class loader, null means the bootstrap class loader.
+     */
+    public synchronized void invalidate(ClassLoader loader) {
+        expunge();
+
+        Iterator<Key> iterator = index.keySet().iterator();
+        while (iterator.hasNext()) {
+            Key key = iterator.next();
+            Class clazz = key.get();
+
+            if (clazz != null && clazz.getClassLoader() == loader) {
+                iterator.remove();
+                weight -= key.weight;
+                slots.remove(clazz);
+            }
+        }
+    }
+
+    /**
+     * Invalidate all memoized units.
+     */
+    public synchronized void clear() {
+        for (Key key : index.keySet()) {
+            Class clazz = key.get();
+            if (clazz != null) slots.remove(clazz);
+        }
+        index.clear();
+        weight = 0;
+    }
+
+    /**
+     * Compute the number of the memoized units.
+     *
+     * @return The number of units.
+     */
+    public synchronized int size() {
+        expunge();
+        return index.size();
+    }
+
+    /**
+     * Compute the total weight (the number of nodes) of the memoized units.
+     *
+     * @return The total weight.
+     */
+    public synchronized long weight() {
+        expunge();
+        return weight;
+    }
+
+    /**
+     * Count the requests which reuse the memoized or in-flight unit.
+     *
+     * @return The number of hits.
+     */
+    public long hits() {
+        return hits.sum();
+    }
+
+    /**
+     * Count the requests which decompile the class actually.
+     *
+     * @return The number of misses.
+     */
+    public long misses() {
+        return misses.sum();
+    }
+
+    /**
+     * Count the units which are evicted by the weight limit.
+     *
+     * @return The number of evictions.
+     */
+    public long evictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * The weak reference to the class of the memoized unit.
+     */
+    private static class Key extends WeakReference<Class> {
+
+        /** The weight of unit. */
+        private long weight;
+
+        /**
+         * @param clazz A target class.
+         * @param queue A queue of the collected classes.
+         */
+        private Key(Class clazz, ReferenceQueue<Class> queue) {
+            super(clazz, queue);
+        }
+    }
+
+    /**
+     * The memoized decompilation which is held by the target class.
+     */
+    private static class Slot {
+
+        /** The index key. */
+        private final Key key;
+
+        /** The shared decompilation. */
+        private FutureTask<Reincarnation> task;
+
+        /**
+         * @param clazz A target class.
+         * @param queue A queue of the collected classes.
+         */
+        private Slot(Class clazz, ReferenceQueue<Class> queue) {
+            this.key = new Key(clazz, queue);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright (C) 2024 The REINCARNATION Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package reincarnation;
+
+import java.util.LinkedHashMap;
+import java.util.Map.Entry;
+import java.util.function.Function;
+
+/**
+ * The bounded pool of the shared constant operands. The least recently used constant is evicted
+ * first, so the frequent constants stay shared while the pool never grows beyond its capacity.
+ */
+final class ConstantPool<K, V extends Operand> {
+
+    /** The maximum number of constants. */
+    private final int capacity;
+
+    /** The constants in the access order. */
+    private final LinkedHashMap<K, V> constants;
+
+    /**
+     * @param capacity The maximum number of constants.
+     */
+    ConstantPool(int capacity) {
+        this.capacity = capacity;
+        this.constants = new LinkedHashMap<>(64, 0.75f, true) {
+
+            /**
+             * {@inheritDoc}
+             */
+            @Override
+            protected boolean removeEldestEntry(Entry<K, V> eldest) {
+                return ConstantPool.this.capacity < size();
+            }
+        };
+    }
+
+    /**
+     * Get the shared constant of the specified key.
+     *
+     * @param key A constant key.
+     * @param factory The builder of the new constant, it must return the shared operand.
+     * @return The shared constant.
+     */
+    synchronized V intern(K key, Function<K, V> factory) {
+        return constants.computeIfAbsent(key, factory);
+    }
+
+    /**
+     * Compute the current number of constants.
+     *
+     * @return The current size.
+     */
+    synchronized int size() {
+        return constants.size();
+    }
+}
@@ -0,0 +1,422 @@
+/*
+ * Copyright (C) 2024 The REINCARNATION Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package reincarnation;
+
+import static java.nio.charset.StandardCharsets.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.Opcodes;
+
+import kiss.I;
+import reincarnation.coder.CodingOption;
+import reincarnation.coder.java.JavaCoder;
+import reincarnation.coder.java.JavaCodingOption;
+import reincarnation.coder.ts.TypeScriptCoder;
+import reincarnation.coder.ts.TypeScriptCodingOption;
+import reincarnation.util.Classes;
+
+/**
+ * The persistent cache of the decompiled source code. The entry is keyed by the class file bytes
+ * (including its nested classes and its supertypes), the coder type, the coding option and the
+ * library version, so the unchanged class is served from disk without decompilation. The member
+ * class which is written from its top-level class is keyed by the whole top-level class. The other
+ * referenced types are not digested, so the entry must be invalidated manually (by deleting the
+ * directory) when only their signatures are changed. The entry is written into the temporary file
+ * and moved atomically, so the several processes can share the same directory safely. The least
+ * recently used entries are deleted when the total size exceeds the limit.
+ */
+public final class DiskCache {
+
+    /** The extension of cache file. */
+    private static final String EXTENSION = ".src";
+
+    /** The library version. */
+    private static final String VERSION = version();
+
+    /** The digest of all supertypes of each class. */
+    private static final ClassValue<byte[]> SUPERTYPES = new ClassValue<>() {
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        protected byte[] computeValue(Class<?> type) {
+            return supertypes(type);
+        }
+    };
+
+    /** The cache directory. */
+    private final Path directory;
+
+    /** The maximum total size in bytes. */
+    private volatile long limit = 256 * 1024 * 1024;
+
+    /** The estimated total size in bytes, negative means unknown. */
+    private final AtomicLong size = new AtomicLong(-1);
+
+    /**
+     * Hide constructor.
+     *
+     * @param directory The cache directory.
+     */
+    private DiskCache(Path directory) {
+        this.directory = Objects.requireNonNull(directory);
+    }
+
+    /**
+     * Create the persistent cache in the specified directory.
+     *
+     * @param directory The cache directory.
+     * @return A created cache.
+     */
+    public static DiskCache of(Path directory) {
+        return new DiskCache(directory);
+    }
+
+    /**
+     * Configure the maximum total size of the cache files.
+     *
+     * @param bytes The maximum total size in bytes.
+     * @return Chainable API.
+     */
+    public DiskCache limit(long bytes) {
+        if (bytes < 0) {
+            throw new IllegalArgumentException("Limit must not be negative. [" + bytes + "]");
+        }
+        this.limit = bytes;
+        return this;
+    }
+
+    /**
+     * Decompile the specified class as Java code.
+     *
+     * @param clazz A target class to decompile.
+     * @param options A coding option, may be null.
+     * @return A decompiled Java source code.
+     */
+    public String rebirth(Class clazz, JavaCodingOption options) {
+        JavaCodingOption option = options == null ? new JavaCodingOption() : options;
+
+        return rebirth(clazz, JavaCoder.class, option, () -> Reincarnation.rebirth(clazz, option));
+    }
+
+    /**
+     * Decompile the specified class as TypeScript code.
+     *
+     * @param clazz A target class to decompile.
+     * @param options A coding option, may be null.
+     * @return A decompiled TypeScript source code.
+     */
+    public String rebirth(Class clazz, TypeScriptCodingOption options) {
+        TypeScriptCodingOption option = options == null ? new TypeScriptCodingOption() : options;
+
+        return rebirth(clazz, TypeScriptCoder.class, option, () -> Reincarnation.rebirth(clazz, option));
+    }
+
+    /**
+     * Serve the decompiled code from disk or decompile and store it.
+     *
+     * @param clazz A target class to decompile.
+     * @param coder A coder type.
+     * @param options A coding option.
+     * @param decompiler The actual decompilation.
+     * @return A decompiled source code.
+     */
+    private String rebirth(Class clazz, Class coder, CodingOption options, Supplier<String> decompiler) {
+        String key = key(clazz, coder, options);
+        if (key == null) {
+            return decompiler.get();
+        }
+
+        Path file = directory.resolve(key.substring(0, 2)).resolve(key + EXTENSION);
+        try {
+            String code = Files.readString(file, UTF_8);
+            touch(file);
+            return code;
+        } catch (NoSuchFileException e) {
+            // not cached yet or deleted by other process
+        } catch (IOException e) {
+            throw I.quiet(e);
+        }
+
+        String code = decompiler.get();
+        store(file, code);
+        return code;
+    }
+
+    /**
+     * Compute the cache key of the specified class.
+     *
+     * @param clazz A target class.
+     * @param coder A coder type.
+     * @param options A coding option.
+     * @return A cache key or null when the given option can't be identified.
+     */
+    private String key(Class clazz, Class coder, CodingOption options) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(VERSION.getBytes(UTF_8));
+            digest.update(coder.getName().getBytes(UTF_8));
+
+            // coding option
+            boolean fromTopLevel = false;
+            List<Field> fields = new ArrayList(Arrays.asList(options.getClass().getFields()));
+            fields.sort(Comparator.comparing(Field::getName));
+            for (Field field : fields) {
+                if (!Modifier.isStatic(field.getModifiers())) {
+                    Object value = field.get(options);
+                    if (field.getName().equals("writeMemberFromTopLevel") && Boolean.TRUE.equals(value)) {
+                        fromTopLevel = true;
+                    }
+                    if (value != null && !(value instanceof String || value instanceof Number || value instanceof Boolean || value instanceof Character
+                            || value instanceof Enum)) {
+                        // The non-value option (e.g. Naming) can't be identified across processes.
+                        return null;
+                    }
+                    digest.update((field.getName() + "=" + value + ";").getBytes(UTF_8));
+                }
+            }
+
+            // class files of the target and its nested classes
+            ClassLoader loader = clazz.getClassLoader();
+            if (loader == null) {
+                loader = ClassLoader.getSystemClassLoader();
+            }
+
+            // The member class is written as the part of its top-level class.
+            Class root = fromTopLevel ? Classes.enclosingRoot(clazz) : clazz;
+            String name = root.getName().replace('.', '/');
+            Set<String> names = new HashSet();
+            names.add(name);
+            collect(loader, name, names, digest);
+
+            // The supertypes affect the decompiled code (e.g. bridge and overridden methods).
+            digest.update(clazz.getName().getBytes(UTF_8));
+            digest.update(SUPERTYPES.get(clazz));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (IllegalAccessException | NoSuchAlgorithmException e) {
+            throw I.quiet(e);
+        }
+    }
+
+    /**
+     * Digest the class files of all supertypes recursively. The bootstrap class is identified by
+     * its name and the runtime version instead of its class file. The digest of each supertype is
+     * memoized, so the class files are read only once per class.
+     *
+     * @param clazz A target class.
+     * @return The digest of all supertypes.
+     */
+    private static byte[] supertypes(Class clazz) {
+        List<Class> types = new ArrayList(Arrays.asList(clazz.getInterfaces()));
+        if (clazz.getSuperclass() != null) {
+            types.add(0, clazz.getSuperclass());
+        }
+
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (Class type : types) {
+                String name = type.getName().replace('.', '/');
+                digest.update(name.getBytes(UTF_8));
+
+                ClassLoader loader = type.getClassLoader();
+                if (loader == null) {
+                    digest.update(Runtime.version().toString().getBytes(UTF_8));
+                } else {
+                    try (InputStream input = loader.getResourceAsStream(name + ".class")) {
+                        if (input != null) digest.update(input.readAllBytes());
+                    } catch (IOException e) {
+                        throw I.quiet(e);
+                    }
+                }
+                digest.update(SUPERTYPES.get(type));
+            }
+            return digest.digest();
+        } catch (NoSuchAlgorithmException e) {
+            throw I.quiet(e);
+        }
+    }
+
+    /**
+     * Digest the class file and its nested classes recursively.
+     *
+     * @param loader A class loader.
+     * @param name An internal class name.
+     * @param names The digested names.
+     * @param digest A digest.
+     */
+    private void collect(ClassLoader loader, String name, Set<String> names, MessageDigest digest) {
+        try (InputStream input = loader.getResourceAsStream(name + ".class")) {
+            if (input == null) {
+                return;
+            }
+
+            byte[] bytes = input.readAllBytes();
+            digest.update(name.getBytes(UTF_8));
+            digest.update(bytes);
+
+            List<String> nests = new ArrayList();
+            new ClassReader(bytes).accept(new ClassVisitor(Opcodes.ASM9) {
+
+                /**
+                 * {@inheritDoc}
+                 */
+                @Override
+                public void visitInnerClass(String inner, String outer, String simple, int access) {
+                    if (inner.startsWith(name + "$") && names.add(inner)) {
+                        nests.add(inner);
+                    }
+                }
+            }, ClassReader.SKIP_CODE | ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES);
+
+            for (String nest : nests) {
+                collect(loader, nest, names, digest);
+            }
+        } catch (IOException e) {
+            throw I.quiet(e);
+        }
+    }
+
+    /**
+     * Store the decompiled code atomically.
+     *
+     * @param file A cache file.
+     * @param code A decompiled code.
+     */
+    private void store(Path file, String code) {
+        try {
+            Files.createDirectories(file.getParent());
+
+            Path temp = Files.createTempFile(file.getParent(), null, ".tmp");
+            try {
+                Files.writeString(temp, code, UTF_8);
+                try {
+                    Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+                }
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+
+            long current = size.get();
+            if (current < 0 || limit < size.addAndGet(Files.size(file))) {
+                prune();
+            }
+        } catch (IOException e) {
+            // The cache is optional, the failure must not break the decompilation.
+        }
+    }
+
+    /**
+     * Delete the least recently used files until the total size becomes under the limit.
+     */
+    private synchronized void prune() throws IOException {
+        List<Path> files;
+        try (Stream<Path> stream = Files.walk(directory)) {
+            files = stream.filter(path -> path.toString().endsWith(EXTENSION)).toList();
+        }
+
+        List<Entry> entries = new ArrayList();
+        long total = 0;
+        for (Path file : files) {
+            try {
+                Entry entry = new Entry(file, Files.getLastModifiedTime(file), Files.size(file));
+                entries.add(entry);
+                total += entry.size;
+            } catch (NoSuchFileException e) {
+                // deleted by other process
+            }
+        }
+
+        // The other processes may write their entries concurrently, so prune a little extra.
+        long threshold = limit - limit / 10;
+        if (limit < total) {
+            entries.sort(Comparator.comparing(Entry::modified));
+            for (Entry entry : entries) {
+                if (total <= threshold) {
+                    break;
+                }
+                Files.deleteIfExists(entry.file);
+                total -= entry.size;
+            }
+        }
+        size.set(total);
+    }
+
+    /**
+     * Update the last access time of the specified file.
+     *
+     * @param file A cache file.
+     */
+    private void touch(Path file) {
+        try {
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+        } catch (IOException e) {
+            // deleted by other process
+        }
+    }
+
+    /**
+     * Compute the library version.
+     *
+     * @return A library version.
+     */
+    private static String version() {
+        String version = Reincarnation.class.getPackage().getImplementationVersion();
+        if (version != null) {
+            return version;
+        }
+
+        // The development build has no version, so identify it by the build time.
+        try {
+            Path location = Path.of(Reincarnation.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+            if (Files.isDirectory(location)) {
+                location = location.resolve("reincarnation/Reincarnation.class");
+            }
+            return location + "@" + Files.getLastModifiedTime(location);
+        } catch (Exception e) {
+            // The unknown build never shares the cache with others.
+            return UUID.randomUUID().toString();
+        }
+    }
+
+    /**
+     * The cache file information.
+     */
+    private record Entry(Path file, FileTime modified, long size) {
+    }
+}
@@ -0,0 +1,415 @@
+/*
+ * Copyright (C) 2024 The REINCARNATION Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package reincarnation;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * The dominator tree of the method. The immediate dominators of all nodes are computed at once
+ * after the backedge search by {@link #compute()}, and the tree is the numbered snapshot of them,
+ * so the dominance query is answered in O(1) by the pre/post order numbers and the lowest common
+ * dominator is found in O(log n) by the binary lifting. The snapshot is invalidated when any edge
+ * or dominator is changed while structuring, and it is rebuilt lazily only after the walking
+ * queries exceed the size of the method, so the frequent mutation never makes the analysis slower
+ * than walking the dominators.
+ * <p>
+ * The node whose dominator is reset by the mutation is computed again lazily, and it is excluded
+ * from the tree until the next rebuilding, so the query about it falls back to walking.
+ */
+final class DominatorTree {
+
+    /** The unknown result. */
+    static final int UNKNOWN = -1;
+
+    /** The marker of the unknown node. */
+    static final Node UNKNOWN_NODE = new Node("?", -1);
+
+    /** The state of tree node. */
+    private static final byte UNVISITED = 0, VISITING = 1, INCLUDED = 2, EXCLUDED = 3;
+
+    /** The reachability index of the same method, it shares the invalidation. */
+    final Reachability reachability;
+
+    /** The all nodes of method. */
+    private final Collection<Node> nodes;
+
+    /** The flag whether the current tree is valid or not. */
+    private boolean valid;
+
+    /** The number of walking steps since the last invalidation. */
+    private int walked;
+
+    /** The state of each node by index. */
+    private byte[] states = new byte[0];
+
+    /** The pre-order number of each node by index. */
+    private int[] pre;
+
+    /** The post-order number of each node by index. */
+    private int[] post;
+
+    /** The depth of each node by index. */
+    private int[] depth;
+
+    /** The 2^k-th ancestors of each node by index. */
+    private Node[][] ancestors;
+
+    /** The current marking stamp for walking. */
+    private int stamp;
+
+    /**
+     * @param nodes The all nodes of method.
+     */
+    DominatorTree(Collection<Node> nodes) {
+        this.nodes = nodes;
+        this.reachability = new Reachability(nodes);
+    }
+
+    /**
+     * Invalidate the current tree.
+     */
+    void invalidate() {
+        valid = false;
+        walked = 0;
+        reachability.invalidate();
+    }
+
+    /**
+     * Record the walking steps by the fallback query.
+     *
+     * @param steps The number of steps.
+     */
+    void walked(int steps) {
+        walked += steps;
+    }
+
+    /**
+     * Issue the new marking stamp.
+     *
+     * @return A new stamp.
+     */
+    int stamp() {
+        return ++stamp;
+    }
+
+    /**
+     * Compute the immediate dominators of all nodes at once and build the tree. The nodes are
+     * computed in the reverse post-order of the forward edges (the backedges are ignored like
+     * {@link Node#getDominator()}), so all incoming nodes are already computed and each node needs
+     * only one intersection per incoming node (Cooper, Harvey and Kennedy). The forward edges are
+     * acyclic after the backedge search, so the single pass reaches the fixed point.
+     * <p>
+     * The dominator which is computed while building the graph is kept as it is, so the result is
+     * same as the lazy computation. The intersection walks the marked dominator chain instead of
+     * comparing the post-order numbers, because such dominator may not follow the order.
+     */
+    void compute() {
+        int size = 0;
+        for (Node node : nodes) {
+            size = Math.max(size, node.index + 1);
+        }
+
+        Node[] order = new Node[size];
+        int ordered = size;
+        boolean[] visited = new boolean[size];
+        Node[] path = new Node[16];
+        int[] cursor = new int[16];
+
+        // depth-first search from each root over the forward edges
+        for (Node root : nodes) {
+            if (root.index < 0 || visited[root.index] || !root.isDominatorRoot()) {
+                continue;
+            }
+
+            int top = 0;
+            visited[root.index] = true;
+            path[top] = root;
+            cursor[top++] = 0;
+
+            while (0 < top) {
+                Node node = path[top - 1];
+
+                if (cursor[top - 1] < node.outgoing.size()) {
+                    Node out = node.outgoing.get(cursor[top - 1]++);
+
+                    if (0 <= out.index && out.index < size && !visited[out.index] && !out.backedges.contains(node)) {
+                        visited[out.index] = true;
+
+                        if (path.length == top) {
+                            path = Arrays.copyOf(path, top * 2);
+                            cursor = Arrays.copyOf(cursor, top * 2);
+                        }
+                        path[top] = out;
+                        cursor[top++] = 0;
+                    }
+                } else {
+                    order[--ordered] = node;
+                    top--;
+                }
+            }
+        }
+
+        // The unreachable nodes from any root are computed lazily.
+        for (int i = ordered; i < size; i++) {
+            Budget.checkpoint(i);
+            order[i].getDominator();
+        }
+        build();
+    }
+
+    /**
+     * Check whether the dominator dominates the node.
+     *
+     * @param node A target node.
+     * @param dominator A dominator node.
+     * @return 1 if dominated, 0 if not dominated or {@link #UNKNOWN}.
+     */
+    int dominates(Node node, Node dominator) {
+        if (!ready() || !included(node)) {
+            return UNKNOWN;
+        }
+
+        if (dominator == null || !included(dominator)) {
+            // All dominators of the included node are also included.
+            return 0;
+        }
+        return pre[dominator.index] <= pre[node.index] && post[node.index] <= post[dominator.index] ? 1 : 0;
+    }
+
+    /**
+     * Find the lowest common dominator of the given nodes, the node itself is included.
+     *
+     * @param one A target node.
+     * @param other A target node.
+     * @return A lowest common dominator, null or {@link #UNKNOWN_NODE}.
+     */
+    Node lowest(Node one, Node other) {
+        if (!ready() || !included(one) || !included(other)) {
+            return UNKNOWN_NODE;
+        }
+
+        if (depth[one.index] < depth[other.index]) {
+            Node swap = one;
+            one = other;
+            other = swap;
+        }
+
+        // align depth
+        int diff = depth[one.index] - depth[other.index];
+        for (int k = 0; diff != 0; k++, diff >>= 1) {
+            if ((diff & 1) != 0) {
+                one = ancestors[k][one.index];
+            }
+        }
+
+        if (one == other) {
+            return one;
+        }
+
+        for (int k = ancestors.length - 1; 0 <= k; k--) {
+            Node x = ancestors[k][one.index];
+            Node y = ancestors[k][other.index];
+            if (x != y) {
+                one = x;
+                other = y;
+            }
+        }
+
+        // The different roots have no common dominator.
+        return ancestors.length == 0 ? null : ancestors[0][one.index];
+    }
+
+    /**
+     * Check whether the node is in the tree.
+     *
+     * @param node A target node.
+     * @return A result.
+     */
+    private boolean included(Node node) {
+        return node != null && 0 <= node.index && node.index < states.length && states[node.index] == INCLUDED;
+    }
+
+    /**
+     * Build the tree if needed.
+     *
+     * @return true if the tree is available.
+     */
+    private boolean ready() {
+        if (!valid && nodes.size() <= walked) {
+            build();
+        }
+        return valid;
+    }
+
+    /**
+     * Number all nodes whose dominators are computed.
+     */
+    private void build() {
+        int size = 0;
+        for (Node node : nodes) {
+            size = Math.max(size, node.index + 1);
+        }
+
+        states = new byte[size];
+        depth = new int[size];
+        Node[] parents = new Node[size];
+        Node[] stack = new Node[16];
+        int max = 0;
+
+        // determine the included nodes and their depth
+        for (Node node : nodes) {
+            int top = 0;
+            Node current = node;
+            byte result = EXCLUDED;
+            int base = -1;
+
+            while (true) {
+                if (current.index < 0) {
+                    break; // unknown node
+                }
+
+                if (size <= current.index) {
+                    size = grow(current.index + 1);
+                    parents = Arrays.copyOf(parents, size);
+                }
+
+                byte state = states[current.index];
+                if (state == INCLUDED) {
+                    result = INCLUDED;
+                    base = depth[current.index];
+                    break;
+                }
+
+                if (state != UNVISITED) {
+                    break; // excluded or cycle
+                }
+
+                Node parent = current.dominator;
+                if (parent == null && !current.isDominatorRoot()) {
+                    break; // not computed yet
+                }
+
+                states[current.index] = VISITING;
+                parents[current.index] = parent;
+                if (stack.length == top) stack = Arrays.copyOf(stack, top * 2);
+                stack[top++] = current;
+
+                if (parent == null) {
+                    result = INCLUDED;
+                    break;
+                }
+                current = parent;
+            }
+
+            while (0 < top) {
+                Node visited = stack[--top];
+                states[visited.index] = result;
+                if (result == INCLUDED) {
+                    depth[visited.index] = ++base;
+                    max = Math.max(max, base);
+                }
+            }
+        }
+
+        // build children lists in the node order
+        int[] childCount = new int[size];
+        for (int i = 0; i < size; i++) {
+            if (states[i] == INCLUDED && parents[i] != null) childCount[parents[i].index]++;
+        }
+        int[] offsets = new int[size + 1];
+        for (int i = 0; i < size; i++) {
+            offsets[i + 1] = offsets[i] + childCount[i];
+        }
+        Node[] children = new Node[offsets[size]];
+        Node[] byIndex = new Node[size];
+        int[] filled = Arrays.copyOf(offsets, size);
+        for (Node node : nodes) {
+            collect(node, byIndex, parents, children, filled);
+        }
+
+        // number nodes by iterative depth-first search
+        pre = new int[size];
+        post = new int[size];
+        int[] cursor = new int[size];
+        int counter = 0;
+        Node[] path = new Node[max + 1];
+
+        for (int i = 0; i < size; i++) {
+            Node root = byIndex[i];
+            if (root == null || parents[i] != null) continue;
+
+            int top = 0;
+            path[top++] = root;
+            pre[i] = counter++;
+            cursor[i] = offsets[i];
+
+            while (0 < top) {
+                Node node = path[top - 1];
+                int index = node.index;
+
+                if (cursor[index] < offsets[index + 1]) {
+                    Node child = children[cursor[index]++];
+                    pre[child.index] = counter++;
+                    cursor[child.index] = offsets[child.index];
+                    path[top++] = child;
+                } else {
+                    post[index] = counter++;
+                    top--;
+                }
+            }
+        }
+
+        // build binary lifting table
+        int levels = 1;
+        while ((1 << levels) <= max) levels++;
+        ancestors = new Node[levels][];
+        ancestors[0] = new Node[size];
+        for (int i = 0; i < size; i++) {
+            if (states[i] == INCLUDED) ancestors[0][i] = parents[i];
+        }
+        for (int k = 1; k < levels; k++) {
+            Node[] previous = ancestors[k - 1];
+            Node[] current = ancestors[k] = new Node[size];
+            for (int i = 0; i < size; i++) {
+                Node middle = previous[i];
+                current[i] = middle == null ? null : previous[middle.index];
+            }
+        }
+
+        valid = true;
+        walked = 0;
+    }
+
+    /**
+     * Register the included node and its dominators as the child of their parent.
+     */
+    private void collect(Node node, Node[] byIndex, Node[] parents, Node[] children, int[] filled) {
+        while (node != null && included(node) && byIndex[node.index] == null) {
+            byIndex[node.index] = node;
+
+            Node parent = parents[node.index];
+            if (parent != null) children[filled[parent.index]++] = node;
+            node = parent;
+        }
+    }
+
+    /**
+     * Expand the state arrays.
+     *
+     * @param size The required size.
+     * @return The new size.
+     */
+    private int grow(int size) {
+        states = Arrays.copyOf(states, size);
+        depth = Arrays.copyOf(depth, size);
+        return size;
+    }
+}
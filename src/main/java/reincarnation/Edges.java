@@ -0,0 +1,366 @@
+/*
+ * Copyright (C) 2024 The REINCARNATION Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package reincarnation;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.Spliterators;
+
+/**
+ * The compact adjacency list of {@link Node}. The nodes are held in the growable array and compared
+ * by identity. The iteration works on the snapshot like
+ * {@link java.util.concurrent.CopyOnWriteArrayList}, but the array is copied only when it is
+ * modified while any iteration is running, so the ordinary connection and disconnection never
+ * allocate.
+ */
+final class Edges extends AbstractList<Node> implements RandomAccess {
+
+    /** The empty array. */
+    private static final Node[] EMPTY = new Node[0];
+
+    /** The node holder. */
+    private Node[] nodes = EMPTY;
+
+    /** The number of nodes. */
+    private int size;
+
+    /** The number of running iterations on the current array. */
+    private int readers;
+
+    /** The dominator tree which depends on this list, may be null. */
+    private final DominatorTree tree;
+
+    /**
+     * Create the empty list.
+     */
+    Edges() {
+        this((DominatorTree) null);
+    }
+
+    /**
+     * Create the empty list which invalidates the specified dominator tree on modification.
+     *
+     * @param tree A dominator tree, may be null.
+     */
+    Edges(DominatorTree tree) {
+        this.tree = tree;
+    }
+
+    /**
+     * Create the list with the given nodes.
+     *
+     * @param nodes The initial nodes.
+     */
+    Edges(Collection<Node> nodes) {
+        this.nodes = nodes.toArray(EMPTY);
+        this.size = this.nodes.length;
+        this.tree = null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Node get(int index) {
+        Objects.checkIndex(index, size);
+        return nodes[index];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int indexOf(Object node) {
+        for (int i = 0; i < size; i++) {
+            if (nodes[i] == node) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int lastIndexOf(Object node) {
+        for (int i = size - 1; 0 <= i; i--) {
+            if (nodes[i] == node) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean contains(Object node) {
+        return indexOf(node) != -1;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void add(int index, Node node) {
+        Objects.checkIndex(index, size + 1);
+        prepare(size + 1);
+        System.arraycopy(nodes, index, nodes, index + 1, size - index);
+        nodes[index] = node;
+        size++;
+    }
+
+    /**
+     * Append the node if it is not present.
+     *
+     * @param node A node to add.
+     * @return true if the node was added.
+     */
+    boolean addIfAbsent(Node node) {
+        if (contains(node)) {
+            return false;
+        }
+        add(size, node);
+        return true;
+    }
+
+    /**
+     * Append all nodes which are not present.
+     *
+     * @param nodes The nodes to add.
+     * @return The number of added nodes.
+     */
+    int addAllAbsent(Collection<Node> nodes) {
+        int added = 0;
+        for (Node node : nodes.toArray(EMPTY)) {
+            if (addIfAbsent(node)) {
+                added++;
+            }
+        }
+        return added;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Node set(int index, Node node) {
+        Objects.checkIndex(index, size);
+        prepare(size);
+        Node previous = nodes[index];
+        nodes[index] = node;
+        return previous;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Node remove(int index) {
+        Objects.checkIndex(index, size);
+        prepare(size);
+        Node removed = nodes[index];
+        System.arraycopy(nodes, index + 1, nodes, index, size - index - 1);
+        nodes[--size] = null;
+        return removed;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean remove(Object node) {
+        int index = indexOf(node);
+        if (index == -1) {
+            return false;
+        }
+        remove(index);
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean removeAll(Collection<?> nodes) {
+        return retain(nodes, false);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean retainAll(Collection<?> nodes) {
+        return retain(nodes, true);
+    }
+
+    /**
+     * Remove the nodes by the membership of the given collection.
+     *
+     * @param nodes A collection.
+     * @param keep The membership to keep.
+     * @return true if any node was removed.
+     */
+    private boolean retain(Collection<?> nodes, boolean keep) {
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            if (nodes.contains(this.nodes[i]) == keep) {
+                kept++;
+            } else {
+                prepare(size);
+                break;
+            }
+        }
+
+        if (kept == size) {
+            return false;
+        }
+
+        for (int i = kept; i < size; i++) {
+            Node node = this.nodes[i];
+            if (nodes.contains(node) == keep) {
+                this.nodes[kept++] = node;
+            }
+        }
+        Arrays.fill(this.nodes, kept, size, null);
+        size = kept;
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void clear() {
+        if (size != 0) {
+            if (tree != null) tree.invalidate();
+            if (readers == 0) {
+                Arrays.fill(nodes, 0, size, null);
+            } else {
+                nodes = EMPTY;
+                readers = 0;
+            }
+            size = 0;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Object[] toArray() {
+        return Arrays.copyOf(nodes, size, Object[].class);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Iterator<Node> iterator() {
+        readers++;
+        return new Snapshot(nodes, size);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Spliterator<Node> spliterator() {
+        return Spliterators.spliterator(toArray(), Spliterator.ORDERED);
+    }
+
+    /**
+     * Make the current array writable and large enough.
+     *
+     * @param capacity The required capacity.
+     */
+    private void prepare(int capacity) {
+        if (tree != null) tree.invalidate();
+
+        if (readers != 0 || nodes.length < capacity) {
+            // The running iterations keep the old array.
+            nodes = Arrays.copyOf(nodes, Math.max(capacity, readers != 0 ? nodes.length : Math.max(4, nodes.length * 2)));
+            readers = 0;
+        }
+    }
+
+    /**
+     * The iteration on the snapshot.
+     */
+    private class Snapshot implements Iterator<Node> {
+
+        /** The snapshot array. */
+        private final Node[] array;
+
+        /** The snapshot size. */
+        private final int length;
+
+        /** The current index. */
+        private int index;
+
+        /**
+         * @param array The snapshot array.
+         * @param length The snapshot size.
+         */
+        private Snapshot(Node[] array, int length) {
+            this.array = array;
+            this.length = length;
+            release();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean hasNext() {
+            return index < length;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public Node next() {
+            if (length <= index) {
+                throw new NoSuchElementException();
+            }
+
+            Node node = array[index++];
+            release();
+            return node;
+        }
+
+        /**
+         * Release the array if this iteration reaches the end.
+         */
+        private void release() {
+            if (index == length) {
+                index = length + 1;
+                if (array == nodes) readers--;
+            }
+        }
+    }
+}
@@ -0,0 +1,309 @@
+/*
+ * Copyright (C) 2024 The REINCARNATION Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package reincarnation;
+
+import java.io.IOException;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import kiss.I;
+import kiss.WiseConsumer;
+import reincarnation.coder.Coder;
+import reincarnation.coder.java.JavaCoder;
+import reincarnation.coder.java.JavaCodingOption;
+import reincarnation.coder.ts.TypeScriptCoder;
+import reincarnation.coder.ts.TypeScriptCodingOption;
+import reincarnation.util.Classes;
+
+/**
+ * {@link Excavator} decompiles all classes in the jar file or the class directory concurrently.
+ * The anonymous, local and member classes are written in the source of their enclosing class, only
+ * the nested class which is not written by any enclosing class is decompiled independently.
+ */
+public final class Excavator {
+
+    /** The jar file or the class directory. */
+    private final Path location;
+
+    /** The parent class loader to resolve the dependencies. */
+    private ClassLoader loader = ClassLoader.getSystemClassLoader();
+
+    /** The number of worker threads. */
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Hide constructor.
+     *
+     * @param location The jar file or the class directory.
+     */
+    private Excavator(Path location) {
+        this.location = Objects.requireNonNull(location);
+    }
+
+    /**
+     * Create the {@link Excavator} for the specified jar file or class directory.
+     *
+     * @param location The jar file or the class directory.
+     * @return A created {@link Excavator}.
+     */
+    public static Excavator of(Path location) {
+        return new Excavator(location);
+    }
+
+    /**
+     * Configure the parent class loader to resolve the dependencies of the decompiled classes.
+     *
+     * @param loader A parent class loader.
+     * @return Chainable API.
+     */
+    public Excavator loader(ClassLoader loader) {
+        this.loader = Objects.requireNonNull(loader);
+        return this;
+    }
+
+    /**
+     * Configure the number of worker threads.
+     *
+     * @param parallelism The number of worker threads.
+     * @return Chainable API.
+     */
+    public Excavator parallelism(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive. [" + parallelism + "]");
+        }
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    /**
+     * Decompile all classes as Java code.
+     *
+     * @param options A coding option, may be null.
+     * @return The decompiled results which are sorted by class name.
+     */
+    public List<Result> rebirth(JavaCodingOption options) {
+        return rebirth(() -> {
+            JavaCoder coder = new JavaCoder();
+            coder.config(options == null ? new JavaCodingOption() : options);
+            return coder;
+        });
+    }
+
+    /**
+     * Decompile all classes as TypeScript code.
+     *
+     * @param options A coding option, may be null.
+     * @return The decompiled results which are sorted by class name.
+     */
+    public List<Result> rebirth(TypeScriptCodingOption options) {
+        return rebirth(() -> {
+            TypeScriptCoder coder = new TypeScriptCoder();
+            coder.config(options == null ? new TypeScriptCodingOption() : options);
+            return coder;
+        });
+    }
+
+    /**
+     * Decompile all classes by the coder which is created for each class.
+     *
+     * @param coders A coder factory.
+     * @return The decompiled results which are sorted by class name.
+     */
+    public List<Result> rebirth(Supplier<? extends Coder> coders) {
+        Objects.requireNonNull(coders);
+
+        if (Files.isDirectory(location)) {
+            return rebirth(location, coders);
+        }
+
+        try (FileSystem jar = FileSystems.newFileSystem(location)) {
+            return rebirth(jar.getPath("/"), coders);
+        } catch (IOException e) {
+            throw I.quiet(e);
+        }
+    }
+
+    /**
+     * Decompile all classes under the specified class path.
+     *
+     * @param root The root directory of class path.
+     * @param coders A coder factory.
+     * @return The decompiled results which are sorted by class name.
+     */
+    private List<Result> rebirth(Path root, Supplier<? extends Coder> coders) {
+        ByteCodeLoader classes = new ByteCodeLoader(loader, root);
+        Map<String, Result> results = new ConcurrentHashMap();
+        Set<String> written = ConcurrentHashMap.newKeySet();
+        List<Class> tops = new ArrayList();
+        List<Class> nests = new ArrayList();
+
+        // define all classes without initialization
+        for (String name : names(root)) {
+            try {
+                Class clazz = Class.forName(name, false, classes);
+
+                if (Classes.enclosings(clazz).isEmpty()) {
+                    tops.add(clazz);
+                } else {
+                    nests.add(clazz);
+                }
+            } catch (Throwable e) {
+                results.put(name, new Result(name, null, e));
+            }
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            // The top-level classes write their nested classes in their own source.
+            execute(pool, tops, clazz -> {
+                results.put(clazz.getName(), rebirth(clazz, coders));
+                written.addAll(nests(clazz));
+            });
+
+            // The remaining nested classes are not referred from the enclosing class.
+            execute(pool, nests.stream().filter(clazz -> !written.contains(clazz.getName())).toList(), clazz -> {
+                results.put(clazz.getName(), rebirth(clazz, coders));
+            });
+        } finally {
+            pool.shutdown();
+
+            // The units of this run resolve their classes lazily from the class path which may be
+            // closed after this run (e.g. jar file system), so they must not be reused later.
+            Reincarnation.CACHE.invalidate(classes);
+            Reincarnation.OUTLINES.invalidate(classes);
+        }
+        return new ArrayList(new TreeMap(results).values());
+    }
+
+    /**
+     * Decompile the specified class.
+     *
+     * @param clazz A target class.
+     * @param coders A coder factory.
+     * @return A result.
+     */
+    private Result rebirth(Class clazz, Supplier<? extends Coder> coders) {
+        try {
+            Coder coder = coders.get();
+            Reincarnation.exhume(clazz).rebirth(coder);
+
+            return new Result(clazz.getName(), coder.toString(), null);
+        } catch (Throwable e) {
+            return new Result(clazz.getName(), null, e);
+        }
+    }
+
+    /**
+     * Collect the names of nested classes which are written in the source of the specified class.
+     *
+     * @param root A top-level class.
+     * @return A set of class names.
+     */
+    private Set<String> nests(Class root) {
+        Set<String> names = new HashSet();
+        LinkedList<Class> queue = new LinkedList();
+        queue.add(root);
+
+        while (!queue.isEmpty()) {
+            Class clazz = queue.poll();
+
+            try {
+                Reincarnation reincarnation = Reincarnation.exhume(clazz);
+
+                for (Class nest : Stream.concat(reincarnation.anonymous.stream(), reincarnation.locals.stream()).toList()) {
+                    if (Classes.enclosingRoot(nest) == root && names.add(nest.getName())) {
+                        queue.add(nest);
+                    }
+                }
+            } catch (Throwable e) {
+                // The failure is reported by the class itself.
+            }
+        }
+        return names;
+    }
+
+    /**
+     * List all class names under the specified class path.
+     *
+     * @param root The root directory of class path.
+     * @return A list of class names.
+     */
+    private List<String> names(Path root) {
+        try (Stream<Path> files = Files.walk(root)) {
+            return files.filter(Files::isRegularFile).map(file -> root.relativize(file).toString()).filter(path -> {
+                return path.endsWith(".class") && !path.endsWith("module-info.class") && !path.endsWith("package-info.class") && !path
+                        .startsWith("META-INF");
+            }).map(path -> path.substring(0, path.length() - 6).replace('\\', '.').replace('/', '.')).sorted().toList();
+        } catch (IOException e) {
+            throw I.quiet(e);
+        }
+    }
+
+    /**
+     * Execute the given action for each class concurrently and wait for all of them.
+     *
+     * @param pool A thread pool.
+     * @param classes A list of classes.
+     * @param action A task.
+     */
+    private void execute(ForkJoinPool pool, List<Class> classes, WiseConsumer<Class> action) {
+        List<Callable<Object>> tasks = new ArrayList();
+        for (Class clazz : classes) {
+            tasks.add(() -> {
+                action.accept(clazz);
+                return null;
+            });
+        }
+
+        try {
+            for (Future future : pool.invokeAll(tasks)) {
+                future.get();
+            }
+        } catch (InterruptedException | ExecutionException e) {
+            throw I.quiet(e);
+        }
+    }
+
+    /**
+     * The decompiled result of each class.
+     *
+     * @param name A fully qualified class name.
+     * @param code A decompiled source code, or null when the decompilation failed.
+     * @param error A cause of the failure, or null when the decompilation succeeded.
+     */
+    public record Result(String name, String code, Throwable error) {
+
+        /**
+         * Check whether the decompilation succeeded or not.
+         *
+         * @return A result.
+         */
+        public boolean isSuccess() {
+            return error == null;
+        }
+    }
+}
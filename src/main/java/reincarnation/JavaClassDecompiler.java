@@ -15,6 +15,7 @@ import static reincarnation.OperandUtil.*;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.util.Arrays;
 import java.util.Objects;
 
 import org.objectweb.asm.AnnotationVisitor;
@@ -76,7 +77,10 @@ class JavaClassDecompiler extends ClassVisitor {
             @Override
             public AnnotationVisitor visitAnnotation(String descriptor, boolean visible) {
                 try {
-                    Field field = source.clazz.getDeclaredField(name);
+                    Field field = MemberIndex.declaredField(source.clazz, name);
+                    if (field == null) {
+                        throw new NoSuchFieldException(source.clazz.getName() + "." + name);
+                    }
                     AnnotationLike annotation = new AnnotationLike(OperandUtil.load(descriptor));
                     source.annotations.put(field, annotation);
 
@@ -107,19 +111,30 @@ class JavaClassDecompiler extends ClassVisitor {
         try {
             if (name.equals("<init>")) {
                 // initializer or constructor
-                Constructor constructor = source.clazz.getDeclaredConstructor(load(parameterTypes));
+                Constructor constructor = MemberIndex.declaredConstructor(source.clazz, load(parameterTypes));
+                if (constructor == null) {
+                    throw new NoSuchMethodException(source.clazz.getName() + ".<init>" + Arrays.toString(parameterTypes));
+                }
                 LocalVariables locals = new LocalVariables(source.clazz, isStatic, constructor);
                 decompiler = new JavaMethodDecompiler(source, locals, returnType, constructor);
 
                 source.constructors.put(constructor, decompiler);
             } else if (name.equals("<clinit>")) {
+                // The static initializer is not a declaration, but the enum declares its constants in it.
+                if (source.outline && !source.clazz.isEnum()) {
+                    return null;
+                }
+
                 LocalVariables locals = new LocalVariables(source.clazz, isStatic, null);
                 decompiler = new JavaMethodDecompiler(source, locals, returnType, null);
 
                 // static initializer
                 source.staticInitializer.add(decompiler);
             } else {
-                Method method = source.clazz.getDeclaredMethod(name, load(parameterTypes));
+                Method method = MemberIndex.declaredMethod(source.clazz, name, load(parameterTypes));
+                if (method == null) {
+                    throw new NoSuchMethodException(source.clazz.getName() + "." + name + Arrays.toString(parameterTypes));
+                }
 
                 if (GeneratedCodes.isEnumSwitchMethod(method)) {
                     return null;
@@ -23,12 +23,14 @@ import java.lang.reflect.Modifier;
 import java.lang.reflect.Parameter;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.Deque;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.ListIterator;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -45,6 +47,8 @@ import kiss.I;
 import kiss.Signal;
 import kiss.WiseConsumer;
 import reincarnation.Debugger.Printable;
+import reincarnation.OpcodePatterns.Matcher;
+import reincarnation.OpcodePatterns.Pattern;
 import reincarnation.coder.AnnotationLike;
 import reincarnation.coder.Code;
 import reincarnation.coder.Coder;
@@ -54,6 +58,7 @@ import reincarnation.operator.AssignOperator;
 import reincarnation.operator.BinaryOperator;
 import reincarnation.operator.UnaryOperator;
 import reincarnation.structure.Structure;
+import reincarnation.util.ClassSnapshot;
 import reincarnation.util.Classes;
 import reincarnation.util.GeneratedCodes;
 import reincarnation.util.MultiMap;
@@ -214,8 +219,140 @@ class JavaMethodDecompiler extends MethodVisitor implements Code, Naming, NodeMa
     /** The extra opcode for byte code parsing. */
     private static final int LABEL = 300;
 
-    /** The extra opcode for byte code parsing. */
-    private static final int OptionalLABEL = 301;
+    /** The compiled idioms of the recent instructions. */
+    private static final OpcodePatterns PATTERNS = new OpcodePatterns(JavaMethodDecompiler::expand);
+
+    /** The post increment of field. */
+    private static final Pattern FieldPostIncrement = PATTERNS.define(DUP, GETFIELD, DUPLICATE_AWAY, CONSTANT_1, ADD, PUTFIELD);
+
+    /** The post decrement of field. */
+    private static final Pattern FieldPostDecrement = PATTERNS.define(DUP, GETFIELD, DUPLICATE_AWAY, CONSTANT_1, SUB, PUTFIELD);
+
+    /** The pre increment of field. */
+    private static final Pattern FieldPreIncrement = PATTERNS.define(DUP, GETFIELD, CONSTANT_1, ADD, DUPLICATE_AWAY, PUTFIELD);
+
+    /** The pre decrement of field. */
+    private static final Pattern FieldPreDecrement = PATTERNS.define(DUP, GETFIELD, CONSTANT_1, SUB, DUPLICATE_AWAY, PUTFIELD);
+
+    /** The assignment expression of field. */
+    private static final Pattern FieldAssignExpression = PATTERNS.define(DUPLICATE_AWAY, PUTFIELD);
+
+    /** The initialization of assertion status. */
+    private static final Pattern AssertionStatus = PATTERNS.define(INVOKEVIRTUAL, JUMP, ICONST_1, GOTO, LABEL, FRAME, ICONST_0, LABEL, FRAME, PUTSTATIC);
+
+    /** The post increment of static field. */
+    private static final Pattern StaticPostIncrement = PATTERNS.define(GETSTATIC, DUPLICATE, CONSTANT_1, ADD, PUTSTATIC);
+
+    /** The post decrement of static field. */
+    private static final Pattern StaticPostDecrement = PATTERNS.define(GETSTATIC, DUPLICATE, CONSTANT_1, SUB, PUTSTATIC);
+
+    /** The pre increment of static field. */
+    private static final Pattern StaticPreIncrement = PATTERNS.define(GETSTATIC, CONSTANT_1, ADD, DUPLICATE, PUTSTATIC);
+
+    /** The pre decrement of static field. */
+    private static final Pattern StaticPreDecrement = PATTERNS.define(GETSTATIC, CONSTANT_1, SUB, DUPLICATE, PUTSTATIC);
+
+    /** The assignment expression of static field. */
+    private static final Pattern StaticAssignExpression = PATTERNS.define(DUPLICATE, PUTSTATIC);
+
+    /** The static field access via instance (Javac). */
+    private static final Pattern StaticAccessViaInstance = PATTERNS.define(ALOAD, POP, GETSTATIC);
+
+    /** The post increment of local variable. */
+    private static final Pattern LocalPostIncrement = PATTERNS.define(ILOAD, INCREMENT);
+
+    /** The instantiation. */
+    private static final Pattern Instantiation = PATTERNS.define(NEW, DUP);
+
+    /** The instantiation with wide duplication. */
+    private static final Pattern InstantiationWide = PATTERNS.define(NEW, DUP2);
+
+    /** The null check by static method. */
+    private static final Pattern NullCheckStatic = PATTERNS.define(DUP, INVOKESTATIC, POP);
+
+    /** The null check by virtual method. */
+    private static final Pattern NullCheckVirtual = PATTERNS.define(DUP, INVOKEVIRTUAL, POP);
+
+    /** The unnecessary cast check of field. */
+    private static final Pattern FieldCastCheck = PATTERNS.define(GETFIELD, CHECKCAST, POP);
+
+    /** The return of duplicated conditional value. */
+    private static final Pattern ConditionalReturn = PATTERNS.define(DUP, JUMP, ARETURN);
+
+    /** The array length on enhanced for-loop (ECJ). */
+    private static final Pattern ArrayLoopECJ = PATTERNS.define(ALOAD, DUP, ASTORE, ARRAYLENGTH);
+
+    /** The array length on enhanced for-loop (Javac). */
+    private static final Pattern ArrayLoopJavac = PATTERNS.define(ALOAD, ASTORE, ALOAD, ARRAYLENGTH);
+
+    /** The throw of new instance. */
+    private static final Pattern ThrowNew = PATTERNS.define(INVOKESPECIAL, ATHROW);
+
+    /** The jump. */
+    private static final Pattern Jump = PATTERNS.define(JUMP);
+
+    /** The jump followed by goto. */
+    private static final Pattern JumpAndGoto = PATTERNS.define(JUMP, LABEL, GOTO);
+
+    /** The comparison of long. */
+    private static final Pattern LongCompare = PATTERNS.define(LCMP, JUMP);
+
+    /** The comparison of double. */
+    private static final Pattern DoubleCompare = PATTERNS.define(DCMP, JUMP);
+
+    /** The comparison of float. */
+    private static final Pattern FloatCompare = PATTERNS.define(FCMP, JUMP);
+
+    /** The string switch (ECJ). */
+    private static final Pattern StringSwitchECJ = PATTERNS.define(DUP, ASTORE, INVOKEVIRTUAL, SWITCH);
+
+    /** The string switch (Javac). */
+    private static final Pattern StringSwitchJavac = PATTERNS.define(ALOAD, ASTORE, ICONST_M1, ISTORE, ALOAD, INVOKEVIRTUAL, SWITCH);
+
+    /** The string switch on method result (Javac). */
+    private static final Pattern StringSwitchJavacInvoke = PATTERNS.define(INVOKE, ASTORE, ICONST_M1, ISTORE, ALOAD, INVOKEVIRTUAL, SWITCH);
+
+    /** The pattern matching instanceof (ECJ). */
+    private static final Pattern InstanceofECJ = PATTERNS.define(DUP, ASTORE, INSTANCEOF);
+
+    /** The pattern matching instanceof (Javac). */
+    private static final Pattern InstanceofJavac = PATTERNS.define(ASTORE, ALOAD, INSTANCEOF);
+
+    /** The exception variable of catch block. */
+    private static final Pattern CatchSame = PATTERNS.define(FRAME_SAME1, ASTORE);
+
+    /** The exception variable of catch block with full frame. */
+    private static final Pattern CatchFull = PATTERNS.define(FRAME_FULL, ASTORE);
+
+    /** The pre increment of local variable. */
+    private static final Pattern LocalPreIncrement = PATTERNS.define(INCREMENT, ILOAD);
+
+    /** The pattern variable of instanceof (ECJ). */
+    private static final Pattern InstanceofCastECJ = PATTERNS.define(DUP, ASTORE, INSTANCEOF, IFEQ, ALOAD, CHECKCAST, ASTORE);
+
+    /** The pattern variable of instanceof (Javac). */
+    private static final Pattern InstanceofCastJavac = PATTERNS.define(ASTORE, ALOAD, INSTANCEOF, IFEQ, ALOAD, CHECKCAST, ASTORE);
+
+    /** The post increment of non-int local variable. */
+    private static final Pattern WidePostIncrement = PATTERNS.define(LOAD, DUPLICATE, CONSTANT_1, ADD, STORE);
+
+    /** The pre increment of non-int local variable. */
+    private static final Pattern WidePreIncrement = PATTERNS.define(LOAD, CONSTANT_1, ADD, DUPLICATE, STORE);
+
+    /** The post decrement of non-int local variable. */
+    private static final Pattern WidePostDecrement = PATTERNS.define(LOAD, DUPLICATE, CONSTANT_1, SUB, STORE);
+
+    /** The pre decrement of non-int local variable. */
+    private static final Pattern WidePreDecrement = PATTERNS.define(LOAD, CONSTANT_1, SUB, DUPLICATE, STORE);
+
+    /** The array length of Enum#values. */
+    private static final Pattern EnumValuesLength = PATTERNS.define(ASTORE, ICONST_0, ALOAD, ARRAYLENGTH, DUP, ISTORE);
+
+    /** The array copy of Enum#values. */
+    private static final Pattern EnumValuesCopy = PATTERNS.define(ARRAYLENGTH, DUP, ISTORE, ANEWARRAY, DUP, ASTORE);
+
+    /** The chained assignment over nodes. */
+    private static final Pattern ChainedAssign = PATTERNS.define(LABEL, DUPLICATE, STORE);
 
     /** The current processing source. */
     private final Reincarnation source;
@@ -241,7 +378,10 @@ class JavaMethodDecompiler extends MethodVisitor implements Code, Naming, NodeMa
     private Node current = null;
 
     /** The all node list for this method. */
-    private LinkedList<Node> nodes = new LinkedList();
+    private final NodeList nodes = new NodeList();
+
+    /** The dominator tree for this method. */
+    private final DominatorTree dominance = new DominatorTree(nodes);
 
     /** The counter for the current processing node identifier. */
     private int counter = 0;
@@ -249,14 +389,17 @@ class JavaMethodDecompiler extends MethodVisitor implements Code, Naming, NodeMa
     /** The counter for the generated node identifier. */
     private int counterAlpha = 1;
 
+    /** The counter for the dense node index. */
+    private int counterIndex = 0;
+
     /** The counter for construction of the object initialization. */
     private int countInitialization = 0;
 
-    /** The record of recent instructions. */
-    private int[] records = new int[10];
+    /** The matcher of the recent instructions. */
+    private final Matcher records = PATTERNS.matcher();
 
-    /** The current start position of instruction records. */
-    private int recordIndex = 0;
+    /** The flag whether any instruction is recorded or not. */
+    private boolean recorded;
 
     /** The record of recent local variable reference position. */
     private int[] localVarialbeAccess = new int[10];
@@ -281,6 +424,21 @@ class JavaMethodDecompiler extends MethodVisitor implements Code, Naming, NodeMa
     /** The label aware actions. */
     private final MultiMap<Node, WiseConsumer<Node>> ends = new MultiMap(false);
 
+    /** The flag whether the code attribute is visited or not. */
+    private boolean coded;
+
+    /** The flag whether the captured instructions are waiting for analysis or not. */
+    private boolean pending;
+
+    /** The failure of analysis. */
+    private Error failure;
+
+    /** The reason why the analysis is abandoned by the budget. */
+    private String abandoned;
+
+    /** The flag whether the instructions have no jump, no switch, no handler and no monitor. */
+    private boolean straight = true;
+
     /**
      * @param source
      * @param locals
@@ -303,6 +461,8 @@ class JavaMethodDecompiler extends MethodVisitor implements Code, Naming, NodeMa
      */
     @Override
     public Signal<Node> children() {
+        analyze();
+
         return I.signal(nodes);
     }
 
@@ -311,7 +471,19 @@ class JavaMethodDecompiler extends MethodVisitor implements Code, Naming, NodeMa
      */
     @Override
     public void write(Coder coder) {
-        if (root != null) root.write(coder);
+        analyze();
+
+        if (abandoned != null) {
+            // The body of abandoned method is stubbed with the reason.
+            coder.writeLineComment(abandoned);
+            coder.writeStatement(new OperandThrow(new OperandConstructorCall(null, UnsupportedOperationException.class, new Class[] {
+                    String.class}, new ArrayList(List.of(new OperandString(abandoned))))));
+        } else if (root != null) {
+            root.write(coder);
+        } else if (!coded && source.outline && !Classes.isAbstract(executable) && !Classes.isNative(executable)) {
+            // The body of outline is stubbed.
+            coder.writeStatement(new OperandThrow(new OperandConstructorCall(null, UnsupportedOperationException.class, new Class[0], new ArrayList())));
+        }
     }
 
     /**
@@ -358,7 +530,7 @@ class JavaMethodDecompiler extends MethodVisitor implements Code, Naming, NodeMa
      */
     @Override
     public void visitCode() {
-        // do nothing
+        coded = true;
     }
 
     /**
@@ -370,16 +542,22 @@ class JavaMethodDecompiler extends MethodVisitor implements Code, Naming, NodeMa
             return;
         }
 
+        // The outline has no instruction.
+        if (!coded) {
+            debugger.finishMethod();
+            return;
+        }
+
         List<WiseConsumer<Node>> actions = ends.remove(current);
         if (actions != null) {
             actions.forEach(action -> action.accept(current));
         }
 
-        try {
-            analyze(nodes);
-        } catch (Throwable e) {
-            e.printStackTrace();
-            throw new Error("Failed to decompile [" + executable + "]", e);
+        // The captured instructions are analyzed when the code is actually required, but the
+        // debugging method is analyzed immediately to keep the order of debug output.
+        pending = true;
+        if (debugger.enable || debugger.enableForcibly) {
+            analyze();
         }
 
         // ============================================
@@ -388,6 +566,57 @@ class JavaMethodDecompiler extends MethodVisitor implements Code, Naming, NodeMa
         debugger.finishMethod();
     }
 
+    /**
+     * Analyze the captured instructions only once.
+     */
+    synchronized void analyze() {
+        if (pending) {
+            pending = false;
+
+            ClassLoader loader = source.clazz.getClassLoader();
+            ClassLoader previous = Reincarnation.LOADER.get();
+            Reincarnation.LOADER.set(loader == null ? ClassLoader.getSystemClassLoader() : loader);
+
+            Reincarnation.ANALYZED.increment();
+            if (isStraight()) Reincarnation.STRAIGHT.increment();
+
+            try (Budget.Meter meter = Reincarnation.BUDGET.start(executable)) {
+                analyze(nodes);
+            } catch (Budget.Exceeded e) {
+                root = null;
+                abandoned = e.getMessage();
+            } catch (Throwable e) {
+                e.printStackTrace();
+                failure = new Error("Failed to decompile [" + executable + "]", e);
+            } finally {
+                Reincarnation.LOADER.set(previous);
+            }
+        }
+
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Check whether this method is the straight-line code without any jump, switch, exception
+     * handler and synchronized block. Such method needs no control flow analysis.
+     * 
+     * @return A result.
+     */
+    boolean isStraight() {
+        return straight && !nodes.isEmpty();
+    }
+
+    /**
+     * Count the number of nodes in this method.
+     * 
+     * @return The number of nodes.
+     */
+    int countNodes() {
+        return nodes.size();
+    }
+
     /**
      * Analyze the given sequencial nodes.
      * 
@@ -399,26 +628,45 @@ class JavaMethodDecompiler extends MethodVisitor implements Code, Naming, NodeMa
         // ============================================
         debugger.printMethod();
         debugger.print(nodes);
+        Budget.check(nodes);
 
-        // Dispose all nodes which contains synchronized block.
-        for (Node node : synchronizer) {
-            dispose(node, true, false);
-        }
+        // The sequential nodes without any jump have no control flow to analyze.
+        boolean straight = isStraight();
 
-        tries.disposeCopiedFinallyBlock();
-        tries.disposeEmptyTryCatchFinallyBlock();
+        if (straight) {
+            // Dispose empty node.
+            for (Node node : new ArrayList<>(nodes)) {
+                if (node.disposable && node.stack.isEmpty()) {
+                    dispose(node, false, false);
+                }
+            }
+        } else {
+            // Dispose all nodes which contains synchronized block.
+            for (Node node : synchronizer) {
+                dispose(node, true, false);
+            }
 
-        // Separate conditional operands and dispose empty node.
-        for (Node node : new ArrayList<>(nodes)) {
-            if (node.disposable && node.stack.isEmpty()) {
-                dispose(node, false, false);
-            } else {
-                new SequentialConditionInfo(node).split();
+            tries.disposeCopiedFinallyBlock();
+            tries.disposeEmptyTryCatchFinallyBlock();
+
+            // Separate conditional operands and dispose empty node.
+            for (Node node : new ArrayList<>(nodes)) {
+                if (node.disposable && node.stack.isEmpty()) {
+                    dispose(node, false, false);
+                } else {
+                    new SequentialConditionInfo(node).split();
+                }
             }
-        }
 
-        // Search all backedge nodes.
-        nodes.get(0).searchBackEdge();
+            Budget.check(nodes);
+
+            // Search all backedge nodes.
+            nodes.get(0).searchBackEdge();
+
+            // Compute all immediate dominators and the reachability index at once.
+            dominance.compute();
+            dominance.reachability.compute();
+        }
 
         // ============================================
         // Analyze variable declaration
@@ -428,28 +676,37 @@ class JavaMethodDecompiler extends MethodVisitor implements Code, Naming, NodeMa
             locals.analyzeVariableDeclarationNode(this);
         }
 
-        // ============================================
-        // Build dominator tree
-        // ============================================
-        for (Node node : nodes) {
-            Node dominator = node.getDominator();
-            if (dominator != null) dominator.dominators.addIfAbsent(node);
-        }
+        if (!straight) {
+            // ============================================
+            // Build dominator tree
+            // ============================================
+            int steps = 0;
+            for (Node node : nodes) {
+                Budget.checkpoint(++steps);
 
-        // ============================================
-        // Analyze all switch block
-        // ============================================
-        try (Printable diff = debugger.diff(nodes, "Analyze switch [Range " + nodes.getFirst().id + " - " + nodes.getLast().id + "]")) {
-            new ArrayList<>(nodes).forEach(n -> n.child(OperandSwitch.class).to(op -> {
-                op.analyze(this);
-            }));
-        }
+                Node dominator = node.getDominator();
+                if (dominator != null) dominator.dominators.addIfAbsent(node);
+            }
 
-        // ============================================
-        // Analyze all try-catch-finally blocks.
-        // ============================================
-        try (Printable diff = debugger.diff(nodes, "Analyze try-catch-finally")) {
-            tries.process();
+            Budget.check(nodes);
+
+            // ============================================
+            // Analyze all switch block
+            // ============================================
+            try (Printable diff = debugger.diff(nodes, "Analyze switch [Range " + nodes.getFirst().id + " - " + nodes.getLast().id + "]")) {
+                new ArrayList<>(nodes).forEach(n -> n.child(OperandSwitch.class).to(op -> {
+                    op.analyze(this);
+                }));
+            }
+
+            // ============================================
+            // Analyze all try-catch-finally blocks.
+            // ============================================
+            try (Printable diff = debugger.diff(nodes, "Analyze try-catch-finally")) {
+                tries.process();
+            }
+
+            Budget.check(nodes);
         }
 
         // ============================================
@@ -465,6 +722,8 @@ class JavaMethodDecompiler extends MethodVisitor implements Code, Naming, NodeMa
             optimizeShorthandAssign();
         }
 
+        Budget.check(nodes);
+
         // ============================================
         // Analyze node relation
         // ============================================
@@ -472,6 +731,8 @@ class JavaMethodDecompiler extends MethodVisitor implements Code, Naming, NodeMa
             root = nodes.get(0).analyze();
         }
 
+        Budget.check(nodes);
+
         // ============================================
         // Build code structure
         // ============================================
@@ -571,22 +832,22 @@ class JavaMethodDecompiler extends MethodVisitor implements Code, Naming, NodeMa
 
             // Increment (decrement) of field doesn't use increment instruction, so we must
             // distinguish increment (decrement) from addition by pattern matching.
-            if (match(DUP, GETFIELD, DUPLICATE_AWAY, CONSTANT_1, ADD, PUTFIELD)) {
+            if (match(FieldPostIncrement)) {
                 // The pattenr of post-increment field is like above.
                 current.remove(0);
 
                 current.addOperand(increment(field, type, true, true));
-            } else if (match(DUP, GETFIELD, DUPLICATE_AWAY, CONSTANT_1, SUB, PUTFIELD)) {
+            } else if (match(FieldPostDecrement)) {
                 // The pattenr of post-decrement field is like above.
                 current.remove(0);
 
                 current.addOperand(increment(field, type, false, true));
-            } else if (match(DUP, GETFIELD, CONSTANT_1, ADD, DUPLICATE_AWAY, PUTFIELD)) {
+            } else if (match(FieldPreIncrement)) {
                 // The pattenr of pre-increment field is like above.
                 current.remove(0);
 
                 current.addOperand(increment(field, type, true, false));
-            } else if (match(DUP, GETFIELD, CONSTANT_1, SUB, DUPLICATE_AWAY, PUTFIELD)) {
+            } else if (match(FieldPreDecrement)) {
                 // The pattenr of pre-decrement field is like above.
                 current.remove(0);
 
@@ -595,14 +856,14 @@ class JavaMethodDecompiler extends MethodVisitor implements Code, Naming, NodeMa
                 Operand value = current.remove(0).fix(type);
                 OperandAssign assign = new OperandAssign(field, AssignOperator.ASSIGN, value);
 
-                if (match(DUPLICATE_AWAY, PUTFIELD)) {
+                if (match(FieldAssignExpression)) {
                     // DUP operand is generated when the result of an assignment expression is
                     // to be treated as a value.
                     //
                     // Example
                     // - inline parameter (i.e. method(local = value))
                     // - chained assignment (i.e. this.a = this.b = 0;)
-                    value.duplicated = false;
+                    value.unduplicate();
 
                     current.addOperand(assign.encolose());
                 } else {
@@ -638,27 +899,27 @@ class JavaMethodDecompiler extends MethodVisitor implements Code, Naming, NodeMa
             // On Javac, $assertionDisabled flag field is assigined in static initializer, but that
             // field will be remove to avoid other compile error, so we must remove this assign
             // statement also.
-            if (match(INVOKEVIRTUAL, JUMP, ICONST_1, GOTO, LABEL, FRAME, ICONST_0, LABEL, FRAME, PUTSTATIC)) {
+            if (match(AssertionStatus)) {
                 current.remove(0);
                 break;
             }
 
-            if (match(GETSTATIC, DUPLICATE, CONSTANT_1, ADD, PUTSTATIC)) {
+            if (match(StaticPostIncrement)) {
                 // The pattenr of post-increment field is like above.
                 current.remove(0);
 
                 current.addOperand(increment(current.remove(0), type, true, true));
-            } else if (match(GETSTATIC, DUPLICATE, CONSTANT_1, SUB, PUTSTATIC)) {
+            } else if (match(StaticPostDecrement)) {
                 // The pattenr of post-decrement field is like above.
                 current.remove(0);
 
                 current.addOperand(increment(current.remove(0), type, false, true));
-            } else if (match(GETSTATIC, CONSTANT_1, ADD, DUPLICATE, PUTSTATIC)) {
+            } else if (match(StaticPreIncrement)) {
                 current.remove(0);
                 current.remove(0);
 
                 current.addOperand(increment(accessClassField(owner, name), type, true, false));
-            } else if (match(GETSTATIC, CONSTANT_1, SUB, DUPLICATE, PUTSTATIC)) {
+            } else if (match(StaticPreDecrement)) {
                 // The pattenr of pre-decrement field is like above.
                 current.remove(0);
                 current.remove(0);
@@ -668,14 +929,14 @@ class JavaMethodDecompiler extends MethodVisitor implements Code, Naming, NodeMa
                 Operand value = current.remove(0).fix(type);
                 OperandAssign assign = new OperandAssign(accessClassField(owner, name), AssignOperator.ASSIGN, value);
 
-                if (match(DUPLICATE, PUTSTATIC)) {
+                if (match(StaticAssignExpression)) {
                     // DUP operand is generated when the result of an assignment expression is
                     // to be treated as a value.
                     //
                     // Example
                     // - inline parameter (i.e. method(local = value))
                     // - chained assignment (i.e. Type.a = Type.b = 0;)
-                    value.duplicated = false;
+                    value.unduplicate();
 
                     current.remove(0);
                     current.addOperand(assign.encolose());
@@ -688,7 +949,7 @@ class JavaMethodDecompiler extends MethodVisitor implements Code, Naming, NodeMa
         case GETSTATIC:
             // In Javac, accessing static fields via instances generates extra rubbish, which should
             // be removed.
-            if (match(ALOAD, POP, GETSTATIC)) {
+            if (match(StaticAccessViaInstance)) {
                 current.remove(0);
                 current.remove(0);
             }
@@ -697,28 +958,28 @@ class JavaMethodDecompiler extends MethodVisitor implements Code, Naming, NodeMa
             // to its original code.
             if (name.equals("TYPE")) {
                 if (owner == Boolean.class) {
-                    current.addOperand(new OperandClass(boolean.class));
+                    current.addOperand(OperandClass.of(boolean.class));
                     break;
                 } else if (owner == Integer.class) {
-                    current.addOperand(new OperandClass(int.class));
+                    current.addOperand(OperandClass.of(int.class));
                     break;
                 } else if (owner == Long.class) {
-                    current.addOperand(new OperandClass(long.class));
+                    current.addOperand(OperandClass.of(long.class));
                     break;
                 } else if (owner == Float.class) {
-                    current.addOperand(new OperandClass(float.class));
+                    current.addOperand(OperandClass.of(float.class));
                     break;
                 } else if (owner == Double.class) {
-                    current.addOperand(new OperandClass(double.class));
+                    current.addOperand(OperandClass.of(double.class));
                     break;
                 } else if (owner == Character.class) {
-                    current.addOperand(new OperandClass(char.class));
+                    current.addOperand(OperandClass.of(char.class));
                     break;
                 } else if (owner == Short.class) {
-                    current.addOperand(new OperandClass(short.class));
+                    current.addOperand(OperandClass.of(short.class));
                     break;
                 } else if (owner == Byte.class) {
-                    current.addOperand(new OperandClass(byte.class));
+                    current.addOperand(OperandClass.of(byte.class));
                     break;
                 }
             }
@@ -730,7 +991,7 @@ class JavaMethodDecompiler extends MethodVisitor implements Code, Naming, NodeMa
 
     private Operand accessClassField(Class owner, String name) {
         source.require(owner);
-        return new OperandFieldAccess(owner, name, new OperandType(owner));
+        return new OperandFieldAccess(owner, name, OperandType.of(owner));
     }
 
     /**
@@ -927,8 +1188,9 @@ class JavaMethodDecompiler extends MethodVisitor implements Code, Naming, NodeMa
      * @return
      */
     private Node findNodeBy(Operand operand) {
-        for (int i = nodes.size() - 1; 0 <= i; i--) {
-            Node node = nodes.get(i);
+        ListIterator<Node> iterator = nodes.listIterator(nodes.size());
+        while (iterator.hasPrevious()) {
+            Node node = iterator.previous();
 
             if (node.has(operand)) {
                 return node;
@@ -950,7 +1212,7 @@ class JavaMethodDecompiler extends MethodVisitor implements Code, Naming, NodeMa
 
         if (increment == 1) {
             // increment
-            if (match(ILOAD, INCREMENT) && current.peek(0) instanceof OperandUnary == false) {
+            if (match(LocalPostIncrement) && current.peek(0) instanceof OperandUnary == false) {
                 // post increment
                 current.addOperand(new OperandUnary(current.remove(0), UnaryOperator.POST_INCREMENT));
             } else {
@@ -959,7 +1221,7 @@ class JavaMethodDecompiler extends MethodVisitor implements Code, Naming, NodeMa
             }
         } else if (increment == -1) {
             // decrement
-            if (match(ILOAD, INCREMENT) && current.peek(0) instanceof OperandUnary == false) {
+            if (match(LocalPostIncrement) && current.peek(0) instanceof OperandUnary == false) {
                 // post decrement
                 current.addOperand(new OperandUnary(current.remove(0), UnaryOperator.POST_DECREMENT));
             } else {
@@ -982,20 +1244,19 @@ class JavaMethodDecompiler extends MethodVisitor implements Code, Naming, NodeMa
 
         switch (opcode) {
         case DUP:
-            if (!match(NEW, DUP) && !match(NEW, DUP2)) {
+            if (!match(Instantiation) && !match(InstantiationWide)) {
                 // mark as duplicated operand
-                current.peek(0).duplicated = true;
+                current.markDuplicated(0);
             }
             break;
 
         case DUP2:
-            if (!match(NEW, DUP) && !match(NEW, DUP2)) {
+            if (!match(Instantiation) && !match(InstantiationWide)) {
                 // mark as duplicated operand
-                Operand first = current.peek(0);
-                first.duplicated = true;
+                Operand first = current.markDuplicated(0);
 
                 if (!first.isLarge()) {
-                    current.peek(1).duplicated = true;
+                    current.markDuplicated(1);
                 }
             }
             break;
@@ -1007,7 +1268,7 @@ class JavaMethodDecompiler extends MethodVisitor implements Code, Naming, NodeMa
 
         case DUP_X2:
             // mark as duplicated operand
-            current.peek(0).duplicated = true;
+            current.markDuplicated(0);
             break;
 
         case DUP2_X1:
@@ -1017,7 +1278,7 @@ class JavaMethodDecompiler extends MethodVisitor implements Code, Naming, NodeMa
 
         case DUP2_X2:
             // mark as duplicated operand
-            current.peek(0).duplicated = true;
+            current.markDuplicated(0);
             break;
 
         case POP:
@@ -1037,7 +1298,7 @@ class JavaMethodDecompiler extends MethodVisitor implements Code, Naming, NodeMa
             // I guess that it is NULL checker and initialize code for the class to which the lambda
             // method belongs. It is a completely unnecessary code, so we should remove them
             // unconditionally.
-            if (match(DUP, INVOKESTATIC, POP) || match(DUP, INVOKEVIRTUAL, POP)) {
+            if (match(NullCheckStatic) || match(NullCheckVirtual)) {
                 current.remove(0);
                 break;
             }
@@ -1051,7 +1312,7 @@ class JavaMethodDecompiler extends MethodVisitor implements Code, Naming, NodeMa
             //
             // In Javascript runtime, it is a completely unnecessary code,
             // so we should delete them unconditionally.
-            if (match(GETFIELD, CHECKCAST, POP)) {
+            if (match(FieldCastCheck)) {
                 current.remove(0);
                 break;
             }
@@ -1242,8 +1503,7 @@ class JavaMethodDecompiler extends MethodVisitor implements Code, Naming, NodeMa
             // // invert the latest condition
             // current.peek(0).invert();
             // }
-            Operand operand = current.remove(0);
-            operand.fix(returnType);
+            Operand operand = current.remove(0).fix(returnType);
 
             current.addOperand(new OperandReturn(operand).fix(returnType));
             current.destination = Termination;
@@ -1253,7 +1513,7 @@ class JavaMethodDecompiler extends MethodVisitor implements Code, Naming, NodeMa
         case LRETURN:
         case FRETURN:
         case DRETURN:
-            current.addOperand(new OperandReturn(current.remove(match(DUP, JUMP, ARETURN) ? 1 : 0).fix(returnType)));
+            current.addOperand(new OperandReturn(current.remove(match(ConditionalReturn) ? 1 : 0).fix(returnType)));
             current.destination = Termination;
             break;
 
@@ -1331,7 +1591,7 @@ class JavaMethodDecompiler extends MethodVisitor implements Code, Naming, NodeMa
                 if (!value.duplicated) {
                     current.addExpression(assign);
                 } else {
-                    value.duplicated = false;
+                    value.unduplicate();
 
                     // duplicate pointer
                     current.addOperand(assign.encolose());
@@ -1343,7 +1603,7 @@ class JavaMethodDecompiler extends MethodVisitor implements Code, Naming, NodeMa
         case ARRAYLENGTH:
             // For ECJ
             // Array#length on enhanced for-loop produces special bytecode
-            if (match(ALOAD, DUP, ASTORE, ARRAYLENGTH)) {
+            if (match(ArrayLoopECJ)) {
                 Operand prev = current.peek(1);
                 Operand next = current.remove(0);
 
@@ -1356,7 +1616,7 @@ class JavaMethodDecompiler extends MethodVisitor implements Code, Naming, NodeMa
 
             // For Javac
             // Array#length on enhanced for-loop produces special bytecode
-            if (match(ALOAD, ASTORE, ALOAD, ARRAYLENGTH)) {
+            if (match(ArrayLoopJavac)) {
                 Operand prev = current.peek(1);
                 Operand next = current.peek(0);
                 if (prev instanceof OperandAssign assign && next instanceof OperandLocalVariable newVariable) {
@@ -1371,7 +1631,7 @@ class JavaMethodDecompiler extends MethodVisitor implements Code, Naming, NodeMa
 
         // throw
         case ATHROW:
-            if (match(INVOKESPECIAL, ATHROW)) {
+            if (match(ThrowNew)) {
                 Operand o = current.peek(0);
                 if (o instanceof OperandConstructorCall con && con.type.is(AssertionError.class)) {
                     current.remove(0); // remove new AssertionError()
@@ -1396,10 +1656,12 @@ class JavaMethodDecompiler extends MethodVisitor implements Code, Naming, NodeMa
         case MONITORENTER:
             current.remove(0);
             synchronizer.add(current);
+            straight = false;
             break;
 
         case MONITOREXIT:
             synchronizer.add(current);
+            straight = false;
             break;
 
         case I2C:
@@ -1545,7 +1807,10 @@ class JavaMethodDecompiler extends MethodVisitor implements Code, Naming, NodeMa
                 case H_INVOKEVIRTUAL:
                 case H_INVOKEINTERFACE:
                 case H_INVOKESPECIAL:
-                    Method lambdaMethod = lambdaClass.getDeclaredMethod(lambdaName, lambdaParameterTypes);
+                    Method lambdaMethod = MemberIndex.declaredMethod(lambdaClass, lambdaName, lambdaParameterTypes);
+                    if (lambdaMethod == null) {
+                        throw new NoSuchMethodException(lambdaClass.getName() + "." + lambdaName + Arrays.toString(lambdaParameterTypes));
+                    }
                     if (lambdaMethod.isSynthetic()) {
                         // ==================================
                         // Lambda
@@ -1581,7 +1846,10 @@ class JavaMethodDecompiler extends MethodVisitor implements Code, Naming, NodeMa
                     // ==================================
                     // Constructor Reference in Javac
                     // ==================================
-                    Constructor lambdaConstructor = lambdaClass.getDeclaredConstructor(lambdaParameterTypes);
+                    Constructor lambdaConstructor = MemberIndex.declaredConstructor(lambdaClass, lambdaParameterTypes);
+                    if (lambdaConstructor == null) {
+                        throw new NoSuchMethodException(lambdaClass.getName() + ".<init>" + Arrays.toString(lambdaParameterTypes));
+                    }
                     SpecializedType specialized = new SpecializedType(interfaceClass).specializeByReturnType(lambdaClass)
                             .specializeByParamTypes(lambdaParameterTypes);
 
@@ -1645,6 +1913,8 @@ class JavaMethodDecompiler extends MethodVisitor implements Code, Naming, NodeMa
      */
     @Override
     public void visitJumpInsn(int opcode, Label label) {
+        straight = false;
+
         // If this jump instruction is used for assertion, we should skip it to erase compiler
         // generated extra code.
         if (assertJump) {
@@ -1655,7 +1925,7 @@ class JavaMethodDecompiler extends MethodVisitor implements Code, Naming, NodeMa
         // Consecutive jump instructions, such as ternary operators and if statements that break
         // into loop structures, can be stored in separate nodes to normalize and simplify later
         // processing.
-        if (match(JUMP)) {
+        if (match(Jump)) {
             visitLabel(new Label());
         }
 
@@ -1664,7 +1934,7 @@ class JavaMethodDecompiler extends MethodVisitor implements Code, Naming, NodeMa
 
         // search node
         Node node = getNode(label);
-        current.jumping.add(node);
+        current.jumping.addIfAbsent(node);
 
         switch (opcode) {
         case GOTO:
@@ -1672,13 +1942,13 @@ class JavaMethodDecompiler extends MethodVisitor implements Code, Naming, NodeMa
             current.connect(node);
             current.destination = node;
 
-            if (match(JUMP, LABEL, GOTO) && current.previous.outgoing.size() == 3) {
+            if (match(JumpAndGoto) && current.previous.outgoing.size() == 3) {
                 dispose(current);
             }
             return;
 
         case IFEQ: // == 0
-            if (match(LCMP, JUMP) || match(DCMP, JUMP) || match(FCMP, JUMP)) {
+            if (match(LongCompare) || match(DoubleCompare) || match(FloatCompare)) {
                 // for long, float and double
                 current.condition(current.remove(1), EQ, current.remove(0), node);
             } else {
@@ -1688,7 +1958,7 @@ class JavaMethodDecompiler extends MethodVisitor implements Code, Naming, NodeMa
             }
             break;
         case IFNE: // != 0
-            if (match(LCMP, JUMP) || match(DCMP, JUMP) || match(FCMP, JUMP)) {
+            if (match(LongCompare) || match(DoubleCompare) || match(FloatCompare)) {
                 // for long, float and double
                 current.condition(current.remove(1), NE, current.remove(0), node);
             } else {
@@ -1699,7 +1969,7 @@ class JavaMethodDecompiler extends MethodVisitor implements Code, Naming, NodeMa
             break;
 
         case IFGE: // => 0
-            if (match(LCMP, JUMP) || match(DCMP, JUMP) || match(FCMP, JUMP)) {
+            if (match(LongCompare) || match(DoubleCompare) || match(FloatCompare)) {
                 // for long, float and double
                 current.condition(current.remove(1), GE, current.remove(0), node);
             } else {
@@ -1709,7 +1979,7 @@ class JavaMethodDecompiler extends MethodVisitor implements Code, Naming, NodeMa
             break;
 
         case IFGT: // > 0
-            if (match(LCMP, JUMP) || match(DCMP, JUMP) || match(FCMP, JUMP)) {
+            if (match(LongCompare) || match(DoubleCompare) || match(FloatCompare)) {
                 // for long, float and double
                 current.condition(current.remove(1), GT, current.remove(0), node);
             } else {
@@ -1719,7 +1989,7 @@ class JavaMethodDecompiler extends MethodVisitor implements Code, Naming, NodeMa
             break;
 
         case IFLE: // <= 0
-            if (match(LCMP, JUMP) || match(DCMP, JUMP) || match(FCMP, JUMP)) {
+            if (match(LongCompare) || match(DoubleCompare) || match(FloatCompare)) {
                 // for long, float and double
                 current.condition(current.remove(1), LE, current.remove(0), node);
             } else {
@@ -1729,7 +1999,7 @@ class JavaMethodDecompiler extends MethodVisitor implements Code, Naming, NodeMa
             break;
 
         case IFLT: // < 0
-            if (match(LCMP, JUMP) || match(DCMP, JUMP) || match(FCMP, JUMP)) {
+            if (match(LongCompare) || match(DoubleCompare) || match(FloatCompare)) {
                 // for long, float and double
                 current.condition(current.remove(1), LT, current.remove(0), node);
             } else {
@@ -1816,11 +2086,11 @@ class JavaMethodDecompiler extends MethodVisitor implements Code, Naming, NodeMa
         record(LDC);
 
         if (constant instanceof String) {
-            current.stack.add(new OperandString((String) constant));
+            current.stack.add(OperandString.of((String) constant));
         } else if (constant instanceof Type) {
             Class clazz = OperandUtil.load((Type) constant);
             source.require(clazz);
-            current.addOperand(new OperandClass(clazz));
+            current.addOperand(OperandClass.of(clazz));
         } else {
             current.addOperand(constant);
         }
@@ -1936,7 +2206,7 @@ class JavaMethodDecompiler extends MethodVisitor implements Code, Naming, NodeMa
             }
 
             // translate
-            current.addOperand(new OperandMethodCall(AccessMode.THIS, owner, method, parameters, new OperandType(owner), contexts));
+            current.addOperand(new OperandMethodCall(AccessMode.THIS, owner, method, parameters, OperandType.of(owner), contexts));
             break;
         }
 
@@ -1974,7 +2244,7 @@ class JavaMethodDecompiler extends MethodVisitor implements Code, Naming, NodeMa
     public AnnotationVisitor visitParameterAnnotation(int index, String descriptor, boolean visible) {
         AnnotationLike like = new AnnotationLike(OperandUtil.load(descriptor));
 
-        Parameter param = executable.getParameters()[index];
+        Parameter param = ClassSnapshot.of(executable).parameters(executable).get(index);
         source.annotations.put(param, like);
 
         return new JavaAnnotationDecompiler(like);
@@ -1987,6 +2257,7 @@ class JavaMethodDecompiler extends MethodVisitor implements Code, Naming, NodeMa
     public void visitTableSwitchInsn(int min, int max, Label defaults, Label... labels) {
         // recode current instruction
         record(TABLESWITCH);
+        straight = false;
 
         int[] keys = new int[max - min + 1];
         for (int i = 0; i < keys.length; i++) {
@@ -2002,6 +2273,7 @@ class JavaMethodDecompiler extends MethodVisitor implements Code, Naming, NodeMa
     public void visitLookupSwitchInsn(Label defaultLabel, int[] keys, Label[] labels) {
         // recode current instruction
         record(LOOKUPSWITCH);
+        straight = false;
 
         visitSwitchInsn(defaultLabel, keys, labels);
     }
@@ -2025,7 +2297,7 @@ class JavaMethodDecompiler extends MethodVisitor implements Code, Naming, NodeMa
         OperandSwitch operand = new OperandSwitch(current, switchCondition, keys, caseNodes, defaultNode);
 
         // for ECJ
-        if (match(DUP, ASTORE, INVOKEVIRTUAL, SWITCH)) {
+        if (match(StringSwitchECJ)) {
             // caseNodes.forEach(caseNode -> {
             // registerNodeEndedAction(caseNode, node -> {
             // OperandCondition condition = node.child(OperandCondition.class).exact();
@@ -2070,7 +2342,7 @@ class JavaMethodDecompiler extends MethodVisitor implements Code, Naming, NodeMa
         }
 
         // for Javac
-        if (match(ALOAD, ASTORE, ICONST_M1, ISTORE, ALOAD, INVOKEVIRTUAL, SWITCH)) {
+        if (match(StringSwitchJavac)) {
             if (current.peek(1) instanceof OperandAssign assign) {
                 stringSwitchForJavac = operand;
 
@@ -2082,7 +2354,7 @@ class JavaMethodDecompiler extends MethodVisitor implements Code, Naming, NodeMa
                 switches.addFirst(operand);
                 return;
             }
-        } else if (match(INVOKE, ASTORE, ICONST_M1, ISTORE, ALOAD, INVOKEVIRTUAL, SWITCH)) {
+        } else if (match(StringSwitchJavacInvoke)) {
             // for Javac with method invocation
             if (current.peek(1) instanceof OperandAssign assign) {
                 stringSwitchForJavac = operand;
@@ -2130,6 +2402,7 @@ class JavaMethodDecompiler extends MethodVisitor implements Code, Naming, NodeMa
      */
     @Override
     public void visitTryCatchBlock(Label start, Label end, Label handler, String type) {
+        straight = false;
         tries.addBlock(getNode(start), getNode(end), getNode(handler), load(type));
     }
 
@@ -2160,12 +2433,11 @@ class JavaMethodDecompiler extends MethodVisitor implements Code, Naming, NodeMa
             break;
 
         case CHECKCAST:
-            current.peek(0).fix(clazz);
-            current.addOperand(new OperandCast(current.remove(0), clazz));
+            current.addOperand(new OperandCast(current.remove(0).fix(clazz), clazz));
             break;
 
         case INSTANCEOF:
-            if (match(DUP, ASTORE, INSTANCEOF)) {
+            if (match(InstanceofECJ)) {
                 // In ECJ compiler, the instanceof operator with pattern matching generates code
                 // that assigns the target variable to a temporary variable. So we optimize the code
                 // to remove that variable and use the original variable.
@@ -2176,7 +2448,7 @@ class JavaMethodDecompiler extends MethodVisitor implements Code, Naming, NodeMa
                 // methodVisitor.visitTypeInsn(INSTANCEOF, "java/lang/String");
                 Operand extra = current.remove(1);
                 current.remove(0).as(OperandAssign.class).exact().assignedTo(extra).to(current::addOperand);
-            } else if (match(ASTORE, ALOAD, INSTANCEOF)) {
+            } else if (match(InstanceofJavac)) {
                 // In Javac compiler, the instanceof operator with pattern matching generates code
                 // that assigns the target variable to a temporary variable. So we optimize the code
                 // to remove that variable and use the original variable.
@@ -2207,7 +2479,7 @@ class JavaMethodDecompiler extends MethodVisitor implements Code, Naming, NodeMa
         // retrieve local variable name
         boolean firstUse = !locals.has(position, opcode);
         OperandLocalVariable variable = locals
-                .find(position, opcode, match(FRAME_SAME1, ASTORE) || match(FRAME_FULL, ASTORE) ? null : current);
+                .find(position, opcode, match(CatchSame) || match(CatchFull) ? null : current);
 
         // For ECJ
         // Array#length on enhanced for-loop produces special bytecode
@@ -2223,7 +2495,7 @@ class JavaMethodDecompiler extends MethodVisitor implements Code, Naming, NodeMa
         case FLOAD:
         case LLOAD:
         case DLOAD:
-            if (match(INCREMENT, ILOAD)) {
+            if (match(LocalPreIncrement)) {
                 Operand prev = current.peek(0);
 
                 if (prev instanceof OperandUnary unary) {
@@ -2248,13 +2520,13 @@ class JavaMethodDecompiler extends MethodVisitor implements Code, Naming, NodeMa
             // instanceof with cast produces special bytecode, so we must handle it by special way.
             // For ECJ - DUP STORE INSTANCEOF ....
             // For Javac - ASTORE ALOAD INSTANCEOF ...
-            if (match(DUP, ASTORE, INSTANCEOF, IFEQ, ALOAD, CHECKCAST, ASTORE) || match(ASTORE, ALOAD, INSTANCEOF, IFEQ, ALOAD, CHECKCAST, ASTORE)) {
+            if (match(InstanceofCastECJ) || match(InstanceofCastJavac)) {
                 current.remove(0);
                 current.peek(0).children(OperandInstanceOf.class).to(o -> o.withCast(variable));
                 return;
             }
 
-            if (match(FRAME_SAME1, ASTORE) || match(FRAME_FULL, ASTORE)) {
+            if (match(CatchSame) || match(CatchFull)) {
                 tries.assignExceptionVariable(current, variable);
             }
 
@@ -2270,28 +2542,28 @@ class JavaMethodDecompiler extends MethodVisitor implements Code, Naming, NodeMa
                 // Increment not-int type doesn't use Iinc instruction, so we must distinguish
                 // increment from addition by pattern matching. Post increment code of non-int type
                 // leaves characteristic pattern like the following.
-                if (match(LOAD, DUPLICATE, CONSTANT_1, ADD, STORE)) {
+                if (match(WidePostIncrement)) {
                     // for long, float and double
                     current.remove(0);
                     current.remove(0);
 
                     current.addOperand(increment(variable, load(opcode), true, true));
                     return;
-                } else if (match(LOAD, CONSTANT_1, ADD, DUPLICATE, STORE)) {
+                } else if (match(WidePreIncrement)) {
                     // for long, float and double
                     current.remove(0);
                     current.remove(0);
 
                     current.addOperand(increment(variable, load(opcode), true, false));
                     return;
-                } else if (match(LOAD, DUPLICATE, CONSTANT_1, SUB, STORE)) {
+                } else if (match(WidePostDecrement)) {
                     // for long, float and double
                     current.remove(0);
                     current.remove(0);
 
                     current.addOperand(increment(variable, load(opcode), false, true));
                     return;
-                } else if (match(LOAD, CONSTANT_1, SUB, DUPLICATE, STORE)) {
+                } else if (match(WidePreDecrement)) {
                     // for long, float and double
                     current.remove(0);
                     current.remove(0);
@@ -2307,7 +2579,7 @@ class JavaMethodDecompiler extends MethodVisitor implements Code, Naming, NodeMa
                 Operand operand = current.remove(0, false);
 
                 // Enum#values produces special bytecode, so we must handle it by special way.
-                if (match(ASTORE, ICONST_0, ALOAD, ARRAYLENGTH, DUP, ISTORE)) {
+                if (match(EnumValuesLength)) {
                     enumValues[0] = current.remove(0);
                     enumValues[1] = current.remove(0);
                 }
@@ -2319,18 +2591,18 @@ class JavaMethodDecompiler extends MethodVisitor implements Code, Naming, NodeMa
                     // it back on the stack.
                     current.addOperand(assign);
                 } else {
-                    operand.duplicated = false;
+                    operand.unduplicate();
 
                     // Enum#values produces special bytecode,
                     // so we must handle it by special way.
-                    if (match(ARRAYLENGTH, DUP, ISTORE, ANEWARRAY, DUP, ASTORE)) {
+                    if (match(EnumValuesCopy)) {
                         current.addOperand(enumValues[1]);
                         current.addOperand(enumValues[0]);
                     }
 
                     // The chained assignment for three or more variables causes node splitting and
                     // must be combined into one.
-                    if (match(LABEL, DUPLICATE, STORE)) {
+                    if (match(ChainedAssign)) {
                         mergePrevious(current);
                     }
 
@@ -2378,9 +2650,8 @@ class JavaMethodDecompiler extends MethodVisitor implements Code, Naming, NodeMa
      */
     @Override
     public final void dispose(Node target, boolean clearStack, boolean previousRecursively) {
-        if (nodes.contains(target)) {
-            // remove actually
-            nodes.remove(target);
+        // remove actually
+        if (nodes.remove(target)) {
 
             // update case or default node on switch
             switches.forEach(op -> op.updateCase(target, target.next));
@@ -2450,7 +2721,7 @@ class JavaMethodDecompiler extends MethodVisitor implements Code, Naming, NodeMa
      */
     @Override
     public final Node createNodeBefore(Node index, boolean connectable, boolean transferOperands) {
-        Node created = new Node(alphaId());
+        Node created = new Node(alphaId(), counterIndex++, dominance);
 
         // switch line number
         created.lineNumber = index.lineNumber;
@@ -2474,10 +2745,10 @@ class JavaMethodDecompiler extends MethodVisitor implements Code, Naming, NodeMa
         }
 
         // insert to node list
-        nodes.add(nodes.indexOf(index), created);
+        nodes.addBefore(created, index);
 
         // reset dominator
-        index.dominator = null;
+        index.setDominator(null);
 
         // API definition
         return created;
@@ -2488,7 +2759,7 @@ class JavaMethodDecompiler extends MethodVisitor implements Code, Naming, NodeMa
      */
     @Override
     public final Node createNodeAfter(Node index, boolean connectable, boolean transferOperands) {
-        Node created = new Node(alphaId());
+        Node created = new Node(alphaId(), counterIndex++, dominance);
 
         // switch line number
         created.lineNumber = index.lineNumber;
@@ -2507,7 +2778,7 @@ class JavaMethodDecompiler extends MethodVisitor implements Code, Naming, NodeMa
                 created.connect(out);
 
                 // reset dominator
-                out.dominator = null;
+                out.setDominator(null);
             }
             index.connect(created);
         }
@@ -2517,7 +2788,7 @@ class JavaMethodDecompiler extends MethodVisitor implements Code, Naming, NodeMa
         }
 
         // insert to node list
-        nodes.add(nodes.indexOf(index) + 1, created);
+        nodes.addAfter(created, index);
 
         // API definition
         return created;
@@ -2550,7 +2821,7 @@ class JavaMethodDecompiler extends MethodVisitor implements Code, Naming, NodeMa
 
         // search cached node
         if (node == null) {
-            label.info = node = new Node(counter++);
+            label.info = node = new Node(counter++, counterIndex++, dominance);
         }
 
         // API definition
@@ -2595,7 +2866,7 @@ class JavaMethodDecompiler extends MethodVisitor implements Code, Naming, NodeMa
             // started by conditional operand, we should try to merge them.
             if (info.conditionalHead && node.previous != null && node.previous.peek(0) instanceof OperandCondition condition) {
                 if (info.canMerge(condition, right) && condition.elze == node && node.previous.jumping.contains(node)) {
-                    node.previous.jumping.addAll(node.jumping);
+                    node.previous.jumping.addAllAbsent(node.jumping);
 
                     dispose(node);
 
@@ -2611,15 +2882,12 @@ class JavaMethodDecompiler extends MethodVisitor implements Code, Naming, NodeMa
      */
     private void record(int opcode) {
         // insert anonymous label at head if the processing method has no label
-        if (records[0] == 0 && opcode != LABEL) {
+        if (!recorded && opcode != LABEL) {
             visitLabel(new Label());
         }
 
-        records[recordIndex++] = opcode;
-
-        if (recordIndex == records.length) {
-            recordIndex = 0; // loop index
-        }
+        recorded = true;
+        records.advance(opcode);
     }
 
     /**
@@ -2636,248 +2904,40 @@ class JavaMethodDecompiler extends MethodVisitor implements Code, Naming, NodeMa
     /**
      * Pattern matching for the recent instructions.
      * 
-     * @param opcodes A sequence of opecodes to match.
+     * @param pattern A compiled sequence of opecodes to match.
      * @return A result.
      */
-    private boolean match(int... opcodes) {
-        root: for (int i = opcodes.length - 1, j = opcodes.length - 1; 0 <= i; i--, j--) {
-            int record = records[(recordIndex + j + records.length - opcodes.length) % records.length];
-
-            switch (opcodes[i]) {
-            case ADD:
-                switch (record) {
-                case IADD:
-                case LADD:
-                case FADD:
-                case DADD:
-                    continue root;
-
-                default:
-                    return false;
-                }
-
-            case SUB:
-                switch (record) {
-                case ISUB:
-                case LSUB:
-                case FSUB:
-                case DSUB:
-                    continue root;
-
-                default:
-                    return false;
-                }
-
-            case CONSTANT_0:
-                switch (record) {
-                case ICONST_0:
-                case LCONST_0:
-                case FCONST_0:
-                case DCONST_0:
-                    continue root;
-
-                default:
-                    return false;
-                }
-
-            case CONSTANT_1:
-                switch (record) {
-                case ICONST_1:
-                case LCONST_1:
-                case FCONST_1:
-                case DCONST_1:
-                    continue root;
-
-                default:
-                    return false;
-                }
-
-            case DUPLICATE:
-                switch (record) {
-                case DUP:
-                case DUP2:
-                    continue root;
-
-                default:
-                    return false;
-                }
-
-            case DUPLICATE_AWAY:
-                switch (record) {
-                case DUP_X1:
-                case DUP2_X1:
-                    continue root;
-
-                default:
-                    return false;
-                }
-
-            case RETURNS:
-                switch (record) {
-                case RETURN:
-                case IRETURN:
-                case ARETURN:
-                case LRETURN:
-                case FRETURN:
-                case DRETURN:
-                    continue root;
-
-                default:
-                    return false;
-                }
-
-            case JUMP:
-                switch (record) {
-                case IFEQ:
-                case IFGE:
-                case IFGT:
-                case IFLE:
-                case IFLT:
-                case IFNE:
-                case IFNONNULL:
-                case IFNULL:
-                case IF_ACMPEQ:
-                case IF_ACMPNE:
-                case IF_ICMPEQ:
-                case IF_ICMPGE:
-                case IF_ICMPGT:
-                case IF_ICMPLE:
-                case IF_ICMPLT:
-                case IF_ICMPNE:
-                case GOTO:
-                    continue root;
-
-                default:
-                    return false;
-                }
-
-            case CMP:
-                switch (record) {
-                case IFEQ:
-                case IFGE:
-                case IFGT:
-                case IFLE:
-                case IFLT:
-                case IFNE:
-                case IFNONNULL:
-                case IFNULL:
-                case IF_ACMPEQ:
-                case IF_ACMPNE:
-                case IF_ICMPEQ:
-                case IF_ICMPGE:
-                case IF_ICMPGT:
-                case IF_ICMPLE:
-                case IF_ICMPLT:
-                case IF_ICMPNE:
-                    continue root;
-
-                default:
-                    return false;
-                }
-
-            case FCMP:
-                switch (record) {
-                case FCMPG:
-                case FCMPL:
-                    continue root;
-
-                default:
-                    return false;
-                }
-
-            case DCMP:
-                switch (record) {
-                case DCMPG:
-                case DCMPL:
-                    continue root;
-
-                default:
-                    return false;
-                }
-
-            case FRAME:
-                switch (record) {
-                case FRAME_APPEND:
-                case FRAME_CHOP:
-                case FRAME_FULL:
-                case FRAME_NEW:
-                case FRAME_SAME:
-                case FRAME_SAME1:
-                    continue root;
-
-                default:
-                    return false;
-                }
-
-            case FRAME_ANY_SAME:
-                switch (record) {
-                case FRAME_SAME:
-                case FRAME_SAME1:
-                    continue root;
-
-                default:
-                    return false;
-                }
-
-            case INVOKE:
-                switch (record) {
-                case INVOKEINTERFACE:
-                case INVOKESPECIAL:
-                case INVOKESTATIC:
-                case INVOKEVIRTUAL:
-                    continue root;
-
-                default:
-                    return false;
-                }
-
-            case STORE:
-                switch (record) {
-                case ISTORE:
-                case LSTORE:
-                case FSTORE:
-                case DSTORE:
-                case ASTORE:
-                    continue root;
-
-                default:
-                    return false;
-                }
-
-            case LOAD:
-                switch (record) {
-                case ILOAD:
-                case LLOAD:
-                case FLOAD:
-                case DLOAD:
-                case ALOAD:
-                    continue root;
-
-                default:
-                    return false;
-                }
-
-            case OptionalLABEL:
-                if (record != LABEL) j++;
-                continue root;
-
-            case SWITCH:
-                switch (record) {
-                case LOOKUPSWITCH:
-                case TABLESWITCH:
-                    continue root;
-
-                default:
-                    return false;
-                }
+    private boolean match(Pattern pattern) {
+        return records.matches(pattern);
+    }
 
-            default:
-                if (record != opcodes[i]) {
-                    return false;
-                }
-            }
-        }
-        return true;
+    /**
+     * Expand the pattern element into the matchable opcodes.
+     * 
+     * @param opcode An opcode or pseudo opcode.
+     * @return The matchable opcodes.
+     */
+    private static int[] expand(int opcode) {
+        return switch (opcode) {
+        case ADD -> new int[] {IADD, LADD, FADD, DADD};
+        case SUB -> new int[] {ISUB, LSUB, FSUB, DSUB};
+        case CONSTANT_0 -> new int[] {ICONST_0, LCONST_0, FCONST_0, DCONST_0};
+        case CONSTANT_1 -> new int[] {ICONST_1, LCONST_1, FCONST_1, DCONST_1};
+        case DUPLICATE -> new int[] {DUP, DUP2};
+        case DUPLICATE_AWAY -> new int[] {DUP_X1, DUP2_X1};
+        case RETURNS -> new int[] {RETURN, IRETURN, ARETURN, LRETURN, FRETURN, DRETURN};
+        case JUMP -> new int[] {IFEQ, IFGE, IFGT, IFLE, IFLT, IFNE, IFNONNULL, IFNULL, IF_ACMPEQ, IF_ACMPNE, IF_ICMPEQ, IF_ICMPGE, IF_ICMPGT, IF_ICMPLE, IF_ICMPLT, IF_ICMPNE, GOTO};
+        case CMP -> new int[] {IFEQ, IFGE, IFGT, IFLE, IFLT, IFNE, IFNONNULL, IFNULL, IF_ACMPEQ, IF_ACMPNE, IF_ICMPEQ, IF_ICMPGE, IF_ICMPGT, IF_ICMPLE, IF_ICMPLT, IF_ICMPNE};
+        case FCMP -> new int[] {FCMPG, FCMPL};
+        case DCMP -> new int[] {DCMPG, DCMPL};
+        case FRAME -> new int[] {FRAME_APPEND, FRAME_CHOP, FRAME_FULL, FRAME_NEW, FRAME_SAME, FRAME_SAME1};
+        case FRAME_ANY_SAME -> new int[] {FRAME_SAME, FRAME_SAME1};
+        case INVOKE -> new int[] {INVOKEINTERFACE, INVOKESPECIAL, INVOKESTATIC, INVOKEVIRTUAL};
+        case STORE -> new int[] {ISTORE, LSTORE, FSTORE, DSTORE, ASTORE};
+        case LOAD -> new int[] {ILOAD, LLOAD, FLOAD, DLOAD, ALOAD};
+        case SWITCH -> new int[] {LOOKUPSWITCH, TABLESWITCH};
+        default -> new int[] {opcode};
+        };
     }
 
     /**
@@ -2937,13 +2997,8 @@ class JavaMethodDecompiler extends MethodVisitor implements Code, Naming, NodeMa
             return false;
         }
 
-        try {
-            Method method = owner.getDeclaredMethod(name, types);
-
-            return Modifier.isStatic(method.getModifiers());
-        } catch (NoSuchMethodException e) {
-            return false;
-        }
+        Method method = MemberIndex.declaredMethod(owner, name, types);
+        return method != null && Modifier.isStatic(method.getModifiers());
     }
 
     /**
@@ -3052,6 +3107,8 @@ class JavaMethodDecompiler extends MethodVisitor implements Code, Naming, NodeMa
          * </p>
          */
         private void split() {
+            Budget.checkpoint();
+
             int size = conditions.size();
 
             if (size != 0 && size != base.stack.size()) {
@@ -3254,30 +3311,27 @@ class JavaMethodDecompiler extends MethodVisitor implements Code, Naming, NodeMa
             // At first, remove copy from end tail.
             finallyCopies.forEach(comparator, (key, copies) -> {
                 // capture the finally block
-                List<Node> deletables = key.handler.outgoingRecursively().takeWhile(n -> !n.isThrow()).take(Node::isNotEmpty).toList();
+                List<Node> deletables = key.handler.collectOutgoing(Node::isThrow, Integer.MAX_VALUE);
 
                 try (Printable diff = debugger
                         .diff(nodes, "Remove copied finally nodes [size: " + deletables.size() + "] from end's outgoings")) {
                     for (CopiedFinally copy : copies) {
-                        I.signal(copy)
-                                .take(c -> c.end != c.handler)
-                                .flatMap(c -> c.end.outgoingRecursively())
-                                .take(Node::isNotEmpty)
-                                .take(deletables.size())
-                                .buffer()
-                                .take(nodes -> match(nodes, deletables))
-                                .flatIterable(n -> n)
-                                .to(n -> {
+                        if (copy.end != copy.handler) {
+                            List<Node> copied = copy.end.collectOutgoing(n -> false, deletables.size());
+                            if (match(copied, deletables)) {
+                                for (Node n : copied) {
                                     n.uniqueOutgoing().take(Node::isEmpty).to(node -> dispose(node));
                                     dispose(n, true, true);
-                                });
+                                }
+                            }
+                        }
                     }
                 }
             });
 
             finallyCopies.forEach(comparator, (key, copies) -> {
                 // capture the finally block
-                List<Node> deletables = key.handler.outgoingRecursively().takeWhile(n -> !n.isThrow()).take(Node::isNotEmpty).toList();
+                List<Node> deletables = key.handler.collectOutgoing(Node::isThrow, Integer.MAX_VALUE);
 
                 // For Javac
                 try (Printable diff = debugger.diff(nodes, "Remove copied finally nodes [size: " + deletables
@@ -3301,18 +3355,14 @@ class JavaMethodDecompiler extends MethodVisitor implements Code, Naming, NodeMa
                 try (Printable diff = debugger.diff(nodes, "Remove copied finally nodes [size: " + deletables
                         .size() + "] from the next node of handler's [" + key.handler.id + "] last tail.")) {
                     if (!match(key)) {
-                        key.handler.tails()
-                                .last()
-                                .map(n -> n.next)
-                                .flatMap(Node::outgoingRecursively)
-                                .take(Node::isNotEmpty)
-                                .take(deletables.size())
-                                .buffer()
-                                .take(nodes -> match(nodes, deletables))
-                                .flatIterable(n -> n)
-                                .to(n -> {
+                        key.handler.tails().last().map(n -> n.next).skipNull().to(next -> {
+                            List<Node> copied = next.collectOutgoing(n -> false, deletables.size());
+                            if (match(copied, deletables)) {
+                                for (Node n : copied) {
                                     dispose(n, true, true);
-                                });
+                                }
+                            }
+                        });
                     }
                 }
 
@@ -3562,7 +3612,7 @@ class JavaMethodDecompiler extends MethodVisitor implements Code, Naming, NodeMa
             }
             catcherOrFinally.disposable = false;
             catcherOrFinally.additionalCall++;
-            catcherOrFinally.dominator = start;
+            catcherOrFinally.setDominator(start);
             blocks.add(new CatchOrFinally(exception, catcherOrFinally));
         }
 
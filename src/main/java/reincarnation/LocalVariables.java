@@ -16,12 +16,13 @@ import java.lang.reflect.Parameter;
 import java.lang.reflect.Type;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 
 import reincarnation.coder.Naming;
-import reincarnation.util.Classes;
+import reincarnation.util.ClassSnapshot;
 
 /**
  * Local variable manager.
@@ -56,16 +57,18 @@ final class LocalVariables implements Naming {
         }
 
         if (exe != null) {
-            Type[] types = Classes.fixGenericParameterTypes(exe);
-            Parameter[] parameters = exe.getParameters();
+            ClassSnapshot snapshot = ClassSnapshot.of(exe);
+            List<Type> types = snapshot.parameterTypes(exe);
+            List<Parameter> parameters = snapshot.parameters(exe);
 
-            for (int i = 0; i < types.length; i++) {
-                OperandLocalVariable variable = new OperandLocalVariable(types[i], offset, parameters[i].getName());
+            for (int i = 0; i < types.size(); i++) {
+                Type type = types.get(i);
+                OperandLocalVariable variable = new OperandLocalVariable(type, offset, parameters.get(i).getName());
                 variable.fix();
                 params.put(offset, variable);
 
                 // count index because primitive long and double occupy double stacks
-                offset += types[i] == long.class || types[i] == double.class ? 2 : 1;
+                offset += type == long.class || type == double.class ? 2 : 1;
             }
         }
 
@@ -0,0 +1,346 @@
+/*
+ * Copyright (C) 2024 The REINCARNATION Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package reincarnation;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import kiss.Model;
+import reincarnation.util.ClassSnapshot;
+
+/**
+ * The shared member index of each class. The declared members are indexed by name and parameter
+ * types only once per class, and the members resolved through the type hierarchy are memoized, so
+ * the repeated lookups from all methods of all classes need neither the linear reflective search
+ * nor the construction of {@link NoSuchMethodException} and {@link NoSuchFieldException}. The index
+ * is built from the shared {@link ClassSnapshot} and is held by the class itself like {@link Cache},
+ * so it never pins the class and its loader.
+ */
+final class MemberIndex {
+
+    /** The index of each class. */
+    private static final ClassValue<MemberIndex> INDEX = new ClassValue<>() {
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        protected MemberIndex computeValue(Class<?> type) {
+            return new MemberIndex(type);
+        }
+    };
+
+    /** The hit counter of the resolved members. */
+    static final LongAdder HITS = new LongAdder();
+
+    /** The miss counter of the resolved members. */
+    static final LongAdder MISSES = new LongAdder();
+
+    /** The indexed class. */
+    private final Class type;
+
+    /** The declared methods by signature. */
+    private volatile Map<Signature, Method> methods;
+
+    /** The declared constructors by signature. */
+    private volatile Map<Signature, Constructor> constructors;
+
+    /** The declared fields by name. */
+    private volatile Map<String, Field> fields;
+
+    /** The public fields (including the inherited ones) by name. */
+    private volatile Map<String, Field> publicFields;
+
+    /** The methods which are resolved through the type hierarchy. */
+    private final Map<Signature, Method> resolvedMethods = new ConcurrentHashMap();
+
+    /** The fields which are resolved through the type hierarchy. */
+    private final Map<String, Field> resolvedFields = new ConcurrentHashMap();
+
+    /**
+     * @param type The indexed class.
+     */
+    private MemberIndex(Class type) {
+        this.type = type;
+    }
+
+    /**
+     * Find the method which is declared in the specified class like
+     * {@link Class#getDeclaredMethod(String, Class...)}.
+     *
+     * @param owner A method owner.
+     * @param name A method name.
+     * @param types The parameter types.
+     * @return The declared method or null.
+     */
+    static Method declaredMethod(Class owner, String name, Class[] types) {
+        return INDEX.get(owner).methods().get(new Signature(name, types));
+    }
+
+    /**
+     * Find the constructor which is declared in the specified class like
+     * {@link Class#getDeclaredConstructor(Class...)}.
+     *
+     * @param owner A constructor owner.
+     * @param types The parameter types.
+     * @return The declared constructor or null.
+     */
+    static Constructor declaredConstructor(Class owner, Class[] types) {
+        return INDEX.get(owner).constructors().get(new Signature("<init>", types));
+    }
+
+    /**
+     * Find the field which is declared in the specified class like
+     * {@link Class#getDeclaredField(String)}.
+     *
+     * @param owner A field owner.
+     * @param name A field name.
+     * @return The declared field or null.
+     */
+    static Field declaredField(Class owner, String name) {
+        return INDEX.get(owner).fields().get(name);
+    }
+
+    /**
+     * Resolve the method which is accessible from the specified class through its type hierarchy.
+     *
+     * @param owner A method owner.
+     * @param name A method name.
+     * @param types The parameter types.
+     * @return The resolved method or null.
+     */
+    static Method method(Class owner, String name, Class[] types) {
+        MemberIndex index = INDEX.get(owner);
+        Signature signature = new Signature(name, types);
+        Method method = index.resolvedMethods.get(signature);
+
+        if (method != null) {
+            HITS.increment();
+        } else {
+            MISSES.increment();
+            method = index.resolveMethod(signature);
+            if (method != null) index.resolvedMethods.put(new Signature(name, signature.types.clone()), method);
+        }
+        return method;
+    }
+
+    /**
+     * Resolve the field which is accessible from the specified class through its type hierarchy.
+     *
+     * @param owner A field owner.
+     * @param name A field name.
+     * @return The resolved field or null.
+     */
+    static Field field(Class owner, String name) {
+        MemberIndex index = INDEX.get(owner);
+        Field field = index.resolvedFields.get(name);
+
+        if (field != null) {
+            HITS.increment();
+        } else {
+            MISSES.increment();
+            field = index.resolveField(name);
+            if (field != null) index.resolvedFields.put(name, field);
+        }
+        return field;
+    }
+
+    /**
+     * Resolve the method in the type hierarchy.
+     *
+     * @param signature A method signature.
+     * @return The resolved method or null.
+     */
+    private Method resolveMethod(Signature signature) {
+        Set<Class> collections = Model.collectTypes(type);
+
+        // In Javac, when the interface method reference invokes the Object class method,
+        // it is compiled as a call to the interface, not to the object. However, this would fail to
+        // find methods of the Object class, so the Object class is added unconditionally.
+        collections.add(Object.class);
+
+        for (Class candidate : collections) {
+            Method method = INDEX.get(candidate).methods().get(signature);
+
+            if (method != null) {
+                int mod = method.getModifiers();
+                if (Modifier.isPrivate(mod)) {
+                    if (candidate != type) continue;
+                } else if (Modifier.isProtected(mod)) {
+                    if (!candidate.isAssignableFrom(type)) continue;
+                } else if (Modifier.isPublic(mod)) {
+                    // accept all
+                } else /* if package private */ {
+                    if (candidate.getPackage() != type.getPackage()) continue;
+                }
+                return method;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Resolve the field in the type hierarchy.
+     *
+     * @param name A field name.
+     * @return The resolved field or null.
+     */
+    private Field resolveField(String name) {
+        Class clazz = type;
+        Field field = null;
+        boolean acceptPrivate = true;
+
+        while (clazz != null && clazz != Object.class) {
+            Field declared = INDEX.get(clazz).fields().get(name);
+
+            if (declared == null) {
+                acceptPrivate = false;
+                clazz = clazz.getSuperclass();
+            } else {
+                field = declared;
+
+                if (!acceptPrivate && Modifier.isPrivate(field.getModifiers())) {
+                    clazz = clazz.getSuperclass();
+                } else {
+                    break;
+                }
+            }
+        }
+
+        if (field == null) {
+            field = publicFields().get(name);
+        }
+        return field;
+    }
+
+    /**
+     * Build the declared methods lazily.
+     *
+     * @return The declared methods.
+     */
+    private Map<Signature, Method> methods() {
+        Map<Signature, Method> map = methods;
+        if (map == null) {
+            map = new HashMap();
+            for (Method method : ClassSnapshot.of(type).methods()) {
+                Signature signature = new Signature(method.getName(), method.getParameterTypes());
+                Method registered = map.get(signature);
+
+                // Prefer the most specific return type like Class#getDeclaredMethod, the others
+                // are the bridge methods.
+                if (registered == null || registered.getReturnType().isAssignableFrom(method.getReturnType())) {
+                    map.put(signature, method);
+                }
+            }
+            methods = map;
+        }
+        return map;
+    }
+
+    /**
+     * Build the declared constructors lazily.
+     *
+     * @return The declared constructors.
+     */
+    private Map<Signature, Constructor> constructors() {
+        Map<Signature, Constructor> map = constructors;
+        if (map == null) {
+            map = new HashMap();
+            for (Constructor constructor : ClassSnapshot.of(type).constructors()) {
+                map.put(new Signature("<init>", constructor.getParameterTypes()), constructor);
+            }
+            constructors = map;
+        }
+        return map;
+    }
+
+    /**
+     * Build the declared fields lazily.
+     *
+     * @return The declared fields.
+     */
+    private Map<String, Field> fields() {
+        Map<String, Field> map = fields;
+        if (map == null) {
+            map = new HashMap();
+            for (Field field : ClassSnapshot.of(type).fields()) {
+                map.putIfAbsent(field.getName(), field);
+            }
+            fields = map;
+        }
+        return map;
+    }
+
+    /**
+     * Build the public fields lazily.
+     *
+     * @return The public fields.
+     */
+    private Map<String, Field> publicFields() {
+        Map<String, Field> map = publicFields;
+        if (map == null) {
+            map = new HashMap();
+            for (Field field : type.getFields()) {
+                map.putIfAbsent(field.getName(), field);
+            }
+            publicFields = map;
+        }
+        return map;
+    }
+
+    /**
+     * The member signature.
+     */
+    private static final class Signature {
+
+        /** The member name. */
+        private final String name;
+
+        /** The parameter types. */
+        private final Class[] types;
+
+        /** The cached hash. */
+        private final int hash;
+
+        /**
+         * @param name The member name.
+         * @param types The parameter types.
+         */
+        private Signature(String name, Class[] types) {
+            this.name = name;
+            this.types = types == null ? new Class[0] : types;
+            this.hash = name.hashCode() * 31 + Arrays.hashCode(this.types);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof Signature other && hash == other.hash && name.equals(other.name) && Arrays.equals(types, other.types);
+        }
+    }
+}
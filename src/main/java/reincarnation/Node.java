@@ -13,7 +13,6 @@ import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.Deque;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedList;
@@ -49,28 +48,34 @@ import reincarnation.util.Classes;
 public class Node implements Code<Operand>, Comparable<Node> {
 
     /** The representation of node termination. */
-    static final Node Termination = new Node("T");
+    static final Node Termination = new Node("T", -1);
 
     /** The identified label for this node. */
     public final String id;
 
+    /** The dense index in the method, it is assigned in the order of creation. */
+    final int index;
+
+    /** The dominator tree of the method, it is null when this node is not in any method. */
+    final DominatorTree tree;
+
     /** The actual operand stack. */
     final LinkedList<Operand> stack = new LinkedList<>();
 
     /** The node list. */
-    final CopyOnWriteArrayList<Node> incoming = new CopyOnWriteArrayList<>();
+    final Edges incoming;
 
     /** The node list. */
-    final CopyOnWriteArrayList<Node> outgoing = new CopyOnWriteArrayList<>();
+    final Edges outgoing;
 
     /** The node list. */
-    final CopyOnWriteArrayList<Node> dominators = new CopyOnWriteArrayList<>();
+    final Edges dominators = new Edges();
 
     /** The node list. */
-    final CopyOnWriteArrayList<Node> backedges = new CopyOnWriteArrayList<>();
+    final Edges backedges;
 
     /** The set of only nodes that jump directly from this node. */
-    final Set<Node> jumping = new HashSet();
+    final Edges jumping = new Edges();
 
     /** The try-catch-finally starting node list. */
     final List<TryCatchFinally> tries = new CopyOnWriteArrayList<>();
@@ -99,6 +104,12 @@ public class Node implements Code<Operand>, Comparable<Node> {
     /** The state. */
     private boolean whileFindingDominator;
 
+    /** The marking stamp for finding the lowest common dominator. */
+    private int stamp;
+
+    /** The marking stamp for computing the immediate dominator. */
+    private int intersecting;
+
     /** The flag whether this node has already written or not. */
     private boolean analyzed = false;
 
@@ -120,15 +131,34 @@ public class Node implements Code<Operand>, Comparable<Node> {
     /**
      * Create node with integral id.
      */
-    Node(int id) {
-        this(String.valueOf(id));
+    Node(int id, int index) {
+        this(id, index, null);
+    }
+
+    /**
+     * Create node with integral id.
+     */
+    Node(int id, int index, DominatorTree tree) {
+        this(String.valueOf(id), index, tree);
     }
 
     /**
      * Create node with textual id.
      */
-    Node(String id) {
+    Node(String id, int index) {
+        this(id, index, null);
+    }
+
+    /**
+     * Create node with textual id.
+     */
+    Node(String id, int index, DominatorTree tree) {
         this.id = id;
+        this.index = index;
+        this.tree = tree;
+        this.incoming = new Edges(tree);
+        this.outgoing = new Edges(tree);
+        this.backedges = new Edges(tree);
     }
 
     final boolean isValue() {
@@ -334,6 +364,38 @@ public class Node implements Code<Operand>, Comparable<Node> {
                 .takeWhile(n -> n != null && n.backedges.isEmpty());
     }
 
+    /**
+     * Collect the non-empty nodes by traversing outgoing nodes recursively in the same order as
+     * {@link #outgoingRecursively()}.
+     * 
+     * @param stopper The traversal stops at the node which matches this condition.
+     * @param limit The maximum number of collected nodes.
+     * @return The collected nodes.
+     */
+    final List<Node> collectOutgoing(Predicate<Node> stopper, int limit) {
+        List<Node> nodes = new ArrayList();
+
+        try (Traversal traversal = Traversal.open()) {
+            traversal.add(this);
+
+            while (nodes.size() < limit && traversal.hasNext()) {
+                Node node = traversal.next();
+                if (!node.backedges.isEmpty() || stopper.test(node)) {
+                    break;
+                }
+
+                if (node.isNotEmpty()) {
+                    nodes.add(node);
+                }
+
+                for (int i = 0; i < node.outgoing.size(); i++) {
+                    traversal.add(node.outgoing.get(i));
+                }
+            }
+        }
+        return nodes;
+    }
+
     /**
      * Traverse the first outgoing junction point.
      * 
@@ -352,7 +414,7 @@ public class Node implements Code<Operand>, Comparable<Node> {
         if (operand instanceof Operand) {
             stack.add((Operand) operand);
         } else if (operand instanceof Number) {
-            stack.add(new OperandNumber((Number) operand));
+            stack.add(OperandNumber.of((Number) operand));
         } else {
             stack.add(new OperandExpression(operand));
         }
@@ -434,7 +496,7 @@ public class Node implements Code<Operand>, Comparable<Node> {
         Operand operand = stack.remove(index);
 
         if (processDuplication && operand.duplicated) {
-            operand.duplicated = false;
+            operand.unduplicate();
 
             // Duplicate pointer
             stack.add(index, operand);
@@ -470,6 +532,30 @@ public class Node implements Code<Operand>, Comparable<Node> {
         return operand;
     }
 
+    /**
+     * Helper method to mark the operand which is stored in the specified index from the operands
+     * stack as duplicated. The shared constant is replaced by its private copy at first.
+     * 
+     * @param index An index that you want to mark from the operands stack.
+     * @return A marked operand.
+     */
+    final Operand markDuplicated(int index) {
+        // Calculate index
+        index = stack.size() - 1 - index;
+
+        if (index < 0) {
+            // Mark operand in the previous node if we can.
+            return previous == null || incoming.isEmpty() ? null : previous.markDuplicated(-index - 1);
+        }
+
+        Operand operand = stack.get(index).unshare();
+        operand.duplicated = true;
+        stack.set(index, operand);
+
+        // API definition
+        return operand;
+    }
+
     /**
      * <p>
      * Helper method to set the operand at the specified index from the operands stack.
@@ -494,7 +580,7 @@ public class Node implements Code<Operand>, Comparable<Node> {
         operand = stack.set(index, operand);
 
         if (operand.duplicated) {
-            operand.duplicated = false;
+            operand.unduplicate();
 
             // Duplicate pointer
             stack.add(index, operand);
@@ -584,34 +670,13 @@ public class Node implements Code<Operand>, Comparable<Node> {
         return this;
     }
 
-    /**
-     * Helper method to search all backedge nodes using depth-first search.
-     */
-    final void searchBackEdge() {
-        searchBackEdge(this, new ArrayDeque());
-    }
-
     /**
      * Helper method to search all backedge nodes using depth-first search.
      * 
-     * @param node A target node to check.
-     * @param recorder All passed nodes.
+     * @return true if the graph from this node is reducible.
      */
-    private static void searchBackEdge(Node node, Deque<Node> recorder) {
-        // Store the current processing node.
-        recorder.add(node);
-
-        // Step into outgoing nodes.
-        for (Node out : node.outgoing) {
-            if (recorder.contains(out)) {
-                out.backedges.addIfAbsent(node);
-            } else {
-                searchBackEdge(out, recorder);
-            }
-        }
-
-        // Remove the current processing node.
-        recorder.pollLast();
+    final boolean searchBackEdge() {
+        return BackedgeSearch.search(this);
     }
 
     /**
@@ -621,6 +686,12 @@ public class Node implements Code<Operand>, Comparable<Node> {
      * @return A result.
      */
     final boolean hasDominator(Node dominator) {
+        if (tree != null) {
+            int result = tree.dominates(this, dominator);
+            if (result != DominatorTree.UNKNOWN) {
+                return result == 1;
+            }
+        }
         return hasDominator(dominator, Collections.EMPTY_SET);
     }
 
@@ -641,18 +712,59 @@ public class Node implements Code<Operand>, Comparable<Node> {
      * @return A result.
      */
     final boolean hasDominator(Node dominator, Predicate<Node> stoppers) {
+        // The dominator chain may be cyclic while analyzing, detect it by Brent's algorithm instead
+        // of recording all passed nodes.
         Node current = this;
-        Set<Node> recorder = new HashSet<>();
+        Node checkpoint = this;
+        int steps = 0;
+        int power = 1;
 
-        while (current != null && recorder.add(current) && !stoppers.test(current)) {
-            if (current == dominator) {
-                return true;
+        try {
+            while (current != null && !stoppers.test(current)) {
+                if (current == dominator) {
+                    return true;
+                }
+                current = current.getDominator();
+
+                if (current == checkpoint) {
+                    break; // cyclic
+                }
+
+                if (++steps == power) {
+                    checkpoint = current;
+                    power <<= 1;
+                }
             }
-            current = current.getDominator();
+
+            // Not Found
+            return false;
+        } finally {
+            if (tree != null) tree.walked(steps);
         }
+    }
 
-        // Not Found
-        return false;
+    /**
+     * Check whether this node is the root of dominator tree or not.
+     * 
+     * @return A result.
+     */
+    final boolean isDominatorRoot() {
+        for (int i = 0; i < incoming.size(); i++) {
+            if (!backedges.contains(incoming.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Assign the immediate dominator of this node.
+     * 
+     * @param dominator A dominator node or null to compute it again.
+     */
+    final void setDominator(Node dominator) {
+        this.dominator = dominator;
+        if (tree != null) tree.invalidate();
     }
 
     /**
@@ -668,7 +780,7 @@ public class Node implements Code<Operand>, Comparable<Node> {
             // We must search a immediate dominator.
             //
             // At first, we can ignore the older incoming nodes.
-            List<Node> candidates = new CopyOnWriteArrayList<Node>(incoming);
+            List<Node> candidates = new Edges(incoming);
 
             // compute backedges
             for (Node node : candidates) {
@@ -689,18 +801,13 @@ public class Node implements Code<Operand>, Comparable<Node> {
                 break;
 
             default: // multiple incoming nodes
+                // The immediate dominator is the nearest dominator of the first incoming node which
+                // also dominates all other incoming nodes.
                 Node candidate = candidates.get(0);
-
-                search: while (candidate != null) {
-                    for (int i = 1; i < size; i++) {
-                        if (!candidates.get(i).hasDominator(candidate)) {
-                            candidate = candidate.getDominator();
-                            continue search;
-                        }
-                    }
-                    dominator = candidate;
-                    break;
+                for (int i = 1; candidate != null && i < size; i++) {
+                    candidate = candidate.intersect(candidates.get(i));
                 }
+                dominator = candidate;
                 break;
             }
             whileFindingDominator = false;
@@ -710,6 +817,86 @@ public class Node implements Code<Operand>, Comparable<Node> {
         return dominator;
     }
 
+    /**
+     * Find the nearest dominator of this node (this node is included) which also dominates the
+     * specified node (the specified node is included). Each dominator chain is walked only once by
+     * marking, instead of checking the specified node at each dominator of this node.
+     * 
+     * @param other A target node.
+     * @return A found dominator or null.
+     */
+    private Node intersect(Node other) {
+        if (tree == null) {
+            Node candidate = this;
+            while (candidate != null && !other.hasDominator(candidate)) {
+                candidate = candidate.getDominator();
+            }
+            return candidate;
+        }
+
+        // Compute both dominator chains at first, the lazy computation may mark other nodes.
+        int steps = resolve(this) + resolve(other);
+
+        int mark = tree.stamp();
+        for (Node dom = other; dom != null && !dom.isIntersecting(tree, mark); dom = dom.dominator) {
+            dom.intersecting = mark;
+        }
+
+        // The dominator chain may be cyclic while analyzing, detect it by Brent's algorithm.
+        Node candidate = this;
+        Node checkpoint = this;
+        int power = 1;
+        for (int count = 0; candidate != null && !candidate.isIntersecting(tree, mark);) {
+            candidate = candidate.dominator;
+
+            if (candidate == checkpoint) {
+                candidate = null; // cyclic
+            } else if (++count == power) {
+                checkpoint = candidate;
+                power <<= 1;
+            }
+        }
+        tree.walked(steps);
+        return candidate;
+    }
+
+    /**
+     * Compute all dominators of the specified node.
+     * 
+     * @param node A target node.
+     * @return The number of walking steps.
+     */
+    private static int resolve(Node node) {
+        Node checkpoint = node;
+        int steps = 0;
+        int power = 1;
+
+        while (node != null) {
+            node = node.getDominator();
+
+            if (node == checkpoint) {
+                break; // cyclic
+            }
+
+            if (++steps == power) {
+                checkpoint = node;
+                power <<= 1;
+            }
+        }
+        return steps;
+    }
+
+    /**
+     * Check whether this node is marked by the specified stamp for the intersection or not.
+     * 
+     * @param tree A dominator tree which issues the stamp.
+     * @param mark A marking stamp.
+     * @return A result.
+     */
+    private boolean isIntersecting(DominatorTree tree, int mark) {
+        return intersecting == mark && this.tree == tree;
+    }
+
     /**
      * Get all dominator nodes for this node. The first element is the nearest parent dominator
      * node.
@@ -731,15 +918,49 @@ public class Node implements Code<Operand>, Comparable<Node> {
      * @return
      */
     final Node getLowestCommonDominator(Node target) {
-        List<Node> doms = getDominators();
-        doms.add(0, this);
+        if (tree == null) {
+            List<Node> doms = getDominators();
+            doms.add(0, this);
 
-        while (target != null && !doms.contains(target)) {
+            while (target != null && !doms.contains(target)) {
+                target = target.getDominator();
+            }
+            return target;
+        }
+
+        Node lowest = tree.lowest(this, target);
+        if (lowest != DominatorTree.UNKNOWN_NODE) {
+            return lowest;
+        }
+
+        // mark this node and all dominators
+        int mark = tree.stamp();
+        Node dom = this;
+        while (dom != null && !dom.isMarked(tree, mark)) {
+            dom.stamp = mark;
+            dom = dom.getDominator();
+        }
+
+        int steps = 0;
+        while (target != null && !target.isMarked(tree, mark)) {
             target = target.getDominator();
+            steps++;
         }
+        tree.walked(steps);
         return target;
     }
 
+    /**
+     * Check whether this node is marked by the specified stamp or not.
+     * 
+     * @param tree A dominator tree which issues the stamp.
+     * @param mark A marking stamp.
+     * @return A result.
+     */
+    private boolean isMarked(DominatorTree tree, int mark) {
+        return stamp == mark && this.tree == tree;
+    }
+
     /**
      * Find the lowest common dominator node with the specified nodes.
      * 
@@ -770,14 +991,32 @@ public class Node implements Code<Operand>, Comparable<Node> {
      */
     static Variable<Node> getLowestCommondDestination(Collection<Node> targets) {
         Node dominator = getLowestCommonDominator(targets);
-        Set<Node> excludes = new HashSet();
-        excludes.add(dominator);
-        excludes.addAll(targets);
 
         for (Node target : targets) {
-            for (Node node : target.outgoingRecursively(excludes::contains).toList()) {
-                if (node.canBeReachedFromAll(targets)) {
-                    return Variable.of(node);
+            // same as outgoingRecursively(excludes)
+            try (Traversal traversal = Traversal.open()) {
+                if (dominator != null) traversal.visit(dominator);
+                for (Node node : targets) {
+                    traversal.visit(node);
+                }
+                traversal.add(target);
+
+                while (traversal.hasNext()) {
+                    Node node = traversal.next();
+                    if (!node.backedges.isEmpty()) {
+                        break;
+                    }
+
+                    if (node.canBeReachedFromAll(targets)) {
+                        return Variable.of(node);
+                    }
+
+                    for (int i = 0; i < node.outgoing.size(); i++) {
+                        Node out = node.outgoing.get(i);
+                        if (traversal.visit(out)) {
+                            traversal.add(out);
+                        }
+                    }
                 }
             }
         }
@@ -832,35 +1071,54 @@ public class Node implements Code<Operand>, Comparable<Node> {
      * @return A result.
      */
     final boolean canReachTo(Node node, Collection<Node> exclusionNodes, boolean acceptThrow) {
-        Set<Node> tails = new HashSet();
+        // The indexed reachability prunes the node which never reaches to the target.
+        Reachability index = null;
+
+        if (tree != null && !acceptThrow) {
+            // The excluded nodes only reduce the reachable nodes, and they affect the result only
+            // when they are on the path to the target.
+            int reach = tree.reachability.reaches(this, node);
+            if (reach == 0) {
+                return false;
+            } else if (reach == 1) {
+                if (exclusionNodes.isEmpty() || tree.reachability.passes(this, node, exclusionNodes) == 0) {
+                    return true;
+                }
+                index = tree.reachability;
+            }
+        }
 
-        Set<Node> recorder = new HashSet();
-        recorder.add(this);
+        // whether all tails are throw or not
+        boolean throwable = true;
+        int steps = 0;
 
-        Deque<Node> queue = new ArrayDeque();
-        queue.add(this);
+        try (Traversal traversal = Traversal.open()) {
+            traversal.visit(this);
+            traversal.add(this);
 
-        while (!queue.isEmpty()) {
-            for (Node out : queue.pollFirst().outgoing) {
-                if (out == node) {
-                    return true;
-                }
+            while (traversal.hasNext()) {
+                Edges outgoing = traversal.next().outgoing;
+                steps++;
 
-                if (!exclusionNodes.contains(out) && recorder.add(out)) {
-                    queue.addLast(out);
+                for (int i = 0; i < outgoing.size(); i++) {
+                    Node out = outgoing.get(i);
+                    if (out == node) {
+                        return true;
+                    }
+
+                    if (!exclusionNodes.contains(out) && (index == null || index.reaches(out, node) != 0) && traversal.visit(out)) {
+                        traversal.add(out);
 
-                    if (out.outgoing.isEmpty()) {
-                        tails.add(out);
+                        if (out.outgoing.isEmpty() && !out.isThrow()) {
+                            throwable = false;
+                        }
                     }
                 }
             }
+        } finally {
+            if (tree != null) tree.reachability.walked(steps);
         }
-
-        if (acceptThrow) {
-            return tails.stream().allMatch(Node::isThrow);
-        }
-
-        return false;
+        return acceptThrow && throwable;
     }
 
     /**
@@ -1168,6 +1426,22 @@ public class Node implements Code<Operand>, Comparable<Node> {
         return I.signal(stack);
     }
 
+    /**
+     * Mark all top level operands as statement. The shared constant is replaced by its private
+     * copy at first, because the mark is the state of each operand.
+     */
+    public final void markOperandsAsStatement() {
+        stack.replaceAll(Operand::unshare);
+
+        for (Operand operand : stack) {
+            // top level opereands MUST NOT be enclosed.
+            operand.disclose();
+
+            // top level operands MUST be statement.
+            operand.markAsStatement();
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -1183,6 +1457,8 @@ public class Node implements Code<Operand>, Comparable<Node> {
     }
 
     public Structure analyze() {
+        Budget.checkpoint();
+
         if (!analyzed) {
             // =============================================================
             // Try-Catch-Finally Block
@@ -1710,21 +1986,29 @@ public class Node implements Code<Operand>, Comparable<Node> {
             //
             // start from base node
             if (base != null) {
-                Deque<Node> candidates = new ArrayDeque<Node>(base.outgoing);
+                try (Traversal candidates = Traversal.open()) {
+                    // record accessed nodes to avoid second access
+                    candidates.visit(entrance);
+                    for (int i = 0; i < entrance.incoming.size(); i++) {
+                        candidates.visit(entrance.incoming.get(i));
+                    }
 
-                // record accessed nodes to avoid second access
-                Set<Node> recorder = new HashSet<Node>(entrance.incoming);
-                recorder.add(entrance);
+                    for (int i = 0; i < base.outgoing.size(); i++) {
+                        candidates.add(base.outgoing.get(i));
+                    }
 
-                while (!candidates.isEmpty()) {
-                    Node node = candidates.pollFirst();
+                    while (candidates.hasNext()) {
+                        Node node = candidates.next();
 
-                    if (recorder.add(node)) {
-                        if (!node.hasDominator(base)) {
-                            exit = node;
-                            break;
-                        } else {
-                            candidates.addAll(node.outgoing);
+                        if (candidates.visit(node)) {
+                            if (!node.hasDominator(base)) {
+                                exit = node;
+                                break;
+                            } else {
+                                for (int i = 0; i < node.outgoing.size(); i++) {
+                                    candidates.add(node.outgoing.get(i));
+                                }
+                            }
                         }
                     }
                 }
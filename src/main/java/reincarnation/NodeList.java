@@ -0,0 +1,414 @@
+/*
+ * Copyright (C) 2024 The REINCARNATION Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package reincarnation;
+
+import java.util.AbstractSequentialList;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+
+/**
+ * The ordered node store of the method. The links between nodes are held in the arrays indexed by
+ * {@link Node#index}, so the membership test, the removal and the insertion next to the known node
+ * are constant-time instead of the linear scan of {@link java.util.LinkedList}. The iteration is
+ * fail-fast like {@link java.util.LinkedList}.
+ */
+final class NodeList extends AbstractSequentialList<Node> {
+
+    /** The empty array. */
+    private static final Node[] EMPTY = new Node[0];
+
+    /** The member nodes by index. */
+    private Node[] members = EMPTY;
+
+    /** The preceding node of each member by index. */
+    private Node[] befores = EMPTY;
+
+    /** The following node of each member by index. */
+    private Node[] afters = EMPTY;
+
+    /** The first node. */
+    private Node first;
+
+    /** The last node. */
+    private Node last;
+
+    /** The number of nodes. */
+    private int size;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean contains(Object node) {
+        return node instanceof Node n && isMember(n);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean add(Node node) {
+        insert(node, null);
+        return true;
+    }
+
+    /**
+     * Insert the node just before the specified member node.
+     *
+     * @param node A node to add.
+     * @param base A member node.
+     */
+    void addBefore(Node node, Node base) {
+        insert(node, member(base));
+    }
+
+    /**
+     * Insert the node just after the specified member node.
+     *
+     * @param node A node to add.
+     * @param base A member node.
+     */
+    void addAfter(Node node, Node base) {
+        insert(node, afters[member(base).index]);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean remove(Object node) {
+        if (node instanceof Node n && isMember(n)) {
+            unlink(n);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void clear() {
+        Arrays.fill(members, null);
+        Arrays.fill(befores, null);
+        Arrays.fill(afters, null);
+        first = last = null;
+        size = 0;
+        modCount++;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Node getFirst() {
+        if (first == null) {
+            throw new NoSuchElementException();
+        }
+        return first;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Node getLast() {
+        if (last == null) {
+            throw new NoSuchElementException();
+        }
+        return last;
+    }
+
+    /**
+     * Retrieve the last node.
+     *
+     * @return The last node or null.
+     */
+    Node peekLast() {
+        return last;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ListIterator<Node> listIterator(int index) {
+        if (index < 0 || size < index) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        return new Cursor(index);
+    }
+
+    /**
+     * Check whether the node is in this list.
+     *
+     * @param node A target node.
+     * @return A result.
+     */
+    private boolean isMember(Node node) {
+        return 0 <= node.index && node.index < members.length && members[node.index] == node;
+    }
+
+    /**
+     * Ensure the member node.
+     *
+     * @param node A target node.
+     * @return The member node.
+     */
+    private Node member(Node node) {
+        if (node == null || !isMember(node)) {
+            throw new NoSuchElementException("The node [" + node + "] is not in this list.");
+        }
+        return node;
+    }
+
+    /**
+     * Link the node before the specified member node.
+     *
+     * @param node A node to add.
+     * @param base A member node, null means the tail.
+     */
+    private void insert(Node node, Node base) {
+        if (node.index < 0) {
+            throw new IllegalArgumentException("The node [" + node + "] has no index.");
+        }
+
+        if (isMember(node)) {
+            throw new IllegalArgumentException("The node [" + node + "] is already in this list.");
+        }
+
+        if (members.length <= node.index) {
+            int capacity = Math.max(node.index + 1, Math.max(16, members.length * 2));
+            members = Arrays.copyOf(members, capacity);
+            befores = Arrays.copyOf(befores, capacity);
+            afters = Arrays.copyOf(afters, capacity);
+        }
+
+        Node before = base == null ? last : befores[base.index];
+        members[node.index] = node;
+        befores[node.index] = before;
+        afters[node.index] = base;
+
+        if (before == null) {
+            first = node;
+        } else {
+            afters[before.index] = node;
+        }
+
+        if (base == null) {
+            last = node;
+        } else {
+            befores[base.index] = node;
+        }
+        size++;
+        modCount++;
+    }
+
+    /**
+     * Unlink the member node.
+     *
+     * @param node A member node.
+     */
+    private void unlink(Node node) {
+        Node before = befores[node.index];
+        Node after = afters[node.index];
+
+        if (before == null) {
+            first = after;
+        } else {
+            afters[before.index] = after;
+        }
+
+        if (after == null) {
+            last = before;
+        } else {
+            befores[after.index] = before;
+        }
+
+        members[node.index] = null;
+        befores[node.index] = null;
+        afters[node.index] = null;
+        size--;
+        modCount++;
+    }
+
+    /**
+     * The bidirectional cursor on the links.
+     */
+    private class Cursor implements ListIterator<Node> {
+
+        /** The node which will be returned by {@link #next()}. */
+        private Node next;
+
+        /** The index of next node. */
+        private int nextIndex;
+
+        /** The last returned node. */
+        private Node returned;
+
+        /** The expected modification count. */
+        private int expected = modCount;
+
+        /**
+         * @param index The starting position.
+         */
+        private Cursor(int index) {
+            if (index == size) {
+                next = null;
+            } else if (index < size / 2) {
+                next = first;
+                for (int i = 0; i < index; i++) {
+                    next = afters[next.index];
+                }
+            } else {
+                next = last;
+                for (int i = size - 1; index < i; i--) {
+                    next = befores[next.index];
+                }
+            }
+            nextIndex = index;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean hasNext() {
+            return nextIndex < size;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public Node next() {
+            check();
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            returned = next;
+            next = afters[next.index];
+            nextIndex++;
+            return returned;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean hasPrevious() {
+            return 0 < nextIndex;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public Node previous() {
+            check();
+            if (!hasPrevious()) {
+                throw new NoSuchElementException();
+            }
+
+            next = returned = next == null ? last : befores[next.index];
+            nextIndex--;
+            return returned;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int nextIndex() {
+            return nextIndex;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int previousIndex() {
+            return nextIndex - 1;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void remove() {
+            check();
+            if (returned == null) {
+                throw new IllegalStateException();
+            }
+
+            if (returned == next) {
+                next = afters[next.index];
+            } else {
+                nextIndex--;
+            }
+            unlink(returned);
+            returned = null;
+            expected = modCount;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void set(Node node) {
+            check();
+            if (returned == null) {
+                throw new IllegalStateException();
+            }
+
+            if (node != returned) {
+                Node base = afters[returned.index];
+                boolean current = returned == next;
+                unlink(returned);
+                insert(node, base);
+                if (current) next = node;
+                returned = node;
+                expected = modCount;
+            }
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void add(Node node) {
+            check();
+            insert(node, next);
+            nextIndex++;
+            returned = null;
+            expected = modCount;
+        }
+
+        /**
+         * Check the concurrent modification.
+         */
+        private void check() {
+            if (modCount != expected) {
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
+}
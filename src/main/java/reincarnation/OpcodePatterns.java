@@ -0,0 +1,203 @@
+/*
+ * Copyright (C) 2024 The REINCARNATION Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package reincarnation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntFunction;
+
+/**
+ * The set of instruction idioms which are compiled into the single bit-parallel automaton
+ * (Shift-And). All patterns are concatenated into one bit vector and each bit represents that the
+ * recent instructions match the pattern up to its position. The automaton is advanced once per
+ * recorded instruction by a few word operations, so the idiom test is a bit test without any
+ * allocation or rescanning of the recent instructions.
+ */
+final class OpcodePatterns {
+
+    /** The expansion from the pattern element to the matchable opcodes. */
+    private final IntFunction<int[]> expander;
+
+    /** The defined patterns. */
+    private final List<int[]> patterns = new ArrayList();
+
+    /** The total length of patterns. */
+    private int length;
+
+    /** The number of words of the state. */
+    private int words;
+
+    /** The bits of the first position of each pattern. */
+    private long[] starts;
+
+    /** The matchable positions by opcode, each opcode has the words of bits. */
+    private long[] transitions;
+
+    /**
+     * @param expander The expansion from the pattern element (opcode or pseudo opcode) to the
+     *            matchable opcodes.
+     */
+    OpcodePatterns(IntFunction<int[]> expander) {
+        this.expander = expander;
+    }
+
+    /**
+     * Define the pattern of the recent instructions.
+     *
+     * @param opcodes A sequence of opcodes to match, the last one is the latest instruction.
+     * @return The defined pattern.
+     */
+    synchronized Pattern define(int... opcodes) {
+        if (transitions != null) {
+            throw new IllegalStateException("The patterns are already compiled.");
+        }
+
+        if (opcodes.length == 0) {
+            throw new IllegalArgumentException("The pattern is empty.");
+        }
+
+        patterns.add(opcodes.clone());
+        length += opcodes.length;
+        return new Pattern(this, length - 1);
+    }
+
+    /**
+     * Create the new matcher, the patterns are compiled at the first call.
+     *
+     * @return A new matcher.
+     */
+    Matcher matcher() {
+        compile();
+        return new Matcher(this);
+    }
+
+    /**
+     * Compile all defined patterns into the transition table.
+     */
+    private synchronized void compile() {
+        if (transitions != null) {
+            return;
+        }
+
+        int size = 0;
+        List<int[][]> expanded = new ArrayList();
+        for (int[] pattern : patterns) {
+            int[][] elements = new int[pattern.length][];
+            for (int i = 0; i < pattern.length; i++) {
+                elements[i] = expander.apply(pattern[i]);
+                for (int opcode : elements[i]) {
+                    size = Math.max(size, opcode + 1);
+                }
+            }
+            expanded.add(elements);
+        }
+
+        words = (length + 63) >>> 6;
+        long[] starts = new long[words];
+        long[] transitions = new long[size * words];
+
+        int position = 0;
+        for (int[][] elements : expanded) {
+            starts[position >>> 6] |= 1L << position;
+
+            for (int[] opcodes : elements) {
+                for (int opcode : opcodes) {
+                    transitions[opcode * words + (position >>> 6)] |= 1L << position;
+                }
+                position++;
+            }
+        }
+
+        this.starts = starts;
+        this.transitions = transitions;
+    }
+
+    /**
+     * The compiled pattern.
+     */
+    static final class Pattern {
+
+        /** The owner set. */
+        private final OpcodePatterns patterns;
+
+        /** The word position of the last element. */
+        private final int word;
+
+        /** The bit of the last element. */
+        private final long bit;
+
+        /**
+         * @param patterns The owner set.
+         * @param end The bit position of the last element.
+         */
+        private Pattern(OpcodePatterns patterns, int end) {
+            this.patterns = patterns;
+            this.word = end >>> 6;
+            this.bit = 1L << end;
+        }
+    }
+
+    /**
+     * The matching state of the single instruction stream.
+     */
+    static final class Matcher {
+
+        /** The owner set. */
+        private final OpcodePatterns patterns;
+
+        /** The current state. */
+        private final long[] state;
+
+        /**
+         * @param patterns The owner set.
+         */
+        private Matcher(OpcodePatterns patterns) {
+            this.patterns = patterns;
+            this.state = new long[patterns.words];
+        }
+
+        /**
+         * Advance the state by the latest instruction.
+         *
+         * @param opcode The latest opcode.
+         */
+        void advance(int opcode) {
+            int words = state.length;
+            long[] starts = patterns.starts;
+            long[] transitions = patterns.transitions;
+
+            if (opcode < 0 || transitions.length <= opcode * words) {
+                // no pattern contains this opcode
+                for (int i = 0; i < words; i++) {
+                    state[i] = 0;
+                }
+            } else {
+                int offset = opcode * words;
+                for (int i = words - 1; 0 <= i; i--) {
+                    long carry = i == 0 ? 0 : state[i - 1] >>> 63;
+                    state[i] = (state[i] << 1 | carry | starts[i]) & transitions[offset + i];
+                }
+            }
+        }
+
+        /**
+         * Test whether the recent instructions match the specified pattern or not.
+         *
+         * @param pattern A pattern to test.
+         * @return A result.
+         */
+        boolean matches(Pattern pattern) {
+            if (pattern.patterns != patterns) {
+                throw new IllegalArgumentException("The pattern is defined in other set.");
+            }
+            return (state[pattern.word] & pattern.bit) != 0;
+        }
+    }
+}
@@ -10,6 +10,8 @@
 package reincarnation;
 
 import java.lang.reflect.Type;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
@@ -26,12 +28,21 @@ public abstract class Operand implements Code<Operand> {
     /** The reusable operand for null literal. */
     public static final Operand Null = new OperandExpression(null).fix(Object.class);
 
+    /** The capacity of the interned constants of each kind. */
+    static final int INTERN_LIMIT = 4096;
+
     /** The infered type. */
     protected Variable<Type> type = Variable.of(Object.class);
 
+    /** The operands which follow the infered type of this operand. */
+    private List<Operand> followers;
+
     /** The flag for operand duplication. */
     protected boolean duplicated = false;
 
+    /** The flag for the interned constant which is shared across methods and classes. */
+    private boolean shared;
+
     /** The comment. */
     private String comment;
 
@@ -74,12 +85,112 @@ public abstract class Operand implements Code<Operand> {
      * @return Chainable API.
      */
     protected final Operand fix(Type type) {
-        this.type.set(type);
+        if (shared) {
+            if (isFixed()) {
+                return this;
+            }
+
+            // copy on fix, the shared constant itself is never modified
+            Operand fixed = fixed(type);
+            return fixed != null ? fixed : unshare().fix(type);
+        }
+
+        infer(type);
         this.type.fix();
 
         return this;
     }
 
+    /**
+     * Find the shared constant which is fixed as the specified type.
+     * 
+     * @param type A type to fix.
+     * @return The shared constant or null.
+     */
+    Operand fixed(Type type) {
+        return null;
+    }
+
+    /**
+     * Create the private copy of this constant.
+     * 
+     * @return A new operand.
+     */
+    Operand copy() {
+        throw new UnsupportedOperationException(getClass().getSimpleName() + " is not copyable.");
+    }
+
+    /**
+     * Mark this constant as shared. The shared constant is immutable, the type inference, the
+     * duplication mark and the statement mark are applied to its private copy, the other mutators
+     * assert that they are never called on it.
+     * 
+     * @return Chainable API.
+     */
+    final <O extends Operand> O share() {
+        shared = true;
+        return (O) this;
+    }
+
+    /**
+     * Check whether this operand is the shared constant or not.
+     * 
+     * @return A result.
+     */
+    final boolean isShared() {
+        return shared;
+    }
+
+    /**
+     * Get the private operand which can be modified safely.
+     * 
+     * @return This operand or the private copy of the shared constant.
+     */
+    final Operand unshare() {
+        if (!shared) {
+            return this;
+        }
+
+        Operand copy = copy();
+        if (isFixed()) {
+            copy.fix(type.v);
+        }
+        return copy;
+    }
+
+    /**
+     * Infer as the specified type and propagate it to all following operands. The propagation
+     * stops at the fixed operand and the operand which already has the same type, so each operand
+     * is updated at most once per inference and the cost is linear in the number of bindings.
+     * 
+     * @param type A type to infer.
+     */
+    final void infer(Type type) {
+        if (update(type) && followers != null && !Object.class.equals(type)) {
+            ArrayDeque<Operand> queue = new ArrayDeque(followers);
+            while (!queue.isEmpty()) {
+                Operand follower = queue.poll();
+                if (follower.update(type) && follower.followers != null) {
+                    queue.addAll(follower.followers);
+                }
+            }
+        }
+    }
+
+    /**
+     * Update the infered type of this operand only.
+     * 
+     * @param type A type to infer.
+     * @return Whether the type is changed or not.
+     */
+    private boolean update(Type type) {
+        if (this.type.isFixed() || Objects.equals(this.type.v, type)) {
+            return false;
+        }
+        this.type.set(type);
+        return true;
+    }
+
     /**
      * Check type inference state.
      * 
@@ -90,7 +201,8 @@ public abstract class Operand implements Code<Operand> {
     }
 
     /**
-     * Bind infered type.
+     * Bind infered type. The type which is infered for this operand flows into the other operand
+     * through the plain follower list instead of the reactive subscription.
      * 
      * @param other
      */
@@ -106,7 +218,14 @@ public abstract class Operand implements Code<Operand> {
                 if (other.isFixed()) {
                     fix(other.type.v);
                 } else {
-                    type.observing().skip(Object.class).to(other.type::set);
+                    if (followers == null) {
+                        followers = new ArrayList(2);
+                    }
+                    followers.add(other);
+
+                    if (!Object.class.equals(type.v)) {
+                        other.infer(type.v);
+                    }
                 }
             }
         }
@@ -158,6 +277,7 @@ public abstract class Operand implements Code<Operand> {
      * @return Chainable API.
      */
     public final Operand encolose() {
+        assert !shared : "The shared constant must not be enclosed.";
         enclosed = true;
         return this;
     }
@@ -168,7 +288,10 @@ public abstract class Operand implements Code<Operand> {
      * @return Chainable API.
      */
     public final Operand disclose() {
-        enclosed = false;
+        // The shared constant is never enclosed, so it is never written.
+        if (enclosed) {
+            enclosed = false;
+        }
         return this;
     }
 
@@ -194,6 +317,7 @@ public abstract class Operand implements Code<Operand> {
      * Mark this {@link Operand} as statement.
      */
     public final void markAsStatement() {
+        assert !shared : "The shared constant must not be statement.";
         statement = true;
     }
 
@@ -201,7 +325,10 @@ public abstract class Operand implements Code<Operand> {
      * Mark this {@link Operand} as expression.
      */
     public final void markAsExpression() {
-        statement = false;
+        // The shared constant is never statement, so it is never written.
+        if (statement) {
+            statement = false;
+        }
     }
 
     public <T extends Operand> Variable<T> as(Class<T> type) {
@@ -237,10 +364,21 @@ public abstract class Operand implements Code<Operand> {
      * @return
      */
     Operand comment(String comment) {
+        assert !shared : "The shared constant must not be commented.";
         this.comment = comment;
         return this;
     }
 
+    /**
+     * Mark this {@link Operand} as consumed duplication.
+     */
+    final void unduplicate() {
+        // The shared constant is never duplicated, so it is never written.
+        if (duplicated) {
+            duplicated = false;
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
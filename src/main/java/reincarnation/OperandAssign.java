@@ -40,10 +40,10 @@ class OperandAssign extends Operand {
     OperandAssign(Operand left, AssignOperator operator, Operand right) {
         this.left = left;
         // Can the right side be unconditionally disclosed ?
-        this.right = right.disclose();
+        this.right = right.unshare().disclose();
         this.operator = operator;
 
-        bindTo(left.bindTo(right));
+        bindTo(left.bindTo(this.right));
     }
 
     /**
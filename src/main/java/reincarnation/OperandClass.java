@@ -9,15 +9,33 @@
  */
 package reincarnation;
 
+import java.lang.reflect.Type;
 import java.util.Objects;
 
 import reincarnation.coder.Coder;
 
 class OperandClass extends Operand {
 
+    /** The interned constants. */
+    private static final ClassValue<OperandClass> INTERNED = new ClassValue<>() {
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        protected OperandClass computeValue(Class<?> type) {
+            OperandClass shared = new OperandClass(type).share();
+            shared.fixed = new OperandClass(type).fix().share();
+            return shared;
+        }
+    };
+
     /** The actual value. */
     private final Class value;
 
+    /** The shared constant which is fixed as {@link Class}. */
+    private OperandClass fixed;
+
     /**
      * Class literal like <code>String.class</code>.
      * 
@@ -28,6 +46,32 @@ class OperandClass extends Operand {
         type.set(Class.class);
     }
 
+    /**
+     * Get the shared class literal of the specified class.
+     * 
+     * @param value A target class.
+     * @return The shared constant.
+     */
+    static OperandClass of(Class value) {
+        return INTERNED.get(value);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    Operand fixed(Type type) {
+        return type == Class.class ? fixed : null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    Operand copy() {
+        return new OperandClass(value);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -86,12 +86,12 @@ class OperandCondition extends Operand {
      * @param transition
      */
     OperandCondition(Operand left, int operator, Operand right, Node transition) {
-        this.left = left;
-        this.right = right;
+        this.left = left.unshare();
+        this.right = right.unshare();
         this.operator = operator;
         this.then = transition;
 
-        left.bindTo(right);
+        this.left.bindTo(this.right);
     }
 
     /**
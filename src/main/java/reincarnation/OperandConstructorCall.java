@@ -10,6 +10,7 @@
 package reincarnation;
 
 import java.lang.reflect.Constructor;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
 import java.util.stream.Collectors;
@@ -39,12 +40,15 @@ public class OperandConstructorCall extends Operand {
     OperandConstructorCall(String kind, Class ownerType, Class[] parameterTypes, List<Operand> parameters) {
         try {
             this.kind = kind;
-            this.constructor = ownerType.getDeclaredConstructor(parameterTypes);
+            this.constructor = MemberIndex.declaredConstructor(ownerType, parameterTypes);
+            if (constructor == null) {
+                throw new NoSuchMethodException(ownerType.getName() + ".<init>" + Arrays.toString(parameterTypes));
+            }
             this.params = parameters;
 
             fix(ownerType);
             for (int i = 0; i < parameterTypes.length; i++) {
-                parameters.get(i).fix(parameterTypes[i]);
+                parameters.set(i, parameters.get(i).fix(parameterTypes[i]));
             }
         } catch (Exception e) {
             throw I.quiet(e);
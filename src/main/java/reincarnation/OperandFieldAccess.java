@@ -10,7 +10,6 @@
 package reincarnation;
 
 import java.lang.reflect.Field;
-import java.lang.reflect.Modifier;
 import java.lang.reflect.Type;
 import java.util.Objects;
 
@@ -58,35 +57,7 @@ class OperandFieldAccess extends Operand {
      * @return
      */
     private Field find(Class owner, String name) {
-        Class clazz = owner;
-        Field field = null;
-        boolean acceptPrivate = true;
-
-        while (clazz != Object.class) {
-            try {
-                field = clazz.getDeclaredField(name);
-
-                if (!acceptPrivate && Modifier.isPrivate(field.getModifiers())) {
-                    clazz = clazz.getSuperclass();
-                } else {
-                    break;
-                }
-            } catch (NoSuchFieldException e) {
-                acceptPrivate = false;
-                clazz = clazz.getSuperclass();
-            }
-        }
-
-        if (field == null) {
-            for (Field f : owner.getFields()) {
-                if (f.getName().equals(name)) {
-                    field = f;
-                    break;
-                }
-            }
-        }
-
-        return field;
+        return MemberIndex.field(owner, name);
     }
 
     /**
@@ -65,7 +65,7 @@ class OperandLocalVariable extends Operand {
         index.observing().to(target.index::set);
         name.observing().to(target.name::set);
         original.observing().to(target.original::set);
-        type.observing().to(target.type::set);
+        type.observing().to(target::infer);
     }
 
     /**
@@ -17,12 +17,10 @@ import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Objects;
-import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import kiss.I;
-import kiss.Model;
 import kiss.Signal;
 import kiss.Variable;
 import reincarnation.coder.Code;
@@ -30,6 +28,7 @@ import reincarnation.coder.Coder;
 import reincarnation.coder.CodingOption;
 import reincarnation.coder.DelegatableCoder;
 import reincarnation.operator.AccessMode;
+import reincarnation.util.ClassSnapshot;
 
 class OperandMethodCall extends Operand {
 
@@ -69,7 +68,7 @@ class OperandMethodCall extends Operand {
 
         fix(Inference.specialize(method, owner.type.v, parameters));
         for (int i = 0; i < parameterTypes.length; i++) {
-            parameters.get(i).fix(parameterTypes[i]);
+            parameters.set(i, parameters.get(i).fix(parameterTypes[i]));
         }
     }
 
@@ -81,30 +80,9 @@ class OperandMethodCall extends Operand {
      * @return
      */
     private Method find(Class owner, String name, Class[] types) {
-        Set<Class> collections = Model.collectTypes(owner);
-
-        // In Javac, when the interface method reference invokes the Object class method,
-        // it is compiled as a call to the interface, not to the object. However, this would fail to
-        // find methods of the Object class, so the Object class is added unconditionally.
-        collections.add(Object.class);
-
-        for (Class type : collections) {
-            try {
-                Method method = type.getDeclaredMethod(name, types);
-                int mod = method.getModifiers();
-                if (Modifier.isPrivate(mod)) {
-                    if (type != owner) continue;
-                } else if (Modifier.isProtected(mod)) {
-                    if (!type.isAssignableFrom(owner)) continue;
-                } else if (Modifier.isPublic(mod)) {
-                    // accept all
-                } else /* if package private */ {
-                    if (type.getPackage() != owner.getPackage()) continue;
-                }
-                return method;
-            } catch (NoSuchMethodException e) {
-                // ignore
-            }
+        Method method = MemberIndex.method(owner, name, types);
+        if (method != null) {
+            return method;
         }
         throw new NoSuchMethodError(owner + "#" + name + Stream.of(types)
                 .map(Class::getSimpleName)
@@ -148,13 +126,13 @@ class OperandMethodCall extends Operand {
             return false;
         }
 
-        Parameter[] parameters = method.getParameters();
-        if (parameters.length != params.length) {
+        List<Parameter> parameters = ClassSnapshot.of(method).parameters(method);
+        if (parameters.size() != params.length) {
             return false;
         }
 
         for (int i = 0; i < params.length; i++) {
-            if (parameters[i].getType() != params[i]) {
+            if (parameters.get(i).getType() != params[i]) {
                 return false;
             }
         }
@@ -9,6 +9,7 @@
  */
 package reincarnation;
 
+import java.lang.reflect.Type;
 import java.util.Objects;
 
 import reincarnation.coder.Coder;
@@ -16,9 +17,15 @@ import reincarnation.util.Classes;
 
 class OperandNumber extends Operand {
 
+    /** The interned constants. */
+    private static final ConstantPool<Number, OperandNumber> INTERNED = new ConstantPool(INTERN_LIMIT);
+
     /** The actual value of this operand. */
     final Number value;
 
+    /** The shared constant which is fixed as the natural type. */
+    private OperandNumber fixed;
+
     /**
      * 
      */
@@ -27,6 +34,36 @@ class OperandNumber extends Operand {
         this.type.set(Classes.unwrap(value.getClass()));
     }
 
+    /**
+     * Get the shared constant of the specified value.
+     * 
+     * @param value A number.
+     * @return The shared constant.
+     */
+    static OperandNumber of(Number value) {
+        return INTERNED.intern(value, key -> {
+            OperandNumber number = new OperandNumber(key).share();
+            number.fixed = new OperandNumber(key).fix().share();
+            return number;
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    Operand fixed(Type type) {
+        return fixed != null && fixed.type.is(type) ? fixed : null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    Operand copy() {
+        return new OperandNumber(value);
+    }
+
     /**
      * Check whether this value is positive or not.
      * 
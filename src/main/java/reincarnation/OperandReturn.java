@@ -30,9 +30,10 @@ class OperandReturn extends Operand {
      * @param value A returned value, may be null.
      */
     public OperandReturn(Operand value) {
-        this.value = value == null ? Variable.empty() : Variable.of(value.disclose());
+        Operand bound = value == null ? null : value.unshare();
+        this.value = bound == null ? Variable.empty() : Variable.of(bound.disclose());
 
-        bindTo(value);
+        bindTo(bound);
     }
 
     /**
@@ -16,6 +16,12 @@ import reincarnation.coder.Coder;
 
 class OperandString extends Operand {
 
+    /** The maximum length of the interned text, the longer text is not shared. */
+    static final int INTERN_LENGTH = 256;
+
+    /** The interned constants. */
+    private static final ConstantPool<String, OperandString> INTERNED = new ConstantPool(INTERN_LIMIT);
+
     /** The actual string expression of this operand. */
     final String expression;
 
@@ -43,6 +49,37 @@ class OperandString extends Operand {
         }
     }
 
+    /**
+     * Copy String operand.
+     */
+    private OperandString(OperandString original) {
+        fix(String.class);
+
+        this.expression = original.expression;
+        this.textBlock = original.textBlock;
+    }
+
+    /**
+     * Get the shared constant of the specified text.
+     * 
+     * @param text A text.
+     * @return The shared constant, or the private one if the text is too long.
+     */
+    static OperandString of(String text) {
+        if (INTERN_LENGTH < text.length()) {
+            return new OperandString(text);
+        }
+        return INTERNED.intern(text, key -> new OperandString(key).share());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    Operand copy() {
+        return new OperandString(this);
+    }
+
     /**
      * Test whether the given value is text block or not.
      * 
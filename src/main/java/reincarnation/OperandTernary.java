@@ -31,8 +31,8 @@ class OperandTernary extends OperandCondition {
         super(condition);
 
         this.condition = condition;
-        this.left = left.disclose();
-        this.right = right.disclose();
+        this.left = left.unshare().disclose();
+        this.right = right.unshare().disclose();
 
         if (left instanceof OperandCondition && right instanceof OperandCondition) {
             OperandCondition leftCondition = (OperandCondition) left;
@@ -43,7 +43,7 @@ class OperandTernary extends OperandCondition {
                 this.elze = leftCondition.elze;
             }
         }
-        bindTo(left).bindTo(right);
+        bindTo(this.left).bindTo(this.right);
     }
 
     /**
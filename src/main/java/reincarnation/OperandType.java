@@ -9,15 +9,33 @@
  */
 package reincarnation;
 
+import java.lang.reflect.Type;
 import java.util.Objects;
 
 import reincarnation.coder.Coder;
 
 class OperandType extends Operand {
 
+    /** The interned constants. */
+    private static final ClassValue<OperandType> INTERNED = new ClassValue<>() {
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        protected OperandType computeValue(Class<?> type) {
+            OperandType shared = new OperandType(type).share();
+            shared.fixed = new OperandType(type).fix().share();
+            return shared;
+        }
+    };
+
     /** The actual value. */
     private final Class value;
 
+    /** The shared constant which is fixed as {@link Class}. */
+    private OperandType fixed;
+
     /**
      * Type access like <code>java.lang.String</code>.
      * 
@@ -28,6 +46,32 @@ class OperandType extends Operand {
         this.type.set(Class.class);
     }
 
+    /**
+     * Get the shared type access of the specified class.
+     * 
+     * @param value A target class.
+     * @return The shared constant.
+     */
+    static OperandType of(Class value) {
+        return INTERNED.get(value);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    Operand fixed(Type type) {
+        return type == Class.class ? fixed : null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    Operand copy() {
+        return new OperandType(value);
+    }
+
     /**
      * {@inheritDoc}
      */
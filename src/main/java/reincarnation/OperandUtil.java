@@ -12,10 +12,14 @@ package reincarnation;
 import static org.objectweb.asm.Opcodes.*;
 import static org.objectweb.asm.Type.*;
 
+import java.lang.ref.WeakReference;
 import java.lang.reflect.Array;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.objectweb.asm.Opcodes;
 import org.objectweb.asm.Type;
@@ -25,6 +29,12 @@ import reincarnation.operator.AccessMode;
 
 class OperandUtil {
 
+    /** The resolved classes of each class loader. */
+    private static final Map<ClassLoader, Resolved> LOADERS = new WeakHashMap();
+
+    /** The recently used resolved classes on each thread. */
+    private static final ThreadLocal<Resolved> RECENT = new ThreadLocal();
+
     /**
      * Load {@link Class} by internal name.
      * 
@@ -186,17 +196,8 @@ class OperandUtil {
         case VOID:
             return void.class;
 
-        case ARRAY:
-            return Array.newInstance(load(internalType.getElementType()), new int[internalType.getDimensions()]).getClass();
-
         default:
-            try {
-                return Class.forName(internalType.getClassName(), false, Reincarnation.LOADER.get());
-            } catch (ClassNotFoundException e) {
-                // If this exception will be thrown, it is bug of this program. So we must
-                // rethrow the wrapped error in here.
-                throw new Error(e);
-            }
+            return Resolved.of(Reincarnation.LOADER.get()).resolve(internalType);
         }
     }
 
@@ -261,9 +262,9 @@ class OperandUtil {
         if (value instanceof Operand op) {
             return op;
         } else if (value instanceof String text) {
-            return new OperandString(text);
+            return OperandString.of(text);
         } else if (value instanceof Class clazz) {
-            return new OperandType(clazz);
+            return OperandType.of(clazz);
         } else if (value instanceof Method method) {
             return convertMethod(method, new Object[0]);
         } else if (value.getClass().isArray()) {
@@ -303,4 +304,77 @@ class OperandUtil {
         return new OperandMethodCall(AccessMode.THIS, method.getDeclaringClass(), method.getName(), method
                 .getParameterTypes(), convert(method.getDeclaringClass()), I.list(convert(parameters)));
     }
+
+    /**
+     * The interned descriptor to {@link Class} resolution of the single class loader. Both the
+     * loader and the resolved classes are held weakly, so this cache never pins them.
+     */
+    private static final class Resolved {
+
+        /** The class loader. */
+        private final WeakReference<ClassLoader> loader;
+
+        /** The flag whether the class loader is the bootstrap class loader or not. */
+        private final boolean bootstrap;
+
+        /** The resolved classes by descriptor. */
+        private final Map<String, WeakReference<Class>> classes = new ConcurrentHashMap();
+
+        /**
+         * @param loader The class loader.
+         */
+        private Resolved(ClassLoader loader) {
+            this.loader = new WeakReference(loader);
+            this.bootstrap = loader == null;
+        }
+
+        /**
+         * Find the resolution of the specified class loader.
+         * 
+         * @param loader A class loader.
+         * @return The resolution.
+         */
+        private static Resolved of(ClassLoader loader) {
+            Resolved resolved = RECENT.get();
+
+            if (resolved == null || resolved.loader.get() != loader || resolved.bootstrap != (loader == null)) {
+                synchronized (LOADERS) {
+                    resolved = LOADERS.computeIfAbsent(loader, Resolved::new);
+                }
+                RECENT.set(resolved);
+            }
+            return resolved;
+        }
+
+        /**
+         * Resolve the object or array type.
+         * 
+         * @param type A type to resolve.
+         * @return The resolved class.
+         */
+        private Class resolve(Type type) {
+            String descriptor = type.getDescriptor();
+            WeakReference<Class> reference = classes.get(descriptor);
+            Class clazz = reference == null ? null : reference.get();
+
+            if (clazz == null) {
+                if (type.getSort() == ARRAY) {
+                    clazz = load(type.getElementType());
+                    for (int i = 0; i < type.getDimensions(); i++) {
+                        clazz = clazz.arrayType();
+                    }
+                } else {
+                    try {
+                        clazz = Class.forName(type.getClassName(), false, loader.get());
+                    } catch (ClassNotFoundException e) {
+                        // If this exception will be thrown, it is bug of this program. So we must
+                        // rethrow the wrapped error in here.
+                        throw new Error(e);
+                    }
+                }
+                classes.put(descriptor, new WeakReference(clazz));
+            }
+            return clazz;
+        }
+    }
 }
\ No newline at end of file
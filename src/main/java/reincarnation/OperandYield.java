@@ -26,9 +26,9 @@ class OperandYield extends Operand {
      * @param value A returned value, may be null.
      */
     public OperandYield(Operand value) {
-        this.value = value.disclose();
+        this.value = value.unshare().disclose();
 
-        bindTo(value);
+        bindTo(this.value);
     }
 
     /**
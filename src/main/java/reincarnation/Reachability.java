@@ -0,0 +1,276 @@
+/*
+ * Copyright (C) 2024 The REINCARNATION Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package reincarnation;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * The reachability index of the method. The strongly connected components are collapsed and the
+ * transitive closure of them is held as the bitset, so the reachability query is answered in O(1).
+ * The index is built once after the backedge search by {@link #compute()}. Like
+ * {@link DominatorTree}, it is invalidated when any edge is changed while structuring and it is
+ * rebuilt lazily only after the traversing queries exceed the building cost. The method which has
+ * more components than {@link Budget#reachability(int)} is not indexed and it is always traversed.
+ */
+final class Reachability {
+
+    /** The unknown result. */
+    static final int UNKNOWN = -1;
+
+    /** The all nodes of method. */
+    private final Collection<Node> nodes;
+
+    /** The flag whether the current index is valid or not. */
+    private boolean valid;
+
+    /** The flag whether the current graph has too many components to index or not. */
+    private boolean oversized;
+
+    /** The number of traversing steps since the last invalidation. */
+    private long walked;
+
+    /** The indexed node by index. */
+    private Node[] indexed = new Node[0];
+
+    /** The component number by node index. */
+    private int[] components;
+
+    /** The reachable components of each component. */
+    private long[][] closures;
+
+    /**
+     * @param nodes The all nodes of method.
+     */
+    Reachability(Collection<Node> nodes) {
+        this.nodes = nodes;
+    }
+
+    /**
+     * Invalidate the current index.
+     */
+    void invalidate() {
+        valid = false;
+        oversized = false;
+        walked = 0;
+    }
+
+    /**
+     * Build the index immediately.
+     */
+    void compute() {
+        valid = build();
+        walked = 0;
+    }
+
+    /**
+     * Record the traversing steps by the fallback query.
+     *
+     * @param steps The number of steps.
+     */
+    void walked(int steps) {
+        walked += steps;
+    }
+
+    /**
+     * Check whether the node can reach to the target node through one or more edges.
+     *
+     * @param node A starting node.
+     * @param target A target node.
+     * @return 1 if reachable, 0 if not reachable or {@link #UNKNOWN}.
+     */
+    int reaches(Node node, Node target) {
+        if (!ready() || !isIndexed(node) || !isIndexed(target)) {
+            return UNKNOWN;
+        }
+
+        int component = components[target.index];
+        return (closures[components[node.index]][component >>> 6] & (1L << component)) != 0 ? 1 : 0;
+    }
+
+    /**
+     * Check whether any of the specified nodes is on the path from the node to the target node,
+     * the node and the target node themselves are ignored.
+     *
+     * @param node A starting node.
+     * @param target A target node.
+     * @param passings The nodes to check, null is ignored.
+     * @return 1 if any node is on the path, 0 if no node is on the path or {@link #UNKNOWN}.
+     */
+    int passes(Node node, Node target, Collection<Node> passings) {
+        int result = 0;
+        for (Node passing : passings) {
+            if (passing != null && passing != node && passing != target) {
+                int from = reaches(node, passing);
+                int to = reaches(passing, target);
+
+                if (from == 1 && to == 1) {
+                    return 1;
+                } else if (from == UNKNOWN || to == UNKNOWN) {
+                    result = UNKNOWN;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Check whether the node is in the index.
+     *
+     * @param node A target node.
+     * @return A result.
+     */
+    private boolean isIndexed(Node node) {
+        return node != null && 0 <= node.index && node.index < indexed.length && indexed[node.index] == node;
+    }
+
+    /**
+     * Build the index if needed.
+     *
+     * @return true if the index is available.
+     */
+    private boolean ready() {
+        if (!valid && !oversized) {
+            int size = nodes.size();
+            if ((long) size * ((size >> 6) + 1) <= walked) {
+                compute();
+            }
+        }
+        return valid;
+    }
+
+    /**
+     * Compute the strongly connected components by the iterative Tarjan's algorithm and their
+     * transitive closure.
+     *
+     * @return true if the index is built.
+     */
+    private boolean build() {
+        int size = 0;
+        for (Node node : nodes) {
+            if (node.index < 0) {
+                return false;
+            }
+            size = Math.max(size, node.index + 1);
+        }
+
+        indexed = new Node[size];
+        for (Node node : nodes) {
+            indexed[node.index] = node;
+        }
+
+        // All outgoing nodes must be indexed.
+        for (Node node : nodes) {
+            for (int i = 0; i < node.outgoing.size(); i++) {
+                if (!isIndexed(node.outgoing.get(i))) {
+                    indexed = new Node[0];
+                    return false;
+                }
+            }
+        }
+
+        components = new int[size];
+        int[] orders = new int[size];
+        int[] lows = new int[size];
+        int[] cursors = new int[size];
+        boolean[] stacked = new boolean[size];
+        Node[] path = new Node[size];
+        Node[] stack = new Node[size];
+        int counter = 0;
+        int count = 0;
+        int stackTop = 0;
+
+        Arrays.fill(components, -1);
+        for (Node root : nodes) {
+            if (orders[root.index] != 0) continue;
+
+            int top = 0;
+            path[top++] = root;
+            orders[root.index] = lows[root.index] = ++counter;
+            stack[stackTop++] = root;
+            stacked[root.index] = true;
+
+            while (0 < top) {
+                Node node = path[top - 1];
+                int index = node.index;
+
+                if (cursors[index] < node.outgoing.size()) {
+                    Node out = node.outgoing.get(cursors[index]++);
+
+                    if (orders[out.index] == 0) {
+                        orders[out.index] = lows[out.index] = ++counter;
+                        stack[stackTop++] = out;
+                        stacked[out.index] = true;
+                        path[top++] = out;
+                    } else if (stacked[out.index]) {
+                        lows[index] = Math.min(lows[index], orders[out.index]);
+                    }
+                } else {
+                    top--;
+                    if (0 < top) {
+                        int parent = path[top - 1].index;
+                        lows[parent] = Math.min(lows[parent], lows[index]);
+                    }
+
+                    if (lows[index] == orders[index]) {
+                        Node member;
+                        do {
+                            member = stack[--stackTop];
+                            stacked[member.index] = false;
+                            components[member.index] = count;
+                        } while (member != node);
+                        count++;
+                    }
+                }
+            }
+        }
+
+        // The transitive closure needs the square of components.
+        if (Budget.reachability() < count) {
+            indexed = new Node[0];
+            oversized = true;
+            return false;
+        }
+
+        // The components are numbered in reverse topological order, so all successors are
+        // computed before.
+        int[] offsets = new int[count + 1];
+        for (Node node : nodes) {
+            offsets[components[node.index] + 1]++;
+        }
+        for (int i = 0; i < count; i++) {
+            offsets[i + 1] += offsets[i];
+        }
+        Node[] sorted = new Node[offsets[count]];
+        for (Node node : nodes) {
+            sorted[offsets[components[node.index]]++] = node;
+        }
+
+        int words = (count >>> 6) + 1;
+        closures = new long[count][words];
+        for (Node node : sorted) {
+            int component = components[node.index];
+            long[] closure = closures[component];
+
+            for (int i = 0; i < node.outgoing.size(); i++) {
+                int next = components[node.outgoing.get(i).index];
+                closure[next >>> 6] |= 1L << next;
+
+                if (next != component) {
+                    long[] reachable = closures[next];
+                    for (int j = 0; j < words; j++) {
+                        closure[j] |= reachable[j];
+                    }
+                }
+            }
+        }
+        return true;
+    }
+}
@@ -11,18 +11,27 @@ package reincarnation;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.lang.ref.WeakReference;
 import java.lang.reflect.AnnotatedElement;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.objectweb.asm.ClassReader;
 
@@ -34,6 +43,7 @@ import reincarnation.coder.java.JavaCoder;
 import reincarnation.coder.java.JavaCodingOption;
 import reincarnation.coder.ts.TypeScriptCoder;
 import reincarnation.coder.ts.TypeScriptCodingOption;
+import reincarnation.util.ClassSnapshot;
 import reincarnation.util.Classes;
 import reincarnation.util.GeneratedCodes;
 import reincarnation.util.MultiMap;
@@ -47,11 +57,29 @@ public final class Reincarnation {
     static final ThreadLocal<ClassLoader> LOADER = ThreadLocal.withInitial(ClassLoader::getSystemClassLoader);
 
     /** The cache. */
-    static final Map<Class, Reincarnation> CACHE = new ConcurrentHashMap();
+    static final Cache CACHE = new Cache();
+
+    /** The cache of outline. */
+    static final Cache OUTLINES = new Cache();
+
+    /** The budget of method decompilation. */
+    static final Budget BUDGET = new Budget();
+
+    /** The number of analyzed methods. */
+    static final LongAdder ANALYZED = new LongAdder();
+
+    /** The number of analyzed methods which need no control flow analysis. */
+    static final LongAdder STRAIGHT = new LongAdder();
+
+    /** The shared loaders for the raw class files, keyed by the parent loader and the class path. */
+    private static final Map<ClassLoader, Map<Path, WeakReference<ByteCodeLoader>>> EXHUMERS = new WeakHashMap();
 
     /** The target class. */
     public final Class clazz;
 
+    /** The flag whether this unit has only declarations (all method bodies are stubbed) or not. */
+    public final boolean outline;
+
     /** The annotaion manager. */
     public final MultiMap<AnnotatedElement, AnnotationLike> annotations = new MultiMap(false);
 
@@ -88,11 +116,12 @@ public final class Reincarnation {
     /**
      * Hide constcutor.
      */
-    private Reincarnation(Class clazz) {
+    private Reincarnation(Class clazz, boolean outline) {
         this.clazz = Objects.requireNonNull(clazz);
+        this.outline = outline;
 
         // Separate fields into static and non-static
-        for (Field field : clazz.getDeclaredFields()) {
+        for (Field field : ClassSnapshot.of(clazz).fields()) {
             if (Classes.isStatic(field)) {
                 if (!GeneratedCodes.isEnumSwitchField(field)) {
                     staticFields.add(field);
@@ -103,6 +132,45 @@ public final class Reincarnation {
         }
     }
 
+    /**
+     * Compute the weight (the number of nodes) of this unit.
+     * 
+     * @return A weight.
+     */
+    long weight() {
+        long weight = 1;
+        for (JavaMethodDecompiler decompiler : decompilers()) {
+            weight += decompiler.countNodes();
+        }
+        return weight;
+    }
+
+    /**
+     * Analyze all method bodies of this unit immediately.
+     */
+    void analyze() {
+        for (JavaMethodDecompiler decompiler : decompilers()) {
+            decompiler.analyze();
+        }
+    }
+
+    /**
+     * Collect the decompilers of all method bodies.
+     * 
+     * @return A list of decompilers.
+     */
+    private List<JavaMethodDecompiler> decompilers() {
+        List<JavaMethodDecompiler> decompilers = new ArrayList();
+        for (List<Code> codes : List.of(staticInitializer, initializer, new ArrayList(constructors.values()), new ArrayList(methods.values()))) {
+            for (Code code : codes) {
+                if (code instanceof JavaMethodDecompiler decompiler) {
+                    decompilers.add(decompiler);
+                }
+            }
+        }
+        return decompilers;
+    }
+
     /**
      * Compile the specified class.
      * 
@@ -112,6 +180,17 @@ public final class Reincarnation {
         coder.write(this);
     }
 
+    /**
+     * Decompile the related class (e.g. member, anonymous or local class) in the same mode as this
+     * unit.
+     * 
+     * @param clazz A related class to decompile.
+     * @return A decompiled unit.
+     */
+    public Reincarnation relative(Class clazz) {
+        return outline ? outline(clazz) : exhume(clazz);
+    }
+
     /**
      * Add dependency type of this source.
      * 
@@ -160,30 +239,242 @@ public final class Reincarnation {
     }
 
     /**
-     * Decompile the target {@link Class}.
+     * Get the memoization of the decompiled units.
+     * 
+     * @return The shared cache.
+     */
+    public static final Cache cache() {
+        return CACHE;
+    }
+
+    /**
+     * Get the resource budget of each method decompilation.
+     * 
+     * @return The shared budget.
+     */
+    public static final Budget budget() {
+        return BUDGET;
+    }
+
+    /**
+     * Count the analyzed methods.
+     * 
+     * @return The number of analyzed methods.
+     */
+    public static final long analyzedMethods() {
+        return ANALYZED.sum();
+    }
+
+    /**
+     * Count the analyzed methods which are the straight-line code without any jump, switch,
+     * exception handler and synchronized block, they skip the control flow analysis.
+     * 
+     * @return The number of straight methods.
+     */
+    public static final long straightMethods() {
+        return STRAIGHT.sum();
+    }
+
+    /**
+     * Count the member resolutions which are answered by the shared member index.
+     * 
+     * @return The number of hits.
+     */
+    public static final long memberHits() {
+        return MemberIndex.HITS.sum();
+    }
+
+    /**
+     * Count the member resolutions which search the type hierarchy.
+     * 
+     * @return The number of misses.
+     */
+    public static final long memberMisses() {
+        return MemberIndex.MISSES.sum();
+    }
+
+    /**
+     * Decompile the target {@link Class}. The different classes are decompiled concurrently, and
+     * the callers which request the same class share the single decompilation.
      * 
      * @param clazz A class to decompile.
      * @return Chainable API.
      */
-    public static final synchronized Reincarnation exhume(Class clazz) {
-        return CACHE.computeIfAbsent(clazz, key -> {
-            ClassLoader loader = key.getClassLoader();
-            if (loader == null) {
-                loader = ClassLoader.getSystemClassLoader();
+    public static final Reincarnation exhume(Class clazz) {
+        return CACHE.get(clazz, () -> decompile(clazz, false));
+    }
+
+    /**
+     * Decompile only the declarations (annotations, generics, modifiers and signatures) of the
+     * target {@link Class}. The code attributes are never decoded and all method bodies are
+     * stubbed, but the enum is decompiled entirely because its constants are declared in the
+     * static initializer.
+     * 
+     * @param clazz A class to decompile.
+     * @return Chainable API.
+     */
+    public static final Reincarnation outline(Class clazz) {
+        return OUTLINES.get(clazz, () -> decompile(clazz, true));
+    }
+
+    /**
+     * Decompile the class from the raw class file bytes. The target class is defined in the
+     * isolated class loader and is never initialized, so its static initializer has no side
+     * effect. The same class file is defined only once while its class is alive, so the repeated
+     * request returns the memoized unit.
+     * 
+     * @param bytes A class file bytes to decompile.
+     * @return Chainable API.
+     */
+    public static final Reincarnation exhume(byte[] bytes) {
+        return exhume(bytes, ClassLoader.getSystemClassLoader(), null);
+    }
+
+    /**
+     * Decompile the class from the raw class file bytes. The target class is defined in the
+     * isolated class loader and is never initialized, so its static initializer has no side
+     * effect. The dependency classes are searched from the given class loader.
+     * 
+     * @param bytes A class file bytes to decompile.
+     * @param loader A class loader to search the dependency classes.
+     * @return Chainable API.
+     */
+    public static final Reincarnation exhume(byte[] bytes, ClassLoader loader) {
+        return exhume(bytes, Objects.requireNonNull(loader), null);
+    }
+
+    /**
+     * Decompile the class from the raw class file bytes. The target class is defined in the
+     * isolated class loader and is never initialized, so its static initializer has no side
+     * effect. The nested and dependency classes are searched from the given class path, and all
+     * class files of the same class path share the single class loader.
+     * 
+     * @param bytes A class file bytes to decompile.
+     * @param classpath The root directory of class path.
+     * @return Chainable API.
+     */
+    public static final Reincarnation exhume(byte[] bytes, Path classpath) {
+        return exhume(bytes, ClassLoader.getSystemClassLoader(), classpath.toAbsolutePath());
+    }
+
+    /**
+     * Decompile the class from the raw class file bytes. The target class is defined in the
+     * isolated class loader and is never initialized, so its static initializer has no side
+     * effect.
+     * 
+     * @param bytes A class file bytes to decompile.
+     * @return Chainable API.
+     */
+    public static final Reincarnation exhume(ByteBuffer bytes) {
+        byte[] array = new byte[bytes.remaining()];
+        bytes.duplicate().get(array);
+
+        return exhume(array);
+    }
+
+    /**
+     * Decompile the class from the class file. The target class is defined in the isolated class
+     * loader and is never initialized, so its static initializer has no side effect. The nested
+     * and dependency classes are searched from the class path which contains the given file.
+     * 
+     * @param file A class file to decompile.
+     * @return Chainable API.
+     */
+    public static final Reincarnation exhume(Path file) {
+        try {
+            byte[] bytes = Files.readAllBytes(file);
+
+            // compute the root directory of class path from the package depth
+            String name = new ClassReader(bytes).getClassName();
+            Path root = file.toAbsolutePath().getParent();
+            for (int i = name.indexOf('/'); i != -1 && root != null; i = name.indexOf('/', i + 1)) {
+                root = root.getParent();
             }
-            LOADER.set(loader);
+            return exhume(bytes, ClassLoader.getSystemClassLoader(), root);
+        } catch (IOException e) {
+            throw I.quiet(e);
+        }
+    }
+
+    /**
+     * Decompile the class from the raw class file bytes.
+     * 
+     * @param bytes A class file bytes to decompile.
+     * @param parent The class loader to search the dependency classes.
+     * @param root The root directory of class path, may be null.
+     * @return Chainable API.
+     */
+    private static Reincarnation exhume(byte[] bytes, ClassLoader parent, Path root) {
+        ClassReader reader = new ClassReader(bytes);
 
-            Reincarnation reincarnation = new Reincarnation(key);
+        // The same class file is defined only once by the shared loader, so the repeated request
+        // reuses its unit.
+        Class clazz = exhumer(parent, root).define(reader.getClassName().replace('/', '.'), bytes);
+        return CACHE.get(clazz, () -> decompile(clazz, clazz.getClassLoader(), reader, false));
+    }
+
+    /**
+     * Get the shared loader for the raw class files. The loader is released when all its classes
+     * are released.
+     * 
+     * @param parent The class loader to search the dependency classes.
+     * @param root The root directory of class path, may be null.
+     * @return The shared loader.
+     */
+    private static ByteCodeLoader exhumer(ClassLoader parent, Path root) {
+        synchronized (EXHUMERS) {
+            Map<Path, WeakReference<ByteCodeLoader>> loaders = EXHUMERS.computeIfAbsent(parent, key -> new HashMap());
+            WeakReference<ByteCodeLoader> reference = loaders.get(root);
+            ByteCodeLoader loader = reference == null ? null : reference.get();
 
-            try {
-                InputStream input = loader.getResourceAsStream(key.getName().replace('.', '/') + ".class");
-                new ClassReader(input).accept(new JavaClassDecompiler(reincarnation), 0);
-            } catch (IOException e) {
-                throw I.quiet(e);
+            if (loader == null) {
+                loader = new ByteCodeLoader(parent, root);
+                loaders.put(root, new WeakReference(loader));
             }
+            return loader;
+        }
+    }
+
+    /**
+     * Build the decompilation unit from the class file of the given class.
+     * 
+     * @param clazz A target class.
+     * @param outline The flag whether the unit has only declarations or not.
+     * @return A decompiled unit.
+     */
+    static Reincarnation decompile(Class clazz, boolean outline) throws IOException {
+        ClassLoader loader = clazz.getClassLoader();
+        if (loader == null) {
+            loader = ClassLoader.getSystemClassLoader();
+        }
+
+        try (InputStream input = loader.getResourceAsStream(clazz.getName().replace('.', '/') + ".class")) {
+            return decompile(clazz, loader, new ClassReader(input), outline);
+        }
+    }
+
+    /**
+     * Build the decompilation unit from the given class file.
+     * 
+     * @param clazz A target class.
+     * @param loader A class loader to search type.
+     * @param reader A class file of the target class.
+     * @param outline The flag whether the unit has only declarations or not.
+     * @return A decompiled unit.
+     */
+    private static Reincarnation decompile(Class clazz, ClassLoader loader, ClassReader reader, boolean outline) {
+        // The current loader is restored, otherwise this thread pins the last decompiled loader.
+        ClassLoader previous = LOADER.get();
+        LOADER.set(loader);
+
+        try {
+            Reincarnation reincarnation = new Reincarnation(clazz, outline);
+            reader.accept(new JavaClassDecompiler(reincarnation), outline && !clazz.isEnum() ? ClassReader.SKIP_CODE : 0);
 
             return reincarnation;
-        });
+        } finally {
+            LOADER.set(previous);
+        }
     }
 
     /**
@@ -222,4 +513,72 @@ public final class Reincarnation {
         exhume(clazz).rebirth(coder);
         return coder.toString();
     }
+
+    /**
+     * Decompile the specified class as Java code into the specified destination. The code is
+     * streamed, so the whole code is never held in memory.
+     * 
+     * @param clazz A target class to decompile.
+     * @param options A coding option, may be null.
+     * @param output A destination of the decompiled Java source code.
+     */
+    public static final void rebirth(Class clazz, JavaCodingOption options, Appendable output) {
+        JavaCoder coder = new JavaCoder();
+        coder.config(options == null ? new JavaCodingOption() : options);
+        coder.output(output);
+
+        try {
+            exhume(clazz).rebirth(coder);
+            coder.flush();
+        } finally {
+            // The temporary file is released even if the decompilation is failed.
+            coder.discard();
+        }
+    }
+
+    /**
+     * Decompile the specified class as Java code into the specified channel in UTF-8. The code is
+     * streamed, so the whole code is never held in memory. The channel is not closed.
+     * 
+     * @param clazz A target class to decompile.
+     * @param options A coding option, may be null.
+     * @param output A destination of the decompiled Java source code.
+     */
+    public static final void rebirth(Class clazz, JavaCodingOption options, WritableByteChannel output) {
+        rebirth(clazz, options, Channels.newWriter(output, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decompile the specified class as JS code into the specified destination. The code is
+     * streamed, so the whole code is never held in memory.
+     * 
+     * @param clazz A target class to decompile.
+     * @param options A coding option, may be null.
+     * @param output A destination of the decompiled JS source code.
+     */
+    public static final void rebirth(Class clazz, TypeScriptCodingOption options, Appendable output) {
+        TypeScriptCoder coder = new TypeScriptCoder();
+        coder.config(options == null ? new TypeScriptCodingOption() : options);
+        coder.output(output);
+
+        try {
+            exhume(clazz).rebirth(coder);
+            coder.flush();
+        } finally {
+            // The temporary file is released even if the decompilation is failed.
+            coder.discard();
+        }
+    }
+
+    /**
+     * Decompile the specified class as JS code into the specified channel in UTF-8. The code is
+     * streamed, so the whole code is never held in memory. The channel is not closed.
+     * 
+     * @param clazz A target class to decompile.
+     * @param options A coding option, may be null.
+     * @param output A destination of the decompiled JS source code.
+     */
+    public static final void rebirth(Class clazz, TypeScriptCodingOption options, WritableByteChannel output) {
+        rebirth(clazz, options, Channels.newWriter(output, StandardCharsets.UTF_8));
+    }
 }
\ No newline at end of file
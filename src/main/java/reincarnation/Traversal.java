@@ -0,0 +1,156 @@
+/*
+ * Copyright (C) 2024 The REINCARNATION Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package reincarnation;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+
+/**
+ * The reusable worklist and visited marks for traversing the control flow graph. The marks are
+ * stamped by {@link Node#index} and the stamp is renewed on each use, so the traversal allocates
+ * nothing once the buffers grow enough. The instance is pooled per thread and supports the nested
+ * traversals.
+ *
+ * <pre>
+ * try (Traversal traversal = Traversal.open()) {
+ *     traversal.add(start);
+ *     while (traversal.hasNext()) {
+ *         Node node = traversal.next();
+ *     }
+ * }
+ * </pre>
+ */
+final class Traversal implements AutoCloseable {
+
+    /** The pooled instances. */
+    private static final ThreadLocal<ArrayDeque<Traversal>> POOL = ThreadLocal.withInitial(ArrayDeque::new);
+
+    /** The visited stamp by index. */
+    private int[] marks = new int[64];
+
+    /** The current stamp. */
+    private int stamp;
+
+    /** The worklist. */
+    private Node[] queue = new Node[64];
+
+    /** The head position of worklist. */
+    private int head;
+
+    /** The tail position of worklist. */
+    private int tail;
+
+    /**
+     * Hide constructor.
+     */
+    private Traversal() {
+    }
+
+    /**
+     * Borrow the cleared traversal from pool. It must be closed after use.
+     *
+     * @return A traversal.
+     */
+    static Traversal open() {
+        Traversal traversal = POOL.get().pollLast();
+        if (traversal == null) {
+            traversal = new Traversal();
+        }
+
+        if (++traversal.stamp == 0) {
+            Arrays.fill(traversal.marks, 0);
+            traversal.stamp = 1;
+        }
+        return traversal;
+    }
+
+    /**
+     * Return this traversal to pool.
+     */
+    @Override
+    public void close() {
+        Arrays.fill(queue, 0, tail, null);
+        head = tail = 0;
+        POOL.get().addLast(this);
+    }
+
+    /**
+     * Mark the node as visited.
+     *
+     * @param node A target node.
+     * @return true if the node is visited at first.
+     */
+    boolean visit(Node node) {
+        int index = node.index;
+        if (index < 0) {
+            throw new IllegalArgumentException("The node [" + node + "] has no index.");
+        }
+
+        if (marks.length <= index) {
+            marks = Arrays.copyOf(marks, Math.max(index + 1, marks.length * 2));
+        }
+
+        if (marks[index] == stamp) {
+            return false;
+        }
+        marks[index] = stamp;
+        return true;
+    }
+
+    /**
+     * Check whether the node is visited or not.
+     *
+     * @param node A target node.
+     * @return A result.
+     */
+    boolean isVisited(Node node) {
+        int index = node.index;
+        return 0 <= index && index < marks.length && marks[index] == stamp;
+    }
+
+    /**
+     * Append the node to the worklist.
+     *
+     * @param node A node to add.
+     */
+    void add(Node node) {
+        if (queue.length == tail) {
+            if (head != 0) {
+                System.arraycopy(queue, head, queue, 0, tail - head);
+                Arrays.fill(queue, tail - head, tail, null);
+                tail -= head;
+                head = 0;
+            } else {
+                queue = Arrays.copyOf(queue, queue.length * 2);
+            }
+        }
+        queue[tail++] = node;
+    }
+
+    /**
+     * Check whether the worklist has the next node or not.
+     *
+     * @return A result.
+     */
+    boolean hasNext() {
+        return head < tail;
+    }
+
+    /**
+     * Retrieve the first node from the worklist.
+     *
+     * @return The next node.
+     */
+    Node next() {
+        Node node = queue[head];
+        queue[head++] = null;
+        return node;
+    }
+}
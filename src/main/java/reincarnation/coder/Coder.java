@@ -13,11 +13,8 @@ import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.lang.reflect.Type;
-import java.util.ArrayDeque;
 import java.util.Collection;
-import java.util.Deque;
 import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
@@ -44,17 +41,11 @@ public abstract class Coder<O extends CodingOption> {
     protected final String space = " ";
 
     /** The actual writer. */
-    private StringBuilder builder;
+    private final Output output;
 
     /** The current indent size. */
     private final AtomicInteger indentSize;
 
-    /** The lazy writers. */
-    private final Deque<Ⅲ<Integer, Integer, Runnable>> lazy = new ArrayDeque();
-
-    /** The snapshot state. */
-    private final LinkedList<Integer> snapshots = new LinkedList();
-
     /** The coding options. */
     protected O options = I.make((Class<O>) Model.collectParameters(getClass(), Coder.class)[0]);
 
@@ -62,7 +53,7 @@ public abstract class Coder<O extends CodingOption> {
      * Create {@link Coder}.
      */
     protected Coder() {
-        this.builder = new StringBuilder();
+        this.output = new Output();
         this.indentSize = new AtomicInteger(0);
     }
 
@@ -72,10 +63,45 @@ public abstract class Coder<O extends CodingOption> {
      * @param original
      */
     protected Coder(Coder original) {
-        this.builder = original.builder;
+        this.output = original.output;
         this.indentSize = original.indentSize;
     }
 
+    /**
+     * Stream the generated code into the specified destination instead of holding all code in
+     * memory. This method must be called before writing any code, and {@link #flush()} must be
+     * called after writing all code. {@link #toString()} is available only when the destination is
+     * {@link CharSequence} (e.g. {@link StringBuilder}).
+     * 
+     * @param destination A destination of the generated code.
+     * @return Chainable API.
+     */
+    public final Coder<O> output(Appendable destination) {
+        output.streamTo(Objects.requireNonNull(destination));
+        return this;
+    }
+
+    /**
+     * Write all remaining code into the destination which is specified by
+     * {@link #output(Appendable)}.
+     */
+    public final void flush() {
+        if (!output.isStreaming()) {
+            throw new IllegalStateException("The destination is not specified.");
+        }
+        output.resolve(indentSize::set);
+        output.finish();
+    }
+
+    /**
+     * Release the temporary resources of the destination which is specified by
+     * {@link #output(Appendable)} without writing the remaining code. This is used when the
+     * generation is failed, and it does nothing after {@link #flush()}.
+     */
+    public final void discard() {
+        output.discard();
+    }
+
     /**
      * Set options.
      * 
@@ -138,7 +164,7 @@ public abstract class Coder<O extends CodingOption> {
                 } else if (code instanceof Optional) {
                     ((Optional) code).ifPresent(this::write);
                 } else {
-                    builder.append(String.valueOf(code));
+                    output.append(String.valueOf(code));
                 }
             }
         }
@@ -207,7 +233,7 @@ public abstract class Coder<O extends CodingOption> {
      * @param writer
      */
     protected final void writeLazy(Runnable writer) {
-        lazy.addLast(I.pair(builder.length(), indentSize.get(), writer));
+        output.lazy(indentSize.get(), writer);
     }
 
     /**
@@ -216,18 +242,12 @@ public abstract class Coder<O extends CodingOption> {
      * @param writer
      */
     protected final void snapshot(Runnable writer) {
-        // create new snapshot
-        snapshots.addFirst(-builder.length());
+        Output.Mark mark = output.mark();
 
         try {
             writer.run();
         } finally {
-            int snapshot = snapshots.pollFirst();
-
-            // revert to the latest snapshot
-            if (0 < snapshot) {
-                builder.delete(snapshot, builder.length());
-            }
+            output.release(mark);
         }
     }
 
@@ -235,31 +255,28 @@ public abstract class Coder<O extends CodingOption> {
      * Revert to the latest snapshot.
      */
     protected final void revert() {
-        if (!snapshots.isEmpty()) {
-            int point = snapshots.peekFirst();
-            if (point < 0) {
-                snapshots.set(0, -point);
-            }
-        }
+        output.revert();
     }
 
     /**
-     * {@inheritDoc}
+     * Build the generated code. In streaming mode, the code is read back from the destination, so
+     * it must be {@link CharSequence}.
+     * 
+     * @return The generated code.
+     * @throws IllegalStateException The streaming destination is not {@link CharSequence}.
      */
     @Override
     public String toString() {
-        StringBuilder writer = builder;
-
-        Iterator<Ⅲ<Integer, Integer, Runnable>> iterator = lazy.descendingIterator();
-        while (iterator.hasNext()) {
-            Ⅲ<Integer, Integer, Runnable> x = iterator.next();
-            builder = new StringBuilder();
-            indentSize.set(x.ⅱ);
-
-            x.ⅲ.run();
-            writer.insert(x.ⅰ, builder);
+        if (output.isStreaming()) {
+            if (output.sink() instanceof CharSequence sequence) {
+                flush();
+                return sequence.toString();
+            }
+            throw new IllegalStateException("The destination is not readable. [" + output.sink().getClass().getName() + "]");
         }
-        return writer.toString();
+
+        output.resolve(indentSize::set);
+        return output.text();
     }
 
     /**
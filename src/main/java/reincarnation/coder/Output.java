@@ -0,0 +1,377 @@
+/*
+ * Copyright (C) 2024 The REINCARNATION Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package reincarnation.coder;
+
+import static java.nio.charset.StandardCharsets.*;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.function.IntConsumer;
+
+import kiss.I;
+
+/**
+ * The shared output of {@link Coder} and its delegations. The written text is held as the sequence
+ * of segments, each deferred region (e.g. import declarations) and each snapshot starts its own
+ * segment, so they are created, resolved and reverted without copying the other text. The text is
+ * buffered in memory, or streamed into the destination when it is specified. While streaming, only
+ * the text after the first deferred region is held until the end, and it is moved to the temporary
+ * file when it becomes large, so the memory usage stays flat regardless of output size.
+ */
+final class Output {
+
+    /** The threshold to move the buffered text out of memory. */
+    private static final int THRESHOLD = 64 * 1024;
+
+    /** The buffered segments, the last one is the append target. */
+    private final ArrayDeque<StringBuilder> segments = new ArrayDeque();
+
+    /** The deferred regions in the ascending order. */
+    private final ArrayDeque<Region> lazy = new ArrayDeque();
+
+    /** The active snapshots, the outermost one is the last. */
+    private final ArrayDeque<Mark> guards = new ArrayDeque();
+
+    /** The current append target. */
+    private StringBuilder current = new StringBuilder();
+
+    /** The number of buffered characters. */
+    private long length;
+
+    /** The number of segments which are moved out of the buffer. */
+    private long dropped;
+
+    /** The number of characters which are moved out of the buffer. */
+    private long moved;
+
+    /** The flag whether the deferred regions are resolving or not. */
+    private boolean resolving;
+
+    /** The destination, null means in-memory. */
+    private Appendable sink;
+
+    /** The temporary file which holds the text after the first deferred region. */
+    private Path spill;
+
+    /** The writer of temporary file. */
+    private Writer spillWriter;
+
+    /**
+     * Create the empty output.
+     */
+    Output() {
+        segments.add(current);
+    }
+
+    /**
+     * Stream the text into the specified destination.
+     *
+     * @param sink A destination.
+     */
+    void streamTo(Appendable sink) {
+        if (this.sink != null || position() != 0) {
+            throw new IllegalStateException("The destination must be specified before writing.");
+        }
+        this.sink = sink;
+    }
+
+    /**
+     * Check whether this output is streamed or not.
+     *
+     * @return A result.
+     */
+    boolean isStreaming() {
+        return sink != null;
+    }
+
+    /**
+     * Retrieve the destination.
+     *
+     * @return The destination.
+     */
+    Appendable sink() {
+        return sink;
+    }
+
+    /**
+     * Compute the current position.
+     *
+     * @return The current position.
+     */
+    long position() {
+        return moved + length;
+    }
+
+    /**
+     * Write the text.
+     *
+     * @param value A text.
+     */
+    void append(String value) {
+        current.append(value);
+        length += value.length();
+
+        if (sink != null && !resolving && THRESHOLD < length) {
+            drain();
+        }
+    }
+
+    /**
+     * Reserve the deferred region at the current position.
+     *
+     * @param indent The indent size of region.
+     * @param writer The writer of region.
+     */
+    void lazy(int indent, Runnable writer) {
+        StringBuilder placeholder = new StringBuilder();
+        lazy.add(new Region(position(), dropped + segments.size(), indent, writer, placeholder));
+        segments.add(placeholder);
+        segments.add(current = new StringBuilder());
+    }
+
+    /**
+     * Start the snapshot at the current position.
+     *
+     * @return A created snapshot.
+     */
+    Mark mark() {
+        if (!current.isEmpty()) {
+            segments.add(current = new StringBuilder());
+        }
+
+        Mark mark = new Mark(dropped + segments.size() - 1);
+        guards.addFirst(mark);
+        return mark;
+    }
+
+    /**
+     * Request to discard the text which is written after the latest snapshot.
+     */
+    void revert() {
+        Mark mark = guards.peekFirst();
+        if (mark != null) {
+            mark.revert = true;
+        }
+    }
+
+    /**
+     * End the specified snapshot, the text after it is discarded if it is requested.
+     *
+     * @param mark The latest snapshot.
+     */
+    void release(Mark mark) {
+        guards.remove(mark);
+
+        if (mark.revert) {
+            while (mark.index < dropped + segments.size() - 1) {
+                length -= segments.pollLast().length();
+            }
+            current = segments.peekLast();
+            length -= current.length();
+            current.setLength(0);
+
+            while (!lazy.isEmpty() && mark.index <= lazy.peekLast().index) {
+                lazy.pollLast();
+            }
+        }
+    }
+
+    /**
+     * Resolve all deferred regions in the reverse order.
+     *
+     * @param indent The indent size setter.
+     */
+    void resolve(IntConsumer indent) {
+        resolving = true;
+        try {
+            Iterator<Region> iterator = lazy.descendingIterator();
+            while (iterator.hasNext()) {
+                Region region = iterator.next();
+                current = region.segment;
+                length -= current.length();
+                current.setLength(0);
+                indent.accept(region.indent);
+
+                region.writer.run();
+            }
+        } finally {
+            current = segments.peekLast();
+            resolving = false;
+        }
+    }
+
+    /**
+     * Build the whole text which is buffered in memory.
+     *
+     * @return The whole text.
+     */
+    String text() {
+        StringBuilder text = new StringBuilder((int) length);
+        for (StringBuilder segment : segments) {
+            text.append(segment);
+        }
+        return text.toString();
+    }
+
+    /**
+     * Move the text which is no longer rewritten out of the buffer.
+     */
+    private void drain() {
+        // The text after the outermost snapshot may be reverted.
+        long border = guards.isEmpty() ? Long.MAX_VALUE : guards.peekLast().index;
+
+        try {
+            while (dropped < border) {
+                StringBuilder segment = segments.peekFirst();
+
+                // The text before the first deferred region is never changed, the text after it
+                // is held in temporary file.
+                if (spillWriter == null && !lazy.isEmpty() && lazy.peekFirst().index <= dropped) {
+                    spill = Files.createTempFile("reincarnation", ".txt");
+                    spill.toFile().deleteOnExit();
+                    spillWriter = Files.newBufferedWriter(spill, UTF_8);
+                }
+                (spillWriter == null ? sink : spillWriter).append(segment);
+                moved += segment.length();
+                length -= segment.length();
+
+                if (segment == current) {
+                    current.setLength(0);
+                    break;
+                }
+                segments.pollFirst();
+                dropped++;
+            }
+        } catch (IOException e) {
+            throw I.quiet(e);
+        }
+    }
+
+    /**
+     * Write all text into the destination with the resolved deferred regions.
+     */
+    void finish() {
+        try {
+            if (spillWriter != null) {
+                spillWriter.close();
+
+                try (Reader reader = Files.newBufferedReader(spill, UTF_8)) {
+                    // The spilled text starts at the first deferred region.
+                    long position = lazy.peekFirst().position;
+
+                    for (Region region : lazy) {
+                        if (dropped <= region.index) {
+                            break; // the remaining regions are still in memory
+                        }
+                        copy(reader, region.position - position);
+                        sink.append(region.segment);
+                        position = region.position;
+                    }
+                    copy(reader, Long.MAX_VALUE);
+                } finally {
+                    discard();
+                }
+            }
+
+            for (StringBuilder segment : segments) {
+                sink.append(segment);
+            }
+
+            moved += length;
+            length = 0;
+            dropped += segments.size();
+            segments.clear();
+            segments.add(current = new StringBuilder());
+            lazy.clear();
+
+            if (sink instanceof Writer writer) {
+                writer.flush();
+            }
+        } catch (IOException e) {
+            throw I.quiet(e);
+        }
+    }
+
+    /**
+     * Release the temporary file without writing the spilled text into the destination.
+     */
+    void discard() {
+        if (spill != null) {
+            try {
+                spillWriter.close();
+            } catch (IOException e) {
+                // ignore, the file is deleted anyway
+            }
+
+            try {
+                Files.deleteIfExists(spill);
+            } catch (IOException e) {
+                // deleted on exit
+            }
+            spill = null;
+            spillWriter = null;
+        }
+    }
+
+    /**
+     * Copy the spilled text into the destination.
+     *
+     * @param reader The spilled text.
+     * @param size The maximum number of characters to copy.
+     */
+    private void copy(Reader reader, long size) throws IOException {
+        char[] chars = new char[8192];
+
+        while (0 < size) {
+            int read = reader.read(chars, 0, (int) Math.min(chars.length, size));
+            if (read == -1) {
+                break;
+            }
+            sink.append(new String(chars, 0, read));
+            size -= read;
+        }
+    }
+
+    /**
+     * The deferred region.
+     *
+     * @param position The start position.
+     * @param index The index of placeholder segment.
+     * @param indent The indent size.
+     * @param writer The writer of region.
+     * @param segment The placeholder segment.
+     */
+    private record Region(long position, long index, int indent, Runnable writer, StringBuilder segment) {
+    }
+
+    /**
+     * The snapshot point.
+     */
+    static final class Mark {
+
+        /** The index of the first segment after this snapshot. */
+        private final long index;
+
+        /** The flag whether the text after this snapshot will be discarded or not. */
+        private boolean revert;
+
+        /**
+         * @param index The index of the first segment after this snapshot.
+         */
+        private Mark(long index) {
+            this.index = index;
+        }
+    }
+}
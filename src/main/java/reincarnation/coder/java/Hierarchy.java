@@ -65,7 +65,7 @@ class Hierarchy {
                         current = current.child(encloser);
                     }
 
-                    Reincarnation r = Reincarnation.exhume(clazz);
+                    Reincarnation r = reincarnation.relative(clazz);
                     queue.addAll(r.classes);
                     queue.addAll(r.anonymous);
                 }
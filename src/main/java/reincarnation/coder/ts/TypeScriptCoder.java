@@ -51,6 +51,7 @@ import reincarnation.operator.AssignOperator;
 import reincarnation.operator.BinaryOperator;
 import reincarnation.operator.UnaryOperator;
 import reincarnation.structure.Fragment;
+import reincarnation.util.ClassSnapshot;
 import reincarnation.util.Classes;
 import reincarnation.util.GeneratedCodes;
 import reincarnation.util.MultiMap;
@@ -120,7 +121,7 @@ public class TypeScriptCoder extends Coder<TypeScriptCodingOption> {
             reincarnation.initializer.forEach(this::writeInitializer);
             reincarnation.constructors.forEach(this::writeConstructor);
             reincarnation.methods.forEach(this::writeMethod);
-            anons.forEach(e -> writeOne(Reincarnation.exhume(e)));
+            anons.forEach(e -> writeOne(reincarnation.relative(e)));
         });
 
         // pop decompiler info
@@ -156,9 +157,10 @@ public class TypeScriptCoder extends Coder<TypeScriptCodingOption> {
             implement = Join.of(type.getGenericInterfaces()).ignoreEmpty().prefix(" implements ").converter(this::name);
             accessor.remove("static", "final");
 
-            boolean vararg = type.getDeclaredConstructors()[0].isVarArgs();
-            int max = type.getRecordComponents().length - 1;
-            variable = Join.of(type.getRecordComponents())
+            ClassSnapshot snapshot = ClassSnapshot.of(type);
+            boolean vararg = snapshot.constructors().get(0).isVarArgs();
+            int max = snapshot.recordComponents().size() - 1;
+            variable = Join.of(snapshot.recordComponents())
                     .prefix("(")
                     .separator("," + space)
                     .suffix(")")
@@ -251,7 +253,7 @@ public class TypeScriptCoder extends Coder<TypeScriptCodingOption> {
             EnumStaticInitializer coder = new EnumStaticInitializer(this);
             code.write(coder);
 
-            I.signal(current.v.getDeclaredFields()).skip(Field::isSynthetic).skip(Field::isEnumConstant).to(this::writeFieldDefinition);
+            I.signal(ClassSnapshot.of(current.v).fields()).skip(Field::isSynthetic).skip(Field::isEnumConstant).to(this::writeFieldDefinition);
 
             if (!coder.codes.isEmpty()) {
                 line();
@@ -336,7 +338,7 @@ public class TypeScriptCoder extends Coder<TypeScriptCodingOption> {
         vars.start();
 
         Naming naming = naming(code);
-        Join<Parameter> param = Join.of(method.getParameters())
+        Join<Parameter> param = Join.of(ClassSnapshot.of(method).parameters(method))
                 .ignoreSingle()
                 .prefix("(")
                 .separator("," + space)
@@ -366,7 +368,7 @@ public class TypeScriptCoder extends Coder<TypeScriptCodingOption> {
      */
     private void writeLocalClass(Class clazz) {
         indent(() -> {
-            writeOne(Reincarnation.exhume(clazz));
+            writeOne(reincarnation.relative(clazz));
         });
         line();
     }
@@ -378,8 +380,9 @@ public class TypeScriptCoder extends Coder<TypeScriptCodingOption> {
      * @return
      */
     private Join buildParameter(Executable executable, Naming strategy) {
-        List<Ⅱ<Parameter, Type>> params = I.signal(executable.getParameters())
-                .combine(I.signal(Classes.fixGenericParameterTypes(executable)))
+        ClassSnapshot snapshot = ClassSnapshot.of(executable);
+        List<Ⅱ<Parameter, Type>> params = I.signal(snapshot.parameters(executable))
+                .combine(I.signal(snapshot.parameterTypes(executable)))
                 .toList();
 
         return Join.of(params)
@@ -775,12 +778,12 @@ public class TypeScriptCoder extends Coder<TypeScriptCodingOption> {
     private Join buildCallParameter(Executable executable, List<Code> params, int start) {
         Join concat = new Join().prefix("(").suffix(")").separator("," + space);
 
-        Parameter[] parameters = executable.getParameters();
+        List<Parameter> parameters = ClassSnapshot.of(executable).parameters(executable);
         for (int i = start; i < params.size(); i++) {
             Code param = params.get(i);
 
             if (param == Operand.Null) {
-                concat.add(new InferedCode(parameters[i].getType(), param));
+                concat.add(new InferedCode(parameters.get(i).getType(), param));
             } else {
                 concat.add(param);
             }
@@ -1161,9 +1164,9 @@ public class TypeScriptCoder extends Coder<TypeScriptCodingOption> {
     private void writeAnnotation(List<AnnotationLike> annotations) {
         I.signal(annotations).skip(annotation -> annotation.clazz == Debuggable.class).to(annotation -> {
             // Checks for full compliance with the Repeatable annotation specification.
-            Method[] methods = annotation.clazz.getDeclaredMethods();
-            if (methods.length == 1) {
-                Method m = methods[0];
+            List<Method> methods = ClassSnapshot.of(annotation.clazz).methods();
+            if (methods.size() == 1) {
+                Method m = methods.get(0);
                 if (m.getName().equals("value")) {
                     Class returnType = m.getReturnType();
                     if (returnType.isArray() && returnType.getComponentType().isAnnotationPresent(Repeatable.class)) {
@@ -1192,7 +1195,7 @@ public class TypeScriptCoder extends Coder<TypeScriptCodingOption> {
      */
     private String writeAnnotationValue(Object value) {
         if (value instanceof AnnotationLike annotation) {
-            return "@" + name(annotation.clazz) + Join.of(annotation.clazz.getDeclaredMethods())
+            return "@" + name(annotation.clazz) + Join.of(ClassSnapshot.of(annotation.clazz).methods())
                     .ignoreEmpty()
                     .prefix("(")
                     .separator("," + space)
@@ -1682,7 +1685,7 @@ public class TypeScriptCoder extends Coder<TypeScriptCodingOption> {
                             lineNI(space, "{");
                             indent(() -> {
                                 Class prev = current.set(owner);
-                                Reincarnation exhumed = Reincarnation.exhume(owner);
+                                Reincarnation exhumed = reincarnation.relative(owner);
 
                                 exhumed.staticFields.forEach(this::writeStaticField);
                                 exhumed.fields.forEach(this::writeField);
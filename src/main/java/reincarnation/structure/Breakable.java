@@ -12,6 +12,7 @@ package reincarnation.structure;
 import java.util.HashSet;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import kiss.I;
 import kiss.Variable;
@@ -19,7 +20,7 @@ import reincarnation.Node;
 
 public abstract class Breakable extends Structure {
 
-    private static int labelReference = 0;
+    private static final AtomicInteger labelReference = new AtomicInteger();
 
     /** The first processing node of this block structure. */
     protected final Node first;
@@ -51,7 +52,7 @@ public abstract class Breakable extends Structure {
         if (label == null) {
             Variable<Boolean> requireLabel = I.signal(jumpers).any(jumper -> jumper.omitLabel.is(false)).to();
 
-            label = requireLabel.v ? Optional.of(String.valueOf(labelReference++)) : Optional.empty();
+            label = requireLabel.v ? Optional.of(String.valueOf(labelReference.getAndIncrement())) : Optional.empty();
         }
         return label;
     }
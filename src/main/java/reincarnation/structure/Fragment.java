@@ -44,13 +44,7 @@ public class Fragment extends Structure {
         this.code = Objects.requireNonNull(code);
         this.follow = Objects.requireNonNullElse(follow, Structure.Empty);
 
-        code.children().to(operand -> {
-            // top level opereands MUST NOT be enclosed.
-            operand.disclose();
-
-            // top level operands MUST be statement.
-            operand.markAsStatement();
-        });
+        code.markOperandsAsStatement();
     }
 
     /**
@@ -0,0 +1,164 @@
+/*
+ * Copyright (C) 2024 The REINCARNATION Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package reincarnation.util;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.lang.reflect.RecordComponent;
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The reflective metadata of the class which is taken only once and shared by the decompiler and
+ * all coders. Reflection hands back the new defensive copy of the member array at each call, so
+ * the snapshot keeps the immutable lists instead and every caller reads the same instances. The
+ * snapshot is held by the class itself, so it never pins the class and its loader.
+ */
+public final class ClassSnapshot {
+
+    /** The snapshot of each class. */
+    private static final ClassValue<ClassSnapshot> SNAPSHOT = new ClassValue<>() {
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        protected ClassSnapshot computeValue(Class<?> type) {
+            return new ClassSnapshot(type);
+        }
+    };
+
+    /** The target class. */
+    private final Class type;
+
+    /** The declared fields. */
+    private volatile List<Field> fields;
+
+    /** The declared methods. */
+    private volatile List<Method> methods;
+
+    /** The declared constructors. */
+    private volatile List<Constructor> constructors;
+
+    /** The record components. */
+    private volatile List<RecordComponent> components;
+
+    /** The parameters of each declared executable. */
+    private final Map<Executable, List<Parameter>> parameters = new ConcurrentHashMap();
+
+    /** The generic parameter types of each declared executable. */
+    private final Map<Executable, List<Type>> parameterTypes = new ConcurrentHashMap();
+
+    /**
+     * @param type The target class.
+     */
+    private ClassSnapshot(Class type) {
+        this.type = type;
+    }
+
+    /**
+     * Get the snapshot of the specified class.
+     *
+     * @param type A target class.
+     * @return The shared snapshot.
+     */
+    public static ClassSnapshot of(Class type) {
+        return SNAPSHOT.get(type);
+    }
+
+    /**
+     * Get the snapshot of the class which declares the specified executable.
+     *
+     * @param executable A target executable.
+     * @return The shared snapshot.
+     */
+    public static ClassSnapshot of(Executable executable) {
+        return SNAPSHOT.get(executable.getDeclaringClass());
+    }
+
+    /**
+     * Get the declared fields like {@link Class#getDeclaredFields()}.
+     *
+     * @return The immutable list of fields.
+     */
+    public List<Field> fields() {
+        List<Field> list = fields;
+        if (list == null) {
+            fields = list = List.of(type.getDeclaredFields());
+        }
+        return list;
+    }
+
+    /**
+     * Get the declared methods like {@link Class#getDeclaredMethods()}.
+     *
+     * @return The immutable list of methods.
+     */
+    public List<Method> methods() {
+        List<Method> list = methods;
+        if (list == null) {
+            methods = list = List.of(type.getDeclaredMethods());
+        }
+        return list;
+    }
+
+    /**
+     * Get the declared constructors like {@link Class#getDeclaredConstructors()}.
+     *
+     * @return The immutable list of constructors.
+     */
+    public List<Constructor> constructors() {
+        List<Constructor> list = constructors;
+        if (list == null) {
+            constructors = list = List.of(type.getDeclaredConstructors());
+        }
+        return list;
+    }
+
+    /**
+     * Get the record components like {@link Class#getRecordComponents()}.
+     *
+     * @return The immutable list of components, empty list if the class is not record.
+     */
+    public List<RecordComponent> recordComponents() {
+        List<RecordComponent> list = components;
+        if (list == null) {
+            RecordComponent[] array = type.getRecordComponents();
+            components = list = array == null ? List.of() : List.of(array);
+        }
+        return list;
+    }
+
+    /**
+     * Get the parameters of the executable like {@link Executable#getParameters()}.
+     *
+     * @param executable A target executable which is declared in this class.
+     * @return The immutable list of parameters.
+     */
+    public List<Parameter> parameters(Executable executable) {
+        return parameters.computeIfAbsent(executable, e -> List.of(e.getParameters()));
+    }
+
+    /**
+     * Get the generic parameter types of the executable like
+     * {@link Classes#fixGenericParameterTypes(Executable)}.
+     *
+     * @param executable A target executable which is declared in this class.
+     * @return The immutable list of parameter types.
+     */
+    public List<Type> parameterTypes(Executable executable) {
+        return parameterTypes.computeIfAbsent(executable, e -> List.of(Classes.fixGenericParameterTypes(e)));
+    }
+}
@@ -16,6 +16,7 @@ import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.lang.reflect.Parameter;
 import java.lang.reflect.RecordComponent;
+import java.util.List;
 
 import reincarnation.coder.Code;
 
@@ -31,7 +32,7 @@ public class GeneratedCodes {
      * @return
      */
     public static boolean isImplicitConstructor(Constructor constructor, Code<Code> code) {
-        if (constructor.getDeclaringClass().getDeclaredConstructors().length != 1) {
+        if (ClassSnapshot.of(constructor).constructors().size() != 1) {
             return false;
         }
 
@@ -60,8 +61,7 @@ public class GeneratedCodes {
         // The detailed parameter information should not be used, as it cannot be obtained if
         // debugging information is not provided.
         if (Classes.isMemberLike(owner) && Classes.isNonStatic(owner) && owner.getEnclosingClass() == parameter.getType()) {
-            Parameter[] parameters = exe.getParameters();
-            if (parameters[0] == parameter) {
+            if (ClassSnapshot.of(exe).parameters(exe).get(0).equals(parameter)) {
                 return true;
             }
         }
@@ -107,9 +107,9 @@ public class GeneratedCodes {
         // The detailed parameter information should not be used, as it cannot be obtained if
         // debugging information is not provided.
         if (exe.getDeclaringClass().isEnum() && exe instanceof Constructor) {
-            Parameter[] parameters = exe.getParameters();
+            List<Parameter> parameters = ClassSnapshot.of(exe).parameters(exe);
             for (int i = 0; i < 2; i++) {
-                if (parameters[i] == parameter) {
+                if (parameters.get(i).equals(parameter)) {
                     return true;
                 }
             }
@@ -213,7 +213,7 @@ public class GeneratedCodes {
     public static boolean isRecordConstructor(Constructor constructor, Code<Code> code) {
         if (constructor.getDeclaringClass().isRecord()) {
             long count = code.descendent().count().to().exact();
-            if (3 + constructor.getDeclaringClass().getRecordComponents().length * 4 == count) {
+            if (3 + ClassSnapshot.of(constructor).recordComponents().size() * 4 == count) {
                 return true;
             }
         }
@@ -241,7 +241,7 @@ public class GeneratedCodes {
         } else if (name.equals("equals") && params.length == 1 && params[0] == Object.class) {
             return true;
         } else if (params.length == 0) {
-            for (RecordComponent component : method.getDeclaringClass().getRecordComponents()) {
+            for (RecordComponent component : ClassSnapshot.of(method).recordComponents()) {
                 if (component.getName().equals(name)) {
                     long count = code.descendent().count().to().exact();
                     if (count == 5) {
@@ -267,7 +267,7 @@ public class GeneratedCodes {
             return false;
         }
 
-        for (RecordComponent component : owner.getRecordComponents()) {
+        for (RecordComponent component : ClassSnapshot.of(owner).recordComponents()) {
             if (component.getName().equals(name)) {
                 return true;
             }
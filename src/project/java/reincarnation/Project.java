@@ -36,6 +36,8 @@ public class Project extends bee.api.Project {
         require("com.caoccao.javet", "javet-node-windows-x86_64").atTest();
         require("com.caoccao.javet", "swc4j").atTest();
         require("com.caoccao.javet", "swc4j-windows-x86_64").atTest();
+        require("org.openjdk.jmh", "jmh-core").atTest();
+        require("org.openjdk.jmh", "jmh-generator-annprocess").atTest();
 
         // for jetbrains fernflower
         require("org.jetbrains", "annotations").atTest();
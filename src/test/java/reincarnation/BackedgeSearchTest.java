@@ -0,0 +1,207 @@
+/*
+ * Copyright (C) 2024 The REINCARNATION Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package reincarnation;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class BackedgeSearchTest {
+
+    @Test
+    void loop() {
+        Node[] n = Graph.detached(4);
+        n[0].connect(n[1]);
+        n[1].connect(n[2]);
+        n[2].connect(n[1]);
+        n[1].connect(n[3]);
+
+        assert n[0].searchBackEdge();
+        assert n[1].backedges.equals(List.of(n[2]));
+        assert n[2].backedges.isEmpty();
+    }
+
+    @Test
+    void selfLoop() {
+        Node[] n = Graph.detached(2);
+        n[0].connect(n[1]);
+        n[1].connect(n[1]);
+
+        assert n[0].searchBackEdge();
+        assert n[1].backedges.equals(List.of(n[1]));
+    }
+
+    @Test
+    void nestedLoops() {
+        Node[] n = Graph.detached(5);
+        n[0].connect(n[1]);
+        n[1].connect(n[2]);
+        n[2].connect(n[3]);
+        n[3].connect(n[2]);
+        n[3].connect(n[1]);
+        n[1].connect(n[4]);
+
+        assert n[0].searchBackEdge();
+        assert n[1].backedges.equals(List.of(n[3]));
+        assert n[2].backedges.equals(List.of(n[3]));
+    }
+
+    @Test
+    void irreducible() {
+        Node[] n = Graph.detached(3);
+        n[0].connect(n[1]);
+        n[0].connect(n[2]);
+        n[1].connect(n[2]);
+        n[2].connect(n[1]);
+
+        assert !n[0].searchBackEdge();
+        assert n[1].backedges.equals(List.of(n[2]));
+        assert n[2].backedges.equals(List.of(n[1]));
+    }
+
+    /**
+     * Create the irreducible entrance followed by the loop which has 2^size paths.
+     */
+    private Node[] explosion(int size) {
+        Node[] n = Graph.detached(3 + size * 3 + 1);
+        n[0].connect(n[1]);
+        n[0].connect(n[2]);
+        n[1].connect(n[2]);
+        n[2].connect(n[1]);
+        n[2].connect(n[3]);
+
+        Node head = n[3];
+        Node last = head;
+        for (int i = 0; i < size; i++) {
+            Node left = n[4 + i * 3];
+            Node right = n[5 + i * 3];
+            Node join = n[6 + i * 3];
+            last.connect(left);
+            last.connect(right);
+            left.connect(join);
+            right.connect(join);
+            last = join;
+        }
+        last.connect(head);
+        return n;
+    }
+
+    @Test
+    void irreducibleExplosion() {
+        Node[] n = explosion(40);
+        Node head = n[3];
+        Node last = n[n.length - 1];
+
+        // the exhaustive search is abandoned, the linear search is used
+        assert !n[0].searchBackEdge();
+        assert n[1].backedges.equals(List.of(n[2]));
+        assert n[2].backedges.isEmpty();
+        assert head.backedges.equals(List.of(last));
+        for (int i = 4; i < n.length; i++) {
+            assert n[i].backedges.isEmpty();
+        }
+    }
+
+    @Test
+    void interruptedByTime() {
+        Node[] n = explosion(40);
+
+        try (Budget.Meter meter = new Budget().time(Duration.ofMillis(1)).start("interrupted")) {
+            n[0].searchBackEdge();
+            assert false : "The exhaustive search must be interrupted.";
+        } catch (Budget.Exceeded e) {
+            // expected
+        }
+    }
+
+    @Test
+    void longChain() {
+        Node[] n = Graph.detached(20000);
+        for (int i = 1; i < n.length; i++) {
+            n[i - 1].connect(n[i]);
+        }
+        n[n.length - 1].connect(n[0]);
+
+        assert n[0].searchBackEdge();
+        assert n[0].backedges.equals(List.of(n[n.length - 1]));
+    }
+
+    @Test
+    void stateMachine() {
+        // while (true) switch (state) { case i: state = ...; }
+        int size = 10000;
+        Node[] n = Graph.detached(size + 2);
+        Node header = n[0];
+        Node dispatch = n[1];
+        header.connect(dispatch);
+        for (int i = 2; i < n.length; i++) {
+            dispatch.connect(n[i]);
+            if (i + 1 < n.length) n[i].connect(n[i + 1]);
+            n[i].connect(header);
+        }
+
+        assert header.searchBackEdge();
+        assert header.backedges.size() == size;
+        assert header.backedges.get(0) == n[n.length - 1];
+    }
+
+    @Test
+    void sameAsExhaustiveSearch() {
+        Random random = new Random(7);
+
+        for (int round = 0; round < 300; round++) {
+            int size = 3 + random.nextInt(10);
+            Node[] actual = Graph.detached(size);
+            Node[] expected = Graph.detached(size);
+
+            for (int i = 0; i < size; i++) {
+                int edges = 1 + random.nextInt(2);
+                for (int j = 0; j < edges; j++) {
+                    int to = random.nextInt(4) == 0 ? random.nextInt(size) : Math.min(size - 1, i + 1 + random.nextInt(2));
+                    actual[i].connect(actual[to]);
+                    expected[i].connect(expected[to]);
+                }
+            }
+
+            actual[0].searchBackEdge();
+            exhaustive(expected[0], new ArrayDeque());
+
+            for (int i = 0; i < size; i++) {
+                assert ids(actual[i].backedges).equals(ids(expected[i].backedges)) : "round " + round + " node " + i;
+            }
+        }
+    }
+
+    /**
+     * The reference implementation which visits the node again on each path.
+     */
+    private static void exhaustive(Node node, Deque<Node> recorder) {
+        recorder.add(node);
+        for (Node out : node.outgoing) {
+            if (recorder.contains(out)) {
+                out.backedges.addIfAbsent(node);
+            } else {
+                exhaustive(out, recorder);
+            }
+        }
+        recorder.pollLast();
+    }
+
+    /**
+     * Map to the ids to compare the separated graphs.
+     */
+    private static List<String> ids(List<Node> nodes) {
+        return nodes.stream().map(node -> node.id).toList();
+    }
+}
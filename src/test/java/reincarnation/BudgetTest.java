@@ -0,0 +1,118 @@
+/*
+ * Copyright (C) 2024 The REINCARNATION Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package reincarnation;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class BudgetTest {
+
+    /**
+     * Create the nodes which have the specified number of operands.
+     */
+    private List<Node> nodes(int size, int operands) {
+        List<Node> nodes = new ArrayList();
+        for (int i = 0; i < size; i++) {
+            Node node = new Node(i, i);
+            for (int j = 0; j < operands; j++) {
+                node.stack.add(new OperandNumber(j));
+            }
+            nodes.add(node);
+        }
+        return nodes;
+    }
+
+    /**
+     * Check whether the budget is exceeded or not.
+     */
+    private boolean exceeds(Runnable check) {
+        try {
+            check.run();
+            return false;
+        } catch (Budget.Exceeded e) {
+            return true;
+        }
+    }
+
+    @Test
+    void unlimited() {
+        try (Budget.Meter meter = new Budget().start("unlimited")) {
+            assert !exceeds(() -> Budget.check(nodes(100, 10)));
+            assert !exceeds(Budget::checkpoint);
+        }
+    }
+
+    @Test
+    void nodes() {
+        try (Budget.Meter meter = new Budget().nodes(3).start("nodes")) {
+            assert !exceeds(() -> Budget.check(nodes(3, 1)));
+            assert exceeds(() -> Budget.check(nodes(4, 1)));
+        }
+    }
+
+    @Test
+    void operands() {
+        try (Budget.Meter meter = new Budget().operands(6).start("operands")) {
+            assert !exceeds(() -> Budget.check(nodes(3, 2)));
+            assert exceeds(() -> Budget.check(nodes(3, 3)));
+        }
+    }
+
+    @Test
+    void time() throws Exception {
+        try (Budget.Meter meter = new Budget().time(Duration.ofMillis(1)).start("time")) {
+            Thread.sleep(10);
+            assert exceeds(Budget::checkpoint);
+            assert exceeds(() -> Budget.check(nodes(1, 1)));
+        }
+    }
+
+    @Test
+    void noMeter() {
+        assert !exceeds(Budget::checkpoint);
+        assert !exceeds(() -> Budget.check(nodes(100, 10)));
+    }
+
+    @Test
+    void nest() {
+        try (Budget.Meter outer = new Budget().nodes(1).start("outer")) {
+            try (Budget.Meter inner = new Budget().start("inner")) {
+                assert !exceeds(() -> Budget.check(nodes(2, 1)));
+            }
+            assert exceeds(() -> Budget.check(nodes(2, 1)));
+        }
+        assert !exceeds(() -> Budget.check(nodes(2, 1)));
+    }
+
+    @Test
+    void invalid() {
+        Budget budget = new Budget();
+        assert rejects(() -> budget.nodes(0));
+        assert rejects(() -> budget.operands(-1));
+        assert rejects(() -> budget.reachability(-1));
+        assert rejects(() -> budget.time(Duration.ZERO));
+        assert rejects(() -> budget.time(null));
+    }
+
+    /**
+     * Check whether the configuration is rejected or not.
+     */
+    private boolean rejects(Runnable configuration) {
+        try {
+            configuration.run();
+            return false;
+        } catch (IllegalArgumentException e) {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright (C) 2024 The REINCARNATION Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package reincarnation;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ByteCodeLoaderTest {
+
+    @TempDir
+    Path root;
+
+    private final ByteCodeLoader loader = new ByteCodeLoader(ClassLoader.getSystemClassLoader(), null);
+
+    /**
+     * Write the class file into the temporary class directory.
+     *
+     * @param name A class name.
+     * @param bytes A class file bytes.
+     */
+    private void write(String name, byte[] bytes) throws IOException {
+        Path file = root.resolve(name.replace('.', '/') + ".class");
+        Files.createDirectories(file.getParent());
+        Files.write(file, bytes);
+    }
+
+    @Test
+    void define() {
+        Class clazz = loader.define(SyntheticCode.MANY, SyntheticCode.many(1));
+        assert clazz.getName().equals(SyntheticCode.MANY);
+        assert clazz.getClassLoader() == loader;
+    }
+
+    @Test
+    void defineSameBytes() {
+        byte[] bytes = SyntheticCode.many(1);
+        Class clazz = loader.define(SyntheticCode.MANY, bytes);
+        assert clazz == loader.define(SyntheticCode.MANY, bytes.clone());
+    }
+
+    @Test
+    void defineOtherBytes() {
+        Class clazz = loader.define(SyntheticCode.MANY, SyntheticCode.many(1));
+        Class other = loader.define(SyntheticCode.MANY, SyntheticCode.many(2));
+        assert clazz != other;
+        assert other.getClassLoader() != loader;
+        assert other.getDeclaredMethods().length == 2;
+
+        // each definition is reused
+        assert clazz == loader.define(SyntheticCode.MANY, SyntheticCode.many(1));
+        assert other == loader.define(SyntheticCode.MANY, SyntheticCode.many(2));
+    }
+
+    @Test
+    void share() {
+        Class many = loader.define(SyntheticCode.MANY, SyntheticCode.many(1));
+        Class large = loader.define(SyntheticCode.LARGE, SyntheticCode.large(10));
+        assert many.getClassLoader() == large.getClassLoader();
+    }
+
+    @Test
+    void classPath() throws Exception {
+        write(SyntheticCode.MANY, SyntheticCode.many(1));
+
+        ByteCodeLoader loader = new ByteCodeLoader(ClassLoader.getSystemClassLoader(), root);
+        Class clazz = Class.forName(SyntheticCode.MANY, false, loader);
+        assert clazz.getClassLoader() == loader;
+
+        // the class file in the class path is the same definition
+        assert clazz == loader.define(SyntheticCode.MANY, SyntheticCode.many(1));
+        assert clazz != loader.define(SyntheticCode.MANY, SyntheticCode.many(2));
+    }
+}
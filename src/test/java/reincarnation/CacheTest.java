@@ -0,0 +1,160 @@
+/*
+ * Copyright (C) 2024 The REINCARNATION Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package reincarnation;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+class CacheTest {
+
+    /**
+     * Build the decompilation which counts the actual execution.
+     * 
+     * @param counter A execution counter.
+     * @return A decompilation.
+     */
+    private Callable<Reincarnation> decompile(AtomicInteger counter) {
+        return () -> {
+            counter.incrementAndGet();
+            return Reincarnation.exhume(Sample.class);
+        };
+    }
+
+    @Test
+    void memoize() {
+        Cache cache = new Cache();
+        AtomicInteger counter = new AtomicInteger();
+
+        Reincarnation first = cache.get(Sample.class, decompile(counter));
+        Reincarnation second = cache.get(Sample.class, decompile(counter));
+        assert first == second;
+        assert counter.get() == 1;
+        assert cache.misses() == 1;
+        assert cache.hits() == 1;
+        assert cache.size() == 1;
+        assert 0 < cache.weight();
+    }
+
+    @Test
+    void invalidateClass() {
+        Cache cache = new Cache();
+        AtomicInteger counter = new AtomicInteger();
+
+        cache.get(Sample.class, decompile(counter));
+        cache.invalidate(Sample.class);
+        assert cache.size() == 0;
+        assert cache.weight() == 0;
+
+        cache.get(Sample.class, decompile(counter));
+        assert counter.get() == 2;
+        assert cache.misses() == 2;
+    }
+
+    @Test
+    void invalidateClassLoader() {
+        Cache cache = new Cache();
+        AtomicInteger counter = new AtomicInteger();
+
+        cache.get(Sample.class, decompile(counter));
+        cache.invalidate(String.class.getClassLoader());
+        assert cache.size() == 1;
+
+        cache.invalidate(Sample.class.getClassLoader());
+        assert cache.size() == 0;
+
+        cache.get(Sample.class, decompile(counter));
+        assert counter.get() == 2;
+    }
+
+    @Test
+    void limit() {
+        Cache cache = new Cache();
+        AtomicInteger counter = new AtomicInteger();
+
+        cache.get(Sample.class, decompile(counter));
+        cache.limit(0);
+        assert cache.size() == 0;
+        assert cache.weight() == 0;
+        assert cache.evictions() == 1;
+
+        cache.get(Sample.class, decompile(counter));
+        assert counter.get() == 2;
+        assert cache.evictions() == 2;
+    }
+
+    @Test
+    void limitNegative() {
+        try {
+            new Cache().limit(-1);
+            assert false;
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    @Test
+    void invalidateWhileDecompiling() {
+        Cache cache = new Cache();
+        AtomicInteger counter = new AtomicInteger();
+
+        Reincarnation first = cache.get(Sample.class, () -> {
+            Reincarnation reincarnation = decompile(counter).call();
+            cache.invalidate(Sample.class);
+            return reincarnation;
+        });
+        assert cache.size() == 0;
+        assert cache.weight() == 0;
+
+        Reincarnation second = cache.get(Sample.class, decompile(counter));
+        assert first != second;
+        assert counter.get() == 2;
+        assert cache.size() == 1;
+
+        cache.limit(0);
+        assert cache.size() == 0;
+    }
+
+    @Test
+    void clearWhileDecompiling() {
+        Cache cache = new Cache();
+        AtomicInteger counter = new AtomicInteger();
+
+        cache.get(Sample.class, () -> {
+            Reincarnation reincarnation = decompile(counter).call();
+            cache.clear();
+            return reincarnation;
+        });
+        assert cache.size() == 1;
+        assert cache.weight() == cache.get(Sample.class, decompile(counter)).weight();
+        assert counter.get() == 1;
+    }
+
+    @Test
+    void failure() {
+        Cache cache = new Cache();
+        AtomicInteger counter = new AtomicInteger();
+
+        try {
+            cache.get(Sample.class, () -> {
+                throw new IllegalStateException();
+            });
+            assert false;
+        } catch (IllegalStateException e) {
+            // expected
+        }
+        assert cache.size() == 0;
+
+        cache.get(Sample.class, decompile(counter));
+        assert counter.get() == 1;
+        assert cache.size() == 1;
+    }
+}
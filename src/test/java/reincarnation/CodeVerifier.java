@@ -197,7 +197,7 @@ public class CodeVerifier {
             } catch (Throwable e) {
                 if (info.decompilerDebugLog.isEmpty() && debugged.add(target)) {
                     // decompile with debug mode
-                    Reincarnation.CACHE.remove(target);
+                    Reincarnation.CACHE.invalidate(target);
                     info.decompiled = decompile(target, true);
                 }
                 throw e;
@@ -0,0 +1,121 @@
+/*
+ * Copyright (C) 2024 The REINCARNATION Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package reincarnation;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import reincarnation.coder.java.JavaCodingOption;
+
+class DiskCacheTest {
+
+    @TempDir
+    Path directory;
+
+    /**
+     * List all cache files.
+     * 
+     * @return A list of cache files.
+     */
+    private List<Path> files() throws IOException {
+        try (Stream<Path> stream = Files.walk(directory)) {
+            return stream.filter(Files::isRegularFile).toList();
+        }
+    }
+
+    @Test
+    void store() throws IOException {
+        DiskCache cache = DiskCache.of(directory);
+
+        String code = cache.rebirth(Sample.class, (JavaCodingOption) null);
+        assert code.equals(Reincarnation.rebirth(Sample.class));
+        assert files().size() == 1;
+        assert Files.readString(files().get(0)).equals(code);
+    }
+
+    @Test
+    void serveFromDisk() throws IOException {
+        DiskCache cache = DiskCache.of(directory);
+        cache.rebirth(Sample.class, (JavaCodingOption) null);
+
+        Files.writeString(files().get(0), "cached");
+        assert cache.rebirth(Sample.class, (JavaCodingOption) null).equals("cached");
+    }
+
+    @Test
+    void keyedByOption() throws IOException {
+        DiskCache cache = DiskCache.of(directory);
+        cache.rebirth(Sample.class, (JavaCodingOption) null);
+        assert files().size() == 1;
+
+        JavaCodingOption options = new JavaCodingOption();
+        options.indentChar = "\t";
+        cache.rebirth(Sample.class, options);
+        assert files().size() == 2;
+    }
+
+    @Test
+    void memberFromTopLevel() throws IOException {
+        DiskCache cache = DiskCache.of(directory);
+        JavaCodingOption options = new JavaCodingOption();
+        options.writeMemberFromTopLevel = true;
+
+        String first = cache.rebirth(First.class, options);
+        String second = cache.rebirth(Second.class, options);
+        assert first.equals(Reincarnation.rebirth(First.class, options));
+        assert second.equals(Reincarnation.rebirth(Second.class, options));
+        assert files().size() == 2;
+    }
+
+    @Test
+    void limit() throws IOException {
+        DiskCache cache = DiskCache.of(directory).limit(0);
+
+        String code = cache.rebirth(Sample.class, (JavaCodingOption) null);
+        assert code.equals(Reincarnation.rebirth(Sample.class));
+        assert files().isEmpty();
+    }
+
+    @Test
+    void negativeLimit() {
+        try {
+            DiskCache.of(directory).limit(-1);
+            assert false;
+        } catch (IllegalArgumentException e) {
+            assert e.getMessage().contains("must not be negative");
+        }
+    }
+
+    @Test
+    void keyedBySupertypes() throws IOException {
+        DiskCache cache = DiskCache.of(directory);
+        cache.rebirth(Second.class, (JavaCodingOption) null);
+        cache.rebirth(Second.class, (JavaCodingOption) null);
+        assert files().size() == 1;
+
+        cache.rebirth(Third.class, (JavaCodingOption) null);
+        assert files().size() == 2;
+    }
+
+    static class First {
+    }
+
+    static class Second extends First {
+    }
+
+    static class Third extends Second {
+    }
+}
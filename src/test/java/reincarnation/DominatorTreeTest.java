@@ -0,0 +1,288 @@
+/*
+ * Copyright (C) 2024 The REINCARNATION Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package reincarnation;
+
+import java.util.Objects;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class DominatorTreeTest {
+
+    private final Graph graph = new Graph();
+
+    private final DominatorTree tree = graph.tree;
+
+    /**
+     * Compute all dominators and make the tree ready.
+     */
+    private void compute() {
+        tree.compute();
+    }
+
+    @Test
+    void chain() {
+        Node a = graph.node();
+        Node b = graph.node();
+        Node c = graph.node();
+        a.connect(b);
+        b.connect(c);
+        compute();
+
+        assert tree.dominates(c, a) == 1;
+        assert tree.dominates(c, b) == 1;
+        assert tree.dominates(c, c) == 1;
+        assert tree.dominates(a, c) == 0;
+        assert tree.dominates(a, null) == 0;
+        assert tree.lowest(a, c) == a;
+        assert tree.lowest(c, b) == b;
+    }
+
+    @Test
+    void diamond() {
+        Node a = graph.node();
+        Node b = graph.node();
+        Node c = graph.node();
+        Node d = graph.node();
+        a.connect(b);
+        a.connect(c);
+        b.connect(d);
+        c.connect(d);
+        compute();
+
+        assert d.getDominator() == a;
+        assert tree.dominates(d, a) == 1;
+        assert tree.dominates(d, b) == 0;
+        assert tree.dominates(d, c) == 0;
+        assert tree.lowest(b, c) == a;
+        assert tree.lowest(d, b) == a;
+    }
+
+    @Test
+    void deep() {
+        Node root = graph.node();
+        Node left = root;
+        Node right = root;
+        for (int i = 0; i < 1000; i++) {
+            Node next = graph.node();
+            left.connect(next);
+            left = next;
+
+            next = graph.node();
+            right.connect(next);
+            right = next;
+        }
+        compute();
+
+        assert tree.dominates(left, root) == 1;
+        assert tree.dominates(left, right) == 0;
+        assert tree.lowest(left, right) == root;
+        assert tree.lowest(left, graph.nodes.get(1)) == graph.nodes.get(1);
+    }
+
+    @Test
+    void separatedRoots() {
+        Node a = graph.node();
+        Node b = graph.node();
+        Node c = graph.node();
+        Node d = graph.node();
+        a.connect(b);
+        c.connect(d);
+        compute();
+
+        assert tree.dominates(b, c) == 0;
+        assert tree.lowest(b, d) == null;
+        assert b.getLowestCommonDominator(d) == null;
+    }
+
+    @Test
+    void loop() {
+        Node a = graph.node();
+        Node b = graph.node();
+        Node c = graph.node();
+        Node d = graph.node();
+        a.connect(b);
+        b.connect(c);
+        c.connect(b);
+        c.connect(d);
+        a.searchBackEdge();
+        compute();
+
+        assert b.getDominator() == a;
+        assert c.getDominator() == b;
+        assert d.getDominator() == c;
+        assert tree.dominates(d, b) == 1;
+    }
+
+    @Test
+    void keepComputedDominator() {
+        Node a = graph.node();
+        Node b = graph.node();
+        Node c = graph.node();
+        a.connect(b);
+        a.connect(c);
+        b.connect(c);
+        c.setDominator(b);
+        compute();
+
+        assert c.getDominator() == b;
+        assert tree.dominates(c, b) == 1;
+    }
+
+    @Test
+    void unreachableCycle() {
+        Node a = graph.node();
+        Node b = graph.node();
+        Node c = graph.node();
+        b.connect(c);
+        c.connect(b);
+        compute();
+
+        assert a.getDominator() == null;
+        assert tree.dominates(a, a) == 1;
+        assert tree.dominates(b, b) == DominatorTree.UNKNOWN;
+    }
+
+    @Test
+    void manyDiamonds() {
+        Node root = graph.node();
+        Node last = root;
+        for (int i = 0; i < 20000; i++) {
+            Node left = graph.node();
+            Node right = graph.node();
+            Node join = graph.node();
+            last.connect(left);
+            last.connect(right);
+            left.connect(join);
+            right.connect(join);
+            last = join;
+        }
+        compute();
+
+        assert last.getDominator() == graph.nodes.get(graph.nodes.size() - 4);
+        assert tree.dominates(last, root) == 1;
+        assert tree.lowest(last, graph.nodes.get(1)) == root;
+    }
+
+    @Test
+    void sameAsLazyComputation() {
+        Random random = new Random(3);
+
+        for (int round = 0; round < 200; round++) {
+            graph.clear();
+
+            int size = 2 + random.nextInt(40);
+            Node[] computed = new Node[size];
+            Node[] lazy = Graph.detached(size);
+            for (int i = 0; i < size; i++) {
+                computed[i] = graph.node();
+
+                // all nodes are reachable from the entrance like the method
+                if (i != 0) {
+                    int from = random.nextInt(i);
+                    computed[from].connect(computed[i]);
+                    lazy[from].connect(lazy[i]);
+                }
+            }
+
+            for (int i = 0; i < size * 2; i++) {
+                int from = random.nextInt(size);
+                int to = random.nextInt(4) == 0 ? random.nextInt(size) : Math.min(size - 1, from + 1 + random.nextInt(3));
+                computed[from].connect(computed[to]);
+                lazy[from].connect(lazy[to]);
+            }
+            computed[0].searchBackEdge();
+            lazy[0].searchBackEdge();
+            compute();
+
+            for (int i = 0; i < size; i++) {
+                Node expected = lazy[i].getDominator();
+                Node actual = computed[i].getDominator();
+                assert Objects.equals(expected == null ? null : expected.id, actual == null ? null : actual.id) : "round " + round + " node " + i;
+            }
+        }
+    }
+
+    @Test
+    void uncomputed() {
+        Node a = graph.node();
+        Node b = graph.node();
+        a.connect(b);
+        tree.walked(graph.nodes.size());
+
+        assert tree.dominates(b, a) == DominatorTree.UNKNOWN;
+        assert tree.lowest(a, b) == DominatorTree.UNKNOWN_NODE;
+        assert b.hasDominator(a);
+        assert b.getLowestCommonDominator(a) == a;
+    }
+
+    @Test
+    void invalidateByConnection() {
+        Node a = graph.node();
+        Node b = graph.node();
+        Node c = graph.node();
+        a.connect(b);
+        compute();
+        assert tree.dominates(b, a) == 1;
+
+        c.connect(b);
+        assert tree.dominates(b, a) == DominatorTree.UNKNOWN;
+    }
+
+    @Test
+    void invalidateByDominator() {
+        Node a = graph.node();
+        Node b = graph.node();
+        Node c = graph.node();
+        a.connect(b);
+        b.connect(c);
+        compute();
+        assert tree.dominates(c, b) == 1;
+
+        c.setDominator(a);
+        assert tree.dominates(c, b) == DominatorTree.UNKNOWN;
+        assert !c.hasDominator(b);
+        assert c.hasDominator(a);
+
+        tree.walked(graph.nodes.size());
+        assert tree.dominates(c, b) == 0;
+        assert tree.dominates(c, a) == 1;
+    }
+
+    @Test
+    void rebuildLazily() {
+        Node a = graph.node();
+        Node b = graph.node();
+        a.connect(b);
+        compute();
+        tree.invalidate();
+
+        // walking is cheaper than rebuilding yet
+        assert b.hasDominator(a);
+        assert tree.dominates(b, a) == DominatorTree.UNKNOWN;
+
+        assert b.hasDominator(a);
+        assert tree.dominates(b, a) == 1;
+    }
+
+    @Test
+    void cyclicDominators() {
+        Node a = graph.node();
+        Node b = graph.node();
+        Node c = graph.node();
+        a.setDominator(b);
+        b.setDominator(a);
+        c.setDominator(b);
+
+        assert c.hasDominator(a);
+        assert !c.hasDominator(graph.node());
+        assert tree.dominates(c, a) == DominatorTree.UNKNOWN;
+    }
+}
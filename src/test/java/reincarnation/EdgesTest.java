@@ -0,0 +1,143 @@
+/*
+ * Copyright (C) 2024 The REINCARNATION Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package reincarnation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+class EdgesTest {
+
+    private final Node a = new Node("a", 0);
+
+    private final Node b = new Node("b", 1);
+
+    private final Node c = new Node("c", 2);
+
+    @Test
+    void add() {
+        Edges edges = new Edges();
+        edges.add(a);
+        edges.add(b);
+
+        assert edges.size() == 2;
+        assert edges.get(0) == a;
+        assert edges.get(1) == b;
+        assert edges.contains(a);
+        assert !edges.contains(c);
+    }
+
+    @Test
+    void addIfAbsent() {
+        Edges edges = new Edges();
+        assert edges.addIfAbsent(a);
+        assert !edges.addIfAbsent(a);
+        assert edges.addIfAbsent(b);
+
+        assert edges.size() == 2;
+    }
+
+    @Test
+    void addAllAbsent() {
+        Edges edges = new Edges();
+        edges.add(a);
+
+        assert edges.addAllAbsent(List.of(a, b, c)) == 2;
+        assert edges.equals(List.of(a, b, c));
+    }
+
+    @Test
+    void grow() {
+        List<Node> nodes = new ArrayList();
+        Edges edges = new Edges();
+        for (int i = 0; i < 100; i++) {
+            Node node = new Node(i, i);
+            nodes.add(node);
+            edges.add(node);
+        }
+
+        assert edges.equals(nodes);
+    }
+
+    @Test
+    void remove() {
+        Edges edges = new Edges(List.of(a, b, c));
+        assert edges.remove(b);
+        assert !edges.remove(b);
+        assert edges.equals(List.of(a, c));
+
+        assert edges.remove(0) == a;
+        assert edges.equals(List.of(c));
+    }
+
+    @Test
+    void removeAll() {
+        Edges edges = new Edges(List.of(a, b, c));
+        assert edges.removeAll(Set.of(a, c));
+        assert !edges.removeAll(Set.of(a, c));
+        assert edges.equals(List.of(b));
+    }
+
+    @Test
+    void removeWhileIteration() {
+        Edges edges = new Edges(List.of(a, b, c));
+        List<Node> iterated = new ArrayList();
+
+        for (Node node : edges) {
+            iterated.add(node);
+            edges.remove(node);
+        }
+
+        assert iterated.equals(List.of(a, b, c));
+        assert edges.isEmpty();
+    }
+
+    @Test
+    void addWhileIteration() {
+        Edges edges = new Edges(List.of(a, b));
+        List<Node> iterated = new ArrayList();
+
+        for (Node node : edges) {
+            iterated.add(node);
+            edges.add(0, c);
+        }
+
+        assert iterated.equals(List.of(a, b));
+        assert edges.equals(List.of(c, c, a, b));
+    }
+
+    @Test
+    void clearWhileIteration() {
+        Edges edges = new Edges(List.of(a, b, c));
+        List<Node> iterated = new ArrayList();
+
+        for (Node node : edges) {
+            iterated.add(node);
+            edges.clear();
+        }
+
+        assert iterated.equals(List.of(a, b, c));
+        assert edges.isEmpty();
+    }
+
+    @Test
+    void modifyAfterIteration() {
+        Edges edges = new Edges(List.of(a, b));
+        for (Node node : edges) {
+            // exhaust
+        }
+        edges.remove(a);
+        edges.add(c);
+
+        assert edges.equals(List.of(b, c));
+    }
+}
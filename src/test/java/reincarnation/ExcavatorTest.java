@@ -0,0 +1,122 @@
+/*
+ * Copyright (C) 2024 The REINCARNATION Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package reincarnation;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import reincarnation.Excavator.Result;
+import reincarnation.coder.java.JavaCodingOption;
+
+class ExcavatorTest {
+
+    @TempDir
+    Path root;
+
+    /**
+     * Copy the class file of the specified class into the temporary class directory.
+     * 
+     * @param clazz A target class.
+     */
+    private void copy(Class clazz) throws IOException {
+        String name = clazz.getName().replace('.', '/') + ".class";
+        Path file = root.resolve(name);
+        Files.createDirectories(file.getParent());
+
+        try (InputStream input = ClassLoader.getSystemResourceAsStream(name)) {
+            Files.write(file, input.readAllBytes());
+        }
+    }
+
+    @Test
+    void directory() throws IOException {
+        copy(Uninitializable.class);
+
+        List<Result> results = Excavator.of(root).rebirth((JavaCodingOption) null);
+        assert results.size() == 1;
+        assert results.get(0).name().equals(Uninitializable.class.getName());
+        assert results.get(0).isSuccess();
+        assert results.get(0).code().contains("class Uninitializable");
+    }
+
+    @Test
+    void nested() throws IOException {
+        copy(Excavated.class);
+        copy(Excavated.Member.class);
+        copy(Excavated.Unreferred.class);
+
+        List<Result> results = Excavator.of(root).parallelism(2).rebirth((JavaCodingOption) null);
+        assert results.size() == 2;
+        assert results.get(0).name().equals(Excavated.class.getName());
+        assert results.get(0).isSuccess();
+        assert results.get(1).name().equals(Excavated.Unreferred.class.getName());
+        assert results.get(1).isSuccess();
+    }
+
+    @Test
+    void jar() throws IOException {
+        Path jar = root.resolve("classes.jar");
+        try (FileSystem system = FileSystems.newFileSystem(jar, Map.of("create", "true"))) {
+            String name = Uninitializable.class.getName().replace('.', '/') + ".class";
+            Path file = system.getPath(name);
+            Files.createDirectories(file.getParent());
+
+            try (InputStream input = ClassLoader.getSystemResourceAsStream(name)) {
+                Files.write(file, input.readAllBytes());
+            }
+        }
+
+        int size = Reincarnation.CACHE.size();
+        List<Result> results = Excavator.of(jar).rebirth((JavaCodingOption) null);
+        assert results.size() == 1;
+        assert results.get(0).isSuccess();
+
+        // the units which depend on the closed jar are not memoized
+        assert Reincarnation.CACHE.size() <= size;
+    }
+
+    @Test
+    void failure() throws IOException {
+        copy(Uninitializable.class);
+        Files.write(root.resolve("reincarnation/Broken.class"), new byte[] {1, 2, 3});
+
+        List<Result> results = Excavator.of(root).rebirth((JavaCodingOption) null);
+        assert results.size() == 2;
+        assert results.get(0).name().equals("reincarnation.Broken");
+        assert results.get(0).isSuccess() == false;
+        assert results.get(0).error() != null;
+        assert results.get(1).isSuccess();
+    }
+}
+
+/**
+ * The top-level class which has the referred and unreferred member classes.
+ */
+class Excavated {
+
+    Member member() {
+        return new Member();
+    }
+
+    static class Member {
+    }
+
+    static class Unreferred {
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright (C) 2024 The REINCARNATION Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package reincarnation;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The node graph of the method for testing the graph analysis.
+ */
+final class Graph {
+
+    /** All nodes of the method. */
+    final List<Node> nodes = new ArrayList();
+
+    /** The dominator tree of the method. */
+    final DominatorTree tree = new DominatorTree(nodes);
+
+    /** The reachability index of the method. */
+    final Reachability reachability = tree.reachability;
+
+    /**
+     * Create the node in the method.
+     *
+     * @return A created node.
+     */
+    Node node() {
+        Node node = new Node(nodes.size(), nodes.size(), tree);
+        nodes.add(node);
+        return node;
+    }
+
+    /**
+     * Remove all nodes from the method.
+     */
+    void clear() {
+        nodes.clear();
+        tree.invalidate();
+    }
+
+    /**
+     * Create the nodes which belong to no method.
+     *
+     * @param size The number of nodes.
+     * @return The created nodes.
+     */
+    static Node[] detached(int size) {
+        Node[] nodes = new Node[size];
+        for (int i = 0; i < size; i++) {
+            nodes[i] = new Node(i, i);
+        }
+        return nodes;
+    }
+}
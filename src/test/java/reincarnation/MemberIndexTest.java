@@ -0,0 +1,104 @@
+/*
+ * Copyright (C) 2024 The REINCARNATION Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package reincarnation;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+
+class MemberIndexTest {
+
+    @Test
+    void declaredMethod() throws Exception {
+        assert MemberIndex.declaredMethod(String.class, "valueOf", new Class[] {int.class})
+                .equals(String.class.getDeclaredMethod("valueOf", int.class));
+        assert MemberIndex.declaredMethod(String.class, "length", new Class[0]).equals(String.class.getDeclaredMethod("length"));
+        assert MemberIndex.declaredMethod(String.class, "length", null).equals(String.class.getDeclaredMethod("length"));
+        assert MemberIndex.declaredMethod(String.class, "unknown", new Class[0]) == null;
+        assert MemberIndex.declaredMethod(String.class, "valueOf", new Class[] {Thread.class}) == null;
+    }
+
+    @Test
+    void declaredMethodPreferMostSpecificReturnType() throws Exception {
+        Method method = MemberIndex.declaredMethod(Covariant.class, "get", new Class[0]);
+        assert method.equals(Covariant.class.getDeclaredMethod("get"));
+        assert method.getReturnType() == String.class;
+        assert !method.isBridge();
+    }
+
+    @Test
+    void declaredConstructor() throws Exception {
+        assert MemberIndex.declaredConstructor(ArrayList.class, new Class[] {int.class}).equals(ArrayList.class.getDeclaredConstructor(int.class));
+        assert MemberIndex.declaredConstructor(ArrayList.class, new Class[] {String.class}) == null;
+    }
+
+    @Test
+    void declaredField() throws Exception {
+        assert MemberIndex.declaredField(Child.class, "child").equals(Child.class.getDeclaredField("child"));
+        assert MemberIndex.declaredField(Child.class, "inherited") == null;
+    }
+
+    @Test
+    void field() throws Exception {
+        assert MemberIndex.field(Child.class, "child").equals(Child.class.getDeclaredField("child"));
+        assert MemberIndex.field(Child.class, "inherited").equals(Parent.class.getDeclaredField("inherited"));
+        assert MemberIndex.field(Child.class, "constant").equals(Constants.class.getDeclaredField("constant"));
+        assert MemberIndex.field(Constants.class, "constant").equals(Constants.class.getDeclaredField("constant"));
+        assert MemberIndex.field(Child.class, "unknown") == null;
+    }
+
+    @Test
+    void fieldSkipsInheritedPrivate() throws Exception {
+        assert MemberIndex.field(Child.class, "hidden").equals(Grand.class.getDeclaredField("hidden"));
+        assert MemberIndex.field(Parent.class, "hidden").equals(Parent.class.getDeclaredField("hidden"));
+    }
+
+    @Test
+    void counter() {
+        MemberIndex.field(Child.class, "child");
+        long hits = MemberIndex.HITS.sum();
+        MemberIndex.field(Child.class, "child");
+        assert hits < MemberIndex.HITS.sum();
+    }
+
+    @SuppressWarnings("unused")
+    private static class Grand {
+        int hidden;
+    }
+
+    @SuppressWarnings("unused")
+    private static class Parent extends Grand {
+        private int hidden;
+
+        int inherited;
+    }
+
+    private interface Constants {
+        int constant = 1;
+    }
+
+    @SuppressWarnings("unused")
+    private static class Child extends Parent implements Constants {
+        int child;
+    }
+
+    private static class Covariant implements Supplier<Object> {
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public String get() {
+            return "";
+        }
+    }
+}
@@ -0,0 +1,187 @@
+/*
+ * Copyright (C) 2024 The REINCARNATION Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package reincarnation;
+
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+
+import org.junit.jupiter.api.Test;
+
+class NodeListTest {
+
+    private final Node a = new Node("a", 0);
+
+    private final Node b = new Node("b", 1);
+
+    private final Node c = new Node("c", 2);
+
+    private final Node d = new Node("d", 3);
+
+    @Test
+    void add() {
+        NodeList nodes = new NodeList();
+        nodes.add(a);
+        nodes.add(b);
+
+        assert nodes.size() == 2;
+        assert nodes.equals(List.of(a, b));
+        assert nodes.getFirst() == a;
+        assert nodes.getLast() == b;
+        assert nodes.peekLast() == b;
+        assert nodes.get(1) == b;
+    }
+
+    @Test
+    void contains() {
+        NodeList nodes = new NodeList();
+        nodes.add(a);
+
+        assert nodes.contains(a);
+        assert !nodes.contains(b);
+        assert !nodes.contains(Node.Termination);
+        assert !nodes.contains(new Node("other", 0));
+    }
+
+    @Test
+    void addBefore() {
+        NodeList nodes = new NodeList();
+        nodes.add(b);
+        nodes.add(d);
+        nodes.addBefore(a, b);
+        nodes.addBefore(c, d);
+
+        assert nodes.equals(List.of(a, b, c, d));
+        assert nodes.getFirst() == a;
+    }
+
+    @Test
+    void addAfter() {
+        NodeList nodes = new NodeList();
+        nodes.add(a);
+        nodes.add(c);
+        nodes.addAfter(b, a);
+        nodes.addAfter(d, c);
+
+        assert nodes.equals(List.of(a, b, c, d));
+        assert nodes.getLast() == d;
+    }
+
+    @Test
+    void remove() {
+        NodeList nodes = new NodeList();
+        nodes.addAll(List.of(a, b, c));
+
+        assert nodes.remove(b);
+        assert !nodes.remove(b);
+        assert !nodes.contains(b);
+        assert nodes.equals(List.of(a, c));
+
+        assert nodes.remove(a);
+        assert nodes.remove(c);
+        assert nodes.isEmpty();
+        assert nodes.peekLast() == null;
+    }
+
+    @Test
+    void readd() {
+        NodeList nodes = new NodeList();
+        nodes.addAll(List.of(a, b, c));
+        nodes.remove(a);
+        nodes.add(a);
+
+        assert nodes.equals(List.of(b, c, a));
+    }
+
+    @Test
+    void removeAll() {
+        NodeList nodes = new NodeList();
+        nodes.addAll(List.of(a, b, c, d));
+
+        assert nodes.removeAll(List.of(b, c));
+        assert nodes.equals(List.of(a, d));
+    }
+
+    @Test
+    void subList() {
+        NodeList nodes = new NodeList();
+        nodes.addAll(List.of(a, b, c, d));
+
+        assert nodes.subList(nodes.indexOf(b), nodes.indexOf(d)).equals(List.of(b, c));
+    }
+
+    @Test
+    void iterateBackward() {
+        NodeList nodes = new NodeList();
+        nodes.addAll(List.of(a, b, c));
+
+        List<Node> iterated = new ArrayList();
+        ListIterator<Node> iterator = nodes.listIterator(nodes.size());
+        while (iterator.hasPrevious()) {
+            iterated.add(iterator.previous());
+        }
+        assert iterated.equals(List.of(c, b, a));
+    }
+
+    @Test
+    void iteratorRemoveAndAdd() {
+        NodeList nodes = new NodeList();
+        nodes.addAll(List.of(a, b, c));
+
+        ListIterator<Node> iterator = nodes.listIterator();
+        iterator.next();
+        iterator.next();
+        iterator.remove();
+        iterator.add(d);
+
+        assert nodes.equals(List.of(a, d, c));
+        assert iterator.next() == c;
+    }
+
+    @Test
+    void failFast() {
+        NodeList nodes = new NodeList();
+        nodes.addAll(List.of(a, b));
+
+        Iterator<Node> iterator = nodes.iterator();
+        iterator.next();
+        nodes.remove(b);
+
+        try {
+            iterator.next();
+            assert false;
+        } catch (ConcurrentModificationException e) {
+            // expected
+        }
+    }
+
+    @Test
+    void large() {
+        NodeList nodes = new NodeList();
+        List<Node> expected = new ArrayList();
+        Node base = new Node("base", 0);
+        nodes.add(base);
+        expected.add(base);
+
+        for (int i = 1; i <= 10000; i++) {
+            Node node = new Node(String.valueOf(i), i);
+            nodes.addAfter(node, base);
+            expected.add(1, node);
+        }
+        assert nodes.equals(expected);
+
+        for (int i = 1; i <= 10000; i += 2) {
+            assert nodes.remove(expected.get(i));
+        }
+        assert nodes.size() == 5001;
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright (C) 2024 The REINCARNATION Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package reincarnation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class OpcodePatternsTest {
+
+    /** The pseudo opcode which matches 1 or 2. */
+    private static final int ANY = 100;
+
+    /**
+     * Expand the pseudo opcode.
+     */
+    private static int[] expand(int opcode) {
+        return opcode == ANY ? new int[] {1, 2} : new int[] {opcode};
+    }
+
+    /**
+     * The reference implementation which scans the recent instructions.
+     */
+    private static boolean scan(List<Integer> records, int[] pattern) {
+        if (records.size() < pattern.length) {
+            return false;
+        }
+
+        for (int i = 0; i < pattern.length; i++) {
+            int record = records.get(records.size() - pattern.length + i);
+            boolean matched = false;
+            for (int opcode : expand(pattern[i])) {
+                matched |= opcode == record;
+            }
+            if (!matched) return false;
+        }
+        return true;
+    }
+
+    @Test
+    void single() {
+        OpcodePatterns patterns = new OpcodePatterns(OpcodePatternsTest::expand);
+        OpcodePatterns.Pattern pattern = patterns.define(1, 2);
+        OpcodePatterns.Matcher matcher = patterns.matcher();
+
+        matcher.advance(1);
+        assert !matcher.matches(pattern);
+        matcher.advance(2);
+        assert matcher.matches(pattern);
+        matcher.advance(2);
+        assert !matcher.matches(pattern);
+    }
+
+    @Test
+    void overlap() {
+        OpcodePatterns patterns = new OpcodePatterns(OpcodePatternsTest::expand);
+        OpcodePatterns.Pattern pattern = patterns.define(1, 1, 2);
+        OpcodePatterns.Matcher matcher = patterns.matcher();
+
+        matcher.advance(1);
+        matcher.advance(1);
+        matcher.advance(1);
+        matcher.advance(2);
+        assert matcher.matches(pattern);
+    }
+
+    @Test
+    void pseudo() {
+        OpcodePatterns patterns = new OpcodePatterns(OpcodePatternsTest::expand);
+        OpcodePatterns.Pattern pattern = patterns.define(3, ANY);
+        OpcodePatterns.Matcher matcher = patterns.matcher();
+
+        matcher.advance(3);
+        matcher.advance(2);
+        assert matcher.matches(pattern);
+        matcher.advance(3);
+        matcher.advance(1);
+        assert matcher.matches(pattern);
+        matcher.advance(3);
+        matcher.advance(3);
+        assert !matcher.matches(pattern);
+    }
+
+    @Test
+    void unknownOpcode() {
+        OpcodePatterns patterns = new OpcodePatterns(OpcodePatternsTest::expand);
+        OpcodePatterns.Pattern pattern = patterns.define(1, 2);
+        OpcodePatterns.Matcher matcher = patterns.matcher();
+
+        matcher.advance(1);
+        matcher.advance(5000);
+        matcher.advance(2);
+        assert !matcher.matches(pattern);
+    }
+
+    @Test
+    void compiled() {
+        OpcodePatterns patterns = new OpcodePatterns(OpcodePatternsTest::expand);
+        patterns.define(1);
+        patterns.matcher();
+
+        try {
+            patterns.define(2);
+            assert false;
+        } catch (IllegalStateException e) {
+            // expected
+        }
+    }
+
+    @Test
+    void random() {
+        Random random = new Random(20);
+        OpcodePatterns patterns = new OpcodePatterns(OpcodePatternsTest::expand);
+        List<int[]> definitions = new ArrayList();
+        List<OpcodePatterns.Pattern> compiled = new ArrayList();
+
+        // over some words
+        for (int i = 0; i < 60; i++) {
+            int[] pattern = new int[1 + random.nextInt(10)];
+            for (int j = 0; j < pattern.length; j++) {
+                pattern[j] = random.nextInt(5) == 0 ? ANY : random.nextInt(4);
+            }
+            definitions.add(pattern);
+            compiled.add(patterns.define(pattern));
+        }
+
+        OpcodePatterns.Matcher matcher = patterns.matcher();
+        List<Integer> records = new ArrayList();
+        for (int i = 0; i < 5000; i++) {
+            int opcode = random.nextInt(4);
+            records.add(opcode);
+            matcher.advance(opcode);
+
+            for (int j = 0; j < definitions.size(); j++) {
+                assert matcher.matches(compiled.get(j)) == scan(records, definitions.get(j));
+            }
+        }
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright (C) 2024 The REINCARNATION Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package reincarnation;
+
+import org.junit.jupiter.api.Test;
+
+class OperandConstantTest {
+
+    @Test
+    void number() {
+        OperandNumber number = OperandNumber.of(10);
+        assert number == OperandNumber.of(10);
+        assert number != OperandNumber.of(10L);
+        assert number.isShared();
+        assert !number.isFixed();
+        assert number.type.v == int.class;
+    }
+
+    @Test
+    void fixNaturalType() {
+        OperandNumber number = OperandNumber.of(11);
+        Operand fixed = number.fix(int.class);
+
+        assert fixed != number;
+        assert fixed == OperandNumber.of(11).fix(int.class);
+        assert fixed.isFixed();
+        assert !number.isFixed();
+    }
+
+    @Test
+    void fixOtherType() {
+        OperandNumber number = OperandNumber.of(97);
+        Operand fixed = number.fix(char.class);
+
+        assert fixed != number;
+        assert !fixed.isShared();
+        assert fixed.isFixed();
+        assert fixed.type.v == char.class;
+        assert number.type.v == int.class;
+        assert !number.isFixed();
+    }
+
+    @Test
+    void unshare() {
+        OperandNumber number = OperandNumber.of(12);
+        Operand copy = number.unshare();
+
+        assert copy != number;
+        assert copy.equals(number);
+        assert !copy.isShared();
+        assert copy.unshare() == copy;
+    }
+
+    @Test
+    void bind() {
+        OperandNumber number = OperandNumber.of(13);
+        OperandAssign assign = new OperandAssign(new OperandExpression("value").fix(char.class), null, number);
+
+        assert assign.right != number;
+        assert assign.right.type.v == char.class;
+        assert number.type.v == int.class;
+    }
+
+    @Test
+    void string() {
+        OperandString string = OperandString.of("text\"");
+        assert string == OperandString.of("text\"");
+        assert string.isShared();
+        assert string.isFixed();
+        assert string.fix(String.class) == string;
+
+        Operand copy = string.unshare();
+        assert copy != string;
+        assert copy.equals(string);
+        assert copy.isFixed();
+    }
+
+    @Test
+    void longString() {
+        String text = "x".repeat(OperandString.INTERN_LENGTH + 1);
+        OperandString string = OperandString.of(text);
+
+        assert !string.isShared();
+        assert string != OperandString.of(text);
+    }
+
+    @Test
+    void pool() {
+        ConstantPool<Integer, Operand> pool = new ConstantPool(2);
+        Operand one = pool.intern(1, key -> OperandNumber.of(key));
+        pool.intern(2, key -> OperandNumber.of(key));
+        assert pool.intern(1, key -> null) == one;
+
+        // the least recently used one is evicted
+        pool.intern(3, key -> OperandNumber.of(key));
+        assert pool.size() == 2;
+        assert pool.intern(1, key -> null) == one;
+        assert pool.intern(2, key -> null) == null;
+    }
+
+    @Test
+    void statement() {
+        Node node = new Node(0, 0);
+        node.addOperand(15);
+        Operand shared = node.peek(0);
+        node.markOperandsAsStatement();
+
+        assert !shared.isStatement();
+        assert node.peek(0) != shared;
+        assert node.peek(0).isStatement();
+        assert OperandNumber.of(15) == shared;
+    }
+
+    @Test
+    void classLiteral() {
+        OperandClass literal = OperandClass.of(int.class);
+        assert literal == OperandClass.of(int.class);
+        assert literal != OperandClass.of(long.class);
+        assert literal.fix(Class.class) == OperandClass.of(int.class).fix(Class.class);
+        assert literal.fix(Object.class) != literal.fix(Object.class);
+    }
+
+    @Test
+    void type() {
+        OperandType type = OperandType.of(String.class);
+        assert type == OperandType.of(String.class);
+        assert type.equals(new OperandType(String.class));
+    }
+
+    @Test
+    void duplicate() {
+        Node node = new Node(0, 0);
+        node.addOperand(14);
+        Operand shared = node.peek(0);
+        Operand marked = node.markDuplicated(0);
+
+        assert shared.isShared();
+        assert !shared.duplicated;
+        assert marked != shared;
+        assert marked.duplicated;
+        assert node.peek(0) == marked;
+    }
+}
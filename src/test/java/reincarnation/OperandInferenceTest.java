@@ -0,0 +1,124 @@
+/*
+ * Copyright (C) 2024 The REINCARNATION Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package reincarnation;
+
+import org.junit.jupiter.api.Test;
+
+class OperandInferenceTest {
+
+    /**
+     * Create the unfixed operand.
+     */
+    private static Operand operand() {
+        return new OperandExpression("value");
+    }
+
+    @Test
+    void chain() {
+        Operand a = operand();
+        Operand b = operand();
+        Operand c = operand();
+        a.bindTo(b);
+        b.bindTo(c);
+
+        a.infer(int.class);
+        assert a.type.v == int.class;
+        assert b.type.v == int.class;
+        assert c.type.v == int.class;
+    }
+
+    @Test
+    void oneWay() {
+        Operand a = operand();
+        Operand b = operand();
+        a.bindTo(b);
+
+        b.infer(int.class);
+        assert a.type.v == Object.class;
+        assert b.type.v == int.class;
+    }
+
+    @Test
+    void current() {
+        Operand a = operand();
+        Operand b = operand();
+        a.infer(long.class);
+        a.bindTo(b);
+
+        assert b.type.v == long.class;
+    }
+
+    @Test
+    void fixed() {
+        Operand a = operand();
+        Operand b = operand().fix(char.class);
+        Operand c = operand();
+        a.bindTo(b);
+        b.bindTo(c);
+
+        assert a.isFixed();
+        assert a.type.v == char.class;
+        assert c.isFixed();
+        assert c.type.v == char.class;
+    }
+
+    @Test
+    void stopAtFixed() {
+        Operand a = operand();
+        Operand b = operand();
+        Operand c = operand();
+        a.bindTo(b);
+        b.bindTo(c);
+        b.fix(char.class);
+
+        a.infer(int.class);
+        assert a.type.v == int.class;
+        assert b.type.v == char.class;
+        assert c.type.v == char.class;
+    }
+
+    @Test
+    void fixLater() {
+        Operand a = operand();
+        Operand b = operand();
+        a.bindTo(b);
+
+        a.fix(boolean.class);
+        assert a.isFixed();
+        assert !b.isFixed();
+        assert b.type.v == boolean.class;
+    }
+
+    @Test
+    void skipObject() {
+        Operand a = operand();
+        Operand b = operand();
+        a.bindTo(b);
+        b.infer(int.class);
+
+        a.infer(Object.class);
+        assert b.type.v == int.class;
+    }
+
+    @Test
+    void cycle() {
+        Operand a = operand();
+        Operand b = operand();
+        Operand c = operand();
+        a.bindTo(b);
+        b.bindTo(c);
+        c.bindTo(a);
+
+        b.infer(double.class);
+        assert a.type.v == double.class;
+        assert b.type.v == double.class;
+        assert c.type.v == double.class;
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright (C) 2024 The REINCARNATION Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package reincarnation;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.objectweb.asm.Type;
+
+class OperandUtilTest {
+
+    @Test
+    void primitive() {
+        assert OperandUtil.load(Type.INT_TYPE) == int.class;
+        assert OperandUtil.load(Type.VOID_TYPE) == void.class;
+        assert OperandUtil.load("Z") == boolean.class;
+    }
+
+    @Test
+    void object() {
+        assert OperandUtil.load(Type.getType(String.class)) == String.class;
+        assert OperandUtil.load("java/util/List") == List.class;
+        assert OperandUtil.load("Ljava/util/List;") == List.class;
+
+        // resolved again
+        assert OperandUtil.load(Type.getType(String.class)) == String.class;
+    }
+
+    @Test
+    void array() {
+        assert OperandUtil.load(Type.getType(int[].class)) == int[].class;
+        assert OperandUtil.load(Type.getType(String[][].class)) == String[][].class;
+        assert OperandUtil.load("[[Ljava/lang/String;") == String[][].class;
+        assert OperandUtil.load(Type.getType(long[][][].class)) == long[][][].class;
+    }
+
+    @Test
+    void types() {
+        Class[] classes = OperandUtil.load(Type.getArgumentTypes("(I[Ljava/lang/Object;Ljava/util/List;)V"));
+        assert classes.length == 3;
+        assert classes[0] == int.class;
+        assert classes[1] == Object[].class;
+        assert classes[2] == List.class;
+    }
+
+    @Test
+    void loaders() throws Exception {
+        ClassLoader previous = Reincarnation.LOADER.get();
+        try (URLClassLoader loader = new URLClassLoader(new URL[0], null)) {
+            Reincarnation.LOADER.set(loader);
+            assert OperandUtil.load(Type.getType(String.class)) == String.class;
+
+            // The test class is invisible from the isolated loader.
+            try {
+                OperandUtil.load(Type.getType(OperandUtilTest.class));
+                assert false;
+            } catch (Error e) {
+                assert e.getCause() instanceof ClassNotFoundException;
+            }
+
+            Reincarnation.LOADER.set(previous);
+            assert OperandUtil.load(Type.getType(OperandUtilTest.class)) == OperandUtilTest.class;
+        } finally {
+            Reincarnation.LOADER.set(previous);
+        }
+    }
+}
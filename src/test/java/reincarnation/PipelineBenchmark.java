@@ -0,0 +1,251 @@
+/*
+ * Copyright (C) 2024 The REINCARNATION Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package reincarnation;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import kiss.I;
+import reincarnation.coder.Coder;
+import reincarnation.coder.java.JavaCoder;
+import reincarnation.coder.js.JavascriptCoder;
+import reincarnation.coder.ts.TypeScriptCoder;
+
+/**
+ * Measure each stage of the decompilation pipeline separately. The allocation rate is reported by
+ * the GC profiler.
+ * <ul>
+ * <li>visit : ASM visits the class file into {@link JavaMethodDecompiler}</li>
+ * <li>analyze : dominators, switch, try-catch and structurization</li>
+ * <li>render : write the analyzed code by each coder</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PipelineBenchmark {
+
+    /**
+     * The target classes, "samples" are the test codes and "synthetic" has the large methods and
+     * the thousands of methods.
+     */
+    @Param({"samples", "synthetic"})
+    public String corpus;
+
+    /** The all classes to visit and analyze. */
+    private List<Class> classes;
+
+    /** The top-level classes to render. */
+    private List<Class> tops;
+
+    /**
+     * Collect the target classes which can be decompiled actually. The excluded classes are
+     * reported, and the synthetic classes must never be excluded.
+     */
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        classes = new ArrayList();
+        tops = new ArrayList();
+        List<String> excluded = new ArrayList();
+
+        for (Class clazz : corpus.equals("synthetic") ? synthetic() : samples()) {
+            try {
+                Reincarnation.decompile(clazz, false).analyze();
+                classes.add(clazz);
+
+                if (clazz.getEnclosingClass() == null) {
+                    render(Reincarnation.exhume(clazz), JavaCoder::new);
+                    render(Reincarnation.exhume(clazz), TypeScriptCoder::new);
+                    render(Reincarnation.exhume(clazz), JavascriptCoder::new);
+                    tops.add(clazz);
+                }
+            } catch (Throwable e) {
+                // unsupported code yet
+                excluded.add(clazz.getName() + " : " + e);
+            }
+        }
+
+        if (!excluded.isEmpty()) {
+            if (corpus.equals("synthetic")) {
+                throw new IllegalStateException("The synthetic classes must be decompiled. " + excluded);
+            }
+
+            System.out.println("Exclude " + excluded.size() + " classes from " + corpus + " :");
+            excluded.forEach(name -> System.out.println("    " + name));
+        }
+    }
+
+    /**
+     * Collect the test codes.
+     *
+     * @return The test codes.
+     */
+    private List<Class> samples() throws IOException {
+        try {
+            Path root = Path.of(PipelineBenchmark.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+            List<String> names;
+            try (Stream<Path> files = Files.walk(root.resolve("reincarnation/decompiler"))) {
+                names = files.map(file -> root.relativize(file).toString())
+                        .filter(path -> path.endsWith(".class"))
+                        .map(path -> path.substring(0, path.length() - 6).replace('\\', '.').replace('/', '.'))
+                        .sorted()
+                        .toList();
+            }
+
+            List<Class> classes = new ArrayList();
+            for (String name : names) {
+                classes.add(Class.forName(name, false, ClassLoader.getSystemClassLoader()));
+            }
+            return classes;
+        } catch (URISyntaxException | ClassNotFoundException e) {
+            throw I.quiet(e);
+        }
+    }
+
+    /**
+     * Generate the classes which have the large methods and the many methods.
+     *
+     * @return The generated classes.
+     */
+    private List<Class> synthetic() {
+        ByteCodeLoader loader = new ByteCodeLoader(ClassLoader.getSystemClassLoader(), null);
+
+        return List.of(loader.define(SyntheticCode.LARGE, SyntheticCode.large(200)), loader
+                .define(SyntheticCode.MANY, SyntheticCode.many(2000)));
+    }
+
+    /**
+     * Stage 1 : visit the class files.
+     */
+    @Benchmark
+    public List<Reincarnation> visit() throws IOException {
+        List<Reincarnation> units = new ArrayList();
+        for (Class clazz : classes) {
+            units.add(Reincarnation.decompile(clazz, false));
+        }
+        return units;
+    }
+
+    /**
+     * Stage 2 : analyze the visited method bodies.
+     */
+    @Benchmark
+    public List<Reincarnation> analyze(Visited visited) {
+        for (Reincarnation unit : visited.units) {
+            unit.analyze();
+        }
+        return visited.units;
+    }
+
+    /**
+     * Stage 3 : render the analyzed code as Java.
+     */
+    @Benchmark
+    public List<String> renderJava() {
+        return render(JavaCoder::new);
+    }
+
+    /**
+     * Stage 3 : render the analyzed code as TypeScript.
+     */
+    @Benchmark
+    public List<String> renderTypeScript() {
+        return render(TypeScriptCoder::new);
+    }
+
+    /**
+     * Stage 3 : render the analyzed code as Javascript.
+     */
+    @Benchmark
+    public List<String> renderJavascript() {
+        return render(JavascriptCoder::new);
+    }
+
+    /**
+     * Render all top-level classes by the specified coder.
+     *
+     * @param coders A coder factory.
+     * @return The rendered codes.
+     */
+    private List<String> render(Supplier<Coder> coders) {
+        List<String> codes = new ArrayList();
+        for (Class clazz : tops) {
+            codes.add(render(Reincarnation.exhume(clazz), coders));
+        }
+        return codes;
+    }
+
+    /**
+     * Render the specified unit by the specified coder.
+     *
+     * @param unit A analyzed unit.
+     * @param coders A coder factory.
+     * @return A rendered code.
+     */
+    private String render(Reincarnation unit, Supplier<Coder> coders) {
+        Coder coder = coders.get();
+        unit.rebirth(coder);
+        return coder.toString();
+    }
+
+    /**
+     * The freshly visited units for each invocation.
+     */
+    @State(Scope.Thread)
+    public static class Visited {
+
+        /** The visited units. */
+        private List<Reincarnation> units;
+
+        /**
+         * Visit all classes before each invocation.
+         */
+        @Setup(Level.Invocation)
+        public void setup(PipelineBenchmark benchmark) throws IOException {
+            units = benchmark.visit();
+        }
+    }
+
+    /**
+     * Launch all benchmarks.
+     *
+     * @param args Ignored.
+     */
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(PipelineBenchmark.class.getSimpleName()).addProfiler(GCProfiler.class).build()).run();
+    }
+}
@@ -0,0 +1,213 @@
+/*
+ * Copyright (C) 2024 The REINCARNATION Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package reincarnation;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+class ReachabilityTest {
+
+    private final Graph graph = new Graph();
+
+    private final Reachability reachability = graph.reachability;
+
+    /**
+     * Make the index ready.
+     */
+    private void build() {
+        reachability.compute();
+    }
+
+    @Test
+    void chain() {
+        Node a = graph.node();
+        Node b = graph.node();
+        Node c = graph.node();
+        a.connect(b);
+        b.connect(c);
+        build();
+
+        assert reachability.reaches(a, c) == 1;
+        assert reachability.reaches(b, c) == 1;
+        assert reachability.reaches(c, a) == 0;
+        assert reachability.reaches(a, a) == 0;
+    }
+
+    @Test
+    void loop() {
+        Node a = graph.node();
+        Node b = graph.node();
+        Node c = graph.node();
+        Node d = graph.node();
+        a.connect(b);
+        b.connect(c);
+        c.connect(b);
+        c.connect(d);
+        build();
+
+        assert reachability.reaches(b, b) == 1;
+        assert reachability.reaches(c, b) == 1;
+        assert reachability.reaches(b, d) == 1;
+        assert reachability.reaches(d, b) == 0;
+        assert reachability.reaches(a, a) == 0;
+    }
+
+    @Test
+    void selfLoop() {
+        Node a = graph.node();
+        Node b = graph.node();
+        a.connect(b);
+        b.connect(b);
+        build();
+
+        assert reachability.reaches(b, b) == 1;
+        assert reachability.reaches(a, a) == 0;
+    }
+
+    @Test
+    void lazy() {
+        Node a = graph.node();
+        Node b = graph.node();
+        a.connect(b);
+
+        assert reachability.reaches(a, b) == Reachability.UNKNOWN;
+        assert a.canReachTo(b);
+        assert b.canReachTo(a) == false;
+        assert reachability.reaches(a, b) == 1;
+    }
+
+    @Test
+    void invalidate() {
+        Node a = graph.node();
+        Node b = graph.node();
+        Node c = graph.node();
+        a.connect(b);
+        build();
+        assert reachability.reaches(a, c) == 0;
+
+        b.connect(c);
+        assert reachability.reaches(a, c) == Reachability.UNKNOWN;
+        assert a.canReachTo(c);
+    }
+
+    @Test
+    void lazyAfterWalking() {
+        Node a = graph.node();
+        Node b = graph.node();
+        a.connect(b);
+
+        reachability.walked(Integer.MAX_VALUE);
+        assert reachability.reaches(a, b) == 1;
+    }
+
+    @Test
+    void passes() {
+        Node a = graph.node();
+        Node b = graph.node();
+        Node c = graph.node();
+        Node d = graph.node();
+        a.connect(b);
+        b.connect(d);
+        a.connect(c);
+        build();
+
+        assert reachability.passes(a, d, Set.of(b)) == 1;
+        assert reachability.passes(a, d, Set.of(c)) == 0;
+        assert reachability.passes(a, d, Set.of(a, d)) == 0;
+        assert reachability.passes(a, d, Arrays.asList(null, c)) == 0;
+
+        assert a.canReachTo(d, Set.of(c));
+        assert a.canReachTo(d, Set.of(b)) == false;
+    }
+
+    @Test
+    void oversized() {
+        try (Budget.Meter meter = new Budget().reachability(2).start("oversized")) {
+            Node a = graph.node();
+            Node b = graph.node();
+            Node c = graph.node();
+            a.connect(b);
+            b.connect(c);
+            build();
+
+            assert reachability.reaches(a, c) == Reachability.UNKNOWN;
+            assert a.canReachTo(c);
+            assert c.canReachTo(a) == false;
+
+            // The oversized graph is never indexed even if the fallback query walks a lot.
+            reachability.walked(Integer.MAX_VALUE);
+            assert reachability.reaches(a, c) == Reachability.UNKNOWN;
+        }
+    }
+
+    @Test
+    void oversizedComponents() {
+        try (Budget.Meter meter = new Budget().reachability(2).start("components")) {
+            Node a = graph.node();
+            Node b = graph.node();
+            Node c = graph.node();
+            a.connect(b);
+            b.connect(c);
+            c.connect(a);
+            build();
+
+            // All nodes are in the single component.
+            assert reachability.reaches(a, c) == 1;
+        }
+    }
+
+    @Test
+    void unknownNode() {
+        Node a = graph.node();
+        Node outside = new Node("outside", 100);
+        a.connect(outside);
+        build();
+
+        assert reachability.reaches(a, outside) == Reachability.UNKNOWN;
+        assert a.canReachTo(outside);
+    }
+
+    @Test
+    void sameAsTraversal() {
+        Random random = new Random(11);
+
+        for (int round = 0; round < 200; round++) {
+            graph.clear();
+
+            int size = 2 + random.nextInt(30);
+            Node[] indexed = new Node[size];
+            Node[] plain = Graph.detached(size);
+            for (int i = 0; i < size; i++) {
+                indexed[i] = graph.node();
+            }
+
+            for (int i = 0; i < size * 2; i++) {
+                int from = random.nextInt(size);
+                int to = random.nextInt(size);
+                indexed[from].connect(indexed[to]);
+                plain[from].connect(plain[to]);
+            }
+            build();
+
+            for (int i = 0; i < size; i++) {
+                for (int j = 0; j < size; j++) {
+                    assert indexed[i].canReachTo(indexed[j]) == plain[i].canReachTo(plain[j]);
+
+                    Set<Node> excludedIndexed = Set.of(indexed[(i + j) % size]);
+                    Set<Node> excludedPlain = Set.of(plain[(i + j) % size]);
+                    assert indexed[i].canReachTo(indexed[j], excludedIndexed) == plain[i].canReachTo(plain[j], excludedPlain);
+                }
+            }
+        }
+    }
+}
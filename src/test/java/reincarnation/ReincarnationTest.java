@@ -9,10 +9,17 @@
  */
 package reincarnation;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringWriter;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.constant.ClassDesc;
 import java.lang.constant.ConstantDesc;
+import java.net.URISyntaxException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.temporal.ChronoField;
 import java.util.AbstractCollection;
 import java.util.ArrayList;
@@ -24,6 +31,8 @@ import java.util.concurrent.ConcurrentHashMap;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
 
+import reincarnation.coder.java.JavaCoder;
+
 class ReincarnationTest {
 
     @Test
@@ -72,4 +81,123 @@ class ReincarnationTest {
     void unexportedAnnotationAccess() {
         Reincarnation.rebirth(ConcurrentHashMap.class);
     }
+
+    @Test
+    void exhumeBytes() throws IOException {
+        try (InputStream input = ReincarnationTest.class.getResourceAsStream("Uninitializable.class")) {
+            Reincarnation reincarnation = Reincarnation.exhume(input.readAllBytes());
+            assert reincarnation.clazz != Uninitializable.class;
+            assert reincarnation.clazz.getName().equals(Uninitializable.class.getName());
+            assert reincarnation.methods.size() == 1;
+
+            reincarnation.rebirth(new JavaCoder());
+        }
+    }
+
+    @Test
+    void exhumeBytesTwice() throws IOException {
+        try (InputStream input = ReincarnationTest.class.getResourceAsStream("Uninitializable.class")) {
+            byte[] bytes = input.readAllBytes();
+            Reincarnation reincarnation = Reincarnation.exhume(bytes);
+            assert reincarnation == Reincarnation.exhume(bytes);
+            assert reincarnation == Reincarnation.exhume(bytes.clone());
+            assert reincarnation == Reincarnation.exhume(ByteBuffer.wrap(bytes));
+        }
+    }
+
+    @Test
+    void exhumeBytesWithClassPath() throws Exception {
+        Path root = Path.of(ReincarnationTest.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        Path file = root.resolve(Uninitializable.class.getName().replace('.', '/') + ".class");
+
+        // all class files of the same class path share the loader
+        Reincarnation reincarnation = Reincarnation.exhume(Files.readAllBytes(file), root);
+        assert reincarnation.clazz != Uninitializable.class;
+        assert reincarnation == Reincarnation.exhume(file);
+    }
+
+    @Test
+    void exhumeBytesWithLoader() throws IOException {
+        try (InputStream input = ReincarnationTest.class.getResourceAsStream("Uninitializable.class")) {
+            ClassLoader loader = ReincarnationTest.class.getClassLoader();
+            Reincarnation reincarnation = Reincarnation.exhume(input.readAllBytes(), loader);
+            assert reincarnation.clazz != Uninitializable.class;
+            assert reincarnation.clazz.getClassLoader().getParent() == loader;
+        }
+    }
+
+    @Test
+    void streamToStringBuilder() {
+        StringBuilder builder = new StringBuilder();
+        JavaCoder coder = new JavaCoder();
+        coder.output(builder);
+        Reincarnation.exhume(Uninitializable.class).rebirth(coder);
+
+        assert coder.toString().equals(builder.toString());
+        assert builder.toString().contains("class Uninitializable");
+    }
+
+    @Test
+    void streamToWriter() {
+        JavaCoder coder = new JavaCoder();
+        coder.output(new StringWriter());
+        Reincarnation.exhume(Uninitializable.class).rebirth(coder);
+
+        try {
+            coder.toString();
+            assert false;
+        } catch (IllegalStateException e) {
+            // expected
+        }
+    }
+
+    @Test
+    void exhumeByteBuffer() throws IOException {
+        try (InputStream input = ReincarnationTest.class.getResourceAsStream("Uninitializable.class")) {
+            Reincarnation reincarnation = Reincarnation.exhume(ByteBuffer.wrap(input.readAllBytes()));
+            assert reincarnation.clazz != Uninitializable.class;
+            assert reincarnation.clazz.getName().equals(Uninitializable.class.getName());
+
+            reincarnation.rebirth(new JavaCoder());
+        }
+    }
+
+    @Test
+    void exhumePath() throws URISyntaxException {
+        Reincarnation reincarnation = Reincarnation.exhume(Path.of(ReincarnationTest.class.getResource("Uninitializable.class").toURI()));
+        assert reincarnation.clazz != Uninitializable.class;
+        assert reincarnation.clazz.getName().equals(Uninitializable.class.getName());
+
+        reincarnation.rebirth(new JavaCoder());
+    }
+
+    @Test
+    void outline() {
+        Reincarnation reincarnation = Reincarnation.outline(ArrayList.class);
+        assert reincarnation.outline;
+
+        JavaCoder coder = new JavaCoder();
+        reincarnation.rebirth(coder);
+        assert coder.toString().contains("throw new UnsupportedOperationException();");
+    }
+
+    @Test
+    void outlineEnum() {
+        Reincarnation.outline(RetentionPolicy.class).rebirth(new JavaCoder());
+        Reincarnation.outline(ChronoField.class).rebirth(new JavaCoder());
+    }
+}
+
+/**
+ * The class initialization always fails.
+ */
+class Uninitializable {
+
+    static {
+        initialize();
+    }
+
+    static int initialize() {
+        throw new IllegalStateException("Never initialized while decompiling.");
+    }
 }
@@ -0,0 +1,118 @@
+/*
+ * Copyright (C) 2024 The REINCARNATION Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package reincarnation;
+
+import org.junit.jupiter.api.Test;
+
+class StraightMethodTest {
+
+    /**
+     * Find the decompiler of the specified method.
+     */
+    private JavaMethodDecompiler method(String name) throws Exception {
+        Reincarnation reincarnation = Reincarnation.exhume(Target.class);
+        return (JavaMethodDecompiler) reincarnation.methods.get(Target.class.getDeclaredMethod(name));
+    }
+
+    @Test
+    void getter() throws Exception {
+        assert method("getter").isStraight();
+    }
+
+    @Test
+    void delegate() throws Exception {
+        assert method("delegate").isStraight();
+    }
+
+    @Test
+    void setter() throws Exception {
+        assert method("setter").isStraight();
+    }
+
+    @Test
+    void branch() throws Exception {
+        assert !method("branch").isStraight();
+    }
+
+    @Test
+    void loop() throws Exception {
+        assert !method("loop").isStraight();
+    }
+
+    @Test
+    void handler() throws Exception {
+        assert !method("handler").isStraight();
+    }
+
+    @Test
+    void monitor() throws Exception {
+        assert !method("monitor").isStraight();
+    }
+
+    @Test
+    void count() throws Exception {
+        JavaMethodDecompiler decompiler = method("count");
+        long analyzed = Reincarnation.analyzedMethods();
+        long straight = Reincarnation.straightMethods();
+        decompiler.analyze();
+
+        assert analyzed < Reincarnation.analyzedMethods();
+        assert straight < Reincarnation.straightMethods();
+    }
+
+    @SuppressWarnings("unused")
+    private static class Target {
+
+        private int value;
+
+        int getter() {
+            return value;
+        }
+
+        void setter() {
+            value = 1;
+            value++;
+        }
+
+        String delegate() {
+            return String.valueOf(value);
+        }
+
+        int branch() {
+            return value == 0 ? 1 : 2;
+        }
+
+        int loop() {
+            int sum = 0;
+            for (int i = 0; i < value; i++) {
+                sum += i;
+            }
+            return sum;
+        }
+
+        int handler() {
+            try {
+                return Integer.parseInt(String.valueOf(value));
+            } catch (NumberFormatException e) {
+                return 0;
+            }
+        }
+
+        int monitor() {
+            synchronized (this) {
+                return value;
+            }
+        }
+
+        int count() {
+            return value + 1;
+        }
+    }
+}
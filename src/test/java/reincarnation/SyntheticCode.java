@@ -0,0 +1,238 @@
+/*
+ * Copyright (C) 2024 The REINCARNATION Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package reincarnation;
+
+import static org.objectweb.asm.Opcodes.*;
+
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+
+/**
+ * The generator of the classes which are too large to write by hand.
+ */
+class SyntheticCode {
+
+    /** The class name which has the large methods. */
+    static final String LARGE = "reincarnation.SyntheticLarge";
+
+    /** The class name which has the many methods. */
+    static final String MANY = "reincarnation.SyntheticMany";
+
+    /**
+     * Generate the class which has the large methods.
+     *
+     * @param size The scale of each method.
+     * @return A class file bytes.
+     */
+    static byte[] large(int size) {
+        ClassWriter writer = type(LARGE);
+        straight(method(writer, "straight"), size * 10);
+        branches(method(writer, "branches"), size);
+        loops(method(writer, "loops"), size / 10);
+        table(method(writer, "table"), size);
+
+        writer.visitEnd();
+        return writer.toByteArray();
+    }
+
+    /**
+     * Generate the class which has the many small methods.
+     *
+     * @param size The number of methods.
+     * @return A class file bytes.
+     */
+    static byte[] many(int size) {
+        ClassWriter writer = type(MANY);
+        for (int i = 0; i < size; i++) {
+            branches(method(writer, "method" + i), 2);
+        }
+
+        writer.visitEnd();
+        return writer.toByteArray();
+    }
+
+    /**
+     * Declare the public class with the default constructor.
+     *
+     * @param name A class name.
+     * @return A class writer.
+     */
+    private static ClassWriter type(String name) {
+        ClassWriter writer = new ClassWriter(ClassWriter.COMPUTE_FRAMES | ClassWriter.COMPUTE_MAXS);
+        writer.visit(V21, ACC_PUBLIC | ACC_SUPER, name.replace('.', '/'), null, "java/lang/Object", null);
+
+        MethodVisitor constructor = writer.visitMethod(ACC_PUBLIC, "<init>", "()V", null, null);
+        constructor.visitCode();
+        constructor.visitVarInsn(ALOAD, 0);
+        constructor.visitMethodInsn(INVOKESPECIAL, "java/lang/Object", "<init>", "()V", false);
+        constructor.visitInsn(RETURN);
+        constructor.visitMaxs(0, 0);
+        constructor.visitEnd();
+
+        return writer;
+    }
+
+    /**
+     * Declare the static method (int) -> int.
+     *
+     * @param writer A class writer.
+     * @param name A method name.
+     * @return A method writer.
+     */
+    private static MethodVisitor method(ClassWriter writer, String name) {
+        MethodVisitor method = writer.visitMethod(ACC_PUBLIC | ACC_STATIC, name, "(I)I", null, null);
+        method.visitCode();
+        return method;
+    }
+
+    /**
+     * Write the sequential statements: x = x * 31 + i;
+     *
+     * @param method A method writer.
+     * @param size The number of statements.
+     */
+    private static void straight(MethodVisitor method, int size) {
+        for (int i = 0; i < size; i++) {
+            method.visitVarInsn(ILOAD, 0);
+            method.visitIntInsn(BIPUSH, 31);
+            method.visitInsn(IMUL);
+            method.visitLdcInsn(i);
+            method.visitInsn(IADD);
+            method.visitVarInsn(ISTORE, 0);
+        }
+        end(method, 0);
+    }
+
+    /**
+     * Write the sequential conditions: if (x > i) x -= i; else x += i;
+     *
+     * @param method A method writer.
+     * @param size The number of conditions.
+     */
+    private static void branches(MethodVisitor method, int size) {
+        for (int i = 0; i < size; i++) {
+            Label otherwise = new Label();
+            Label end = new Label();
+
+            method.visitVarInsn(ILOAD, 0);
+            method.visitLdcInsn(i);
+            method.visitJumpInsn(IF_ICMPLE, otherwise);
+            method.visitVarInsn(ILOAD, 0);
+            method.visitLdcInsn(i);
+            method.visitInsn(ISUB);
+            method.visitVarInsn(ISTORE, 0);
+            method.visitJumpInsn(GOTO, end);
+            method.visitLabel(otherwise);
+            method.visitVarInsn(ILOAD, 0);
+            method.visitLdcInsn(i);
+            method.visitInsn(IADD);
+            method.visitVarInsn(ISTORE, 0);
+            method.visitLabel(end);
+        }
+        end(method, 0);
+    }
+
+    /**
+     * Write the sequential nested loops: for (int i = 0; i < x; i++) { for (...) { sum += i; } }
+     *
+     * @param method A method writer.
+     * @param size The number of loop nests.
+     */
+    private static void loops(MethodVisitor method, int size) {
+        int depth = 4;
+        int sum = depth + 1;
+
+        method.visitInsn(ICONST_0);
+        method.visitVarInsn(ISTORE, sum);
+
+        for (int i = 0; i < size; i++) {
+            loop(method, 1, depth, sum);
+        }
+        end(method, sum);
+    }
+
+    /**
+     * Write the nested loop.
+     *
+     * @param method A method writer.
+     * @param level The current loop level (also the index of loop variable).
+     * @param depth The maximum loop level.
+     * @param sum The index of accumulator.
+     */
+    private static void loop(MethodVisitor method, int level, int depth, int sum) {
+        Label body = new Label();
+        Label condition = new Label();
+
+        method.visitInsn(ICONST_0);
+        method.visitVarInsn(ISTORE, level);
+        method.visitJumpInsn(GOTO, condition);
+        method.visitLabel(body);
+        if (level < depth) {
+            loop(method, level + 1, depth, sum);
+        } else {
+            method.visitVarInsn(ILOAD, sum);
+            method.visitVarInsn(ILOAD, level);
+            method.visitInsn(IADD);
+            method.visitVarInsn(ISTORE, sum);
+        }
+        method.visitIincInsn(level, 1);
+        method.visitLabel(condition);
+        method.visitVarInsn(ILOAD, level);
+        method.visitVarInsn(ILOAD, 0);
+        method.visitJumpInsn(IF_ICMPLT, body);
+    }
+
+    /**
+     * Write the large switch: switch (x) { case i: y = x * i; break; }
+     *
+     * @param method A method writer.
+     * @param size The number of cases.
+     */
+    private static void table(MethodVisitor method, int size) {
+        Label end = new Label();
+        Label otherwise = new Label();
+        Label[] cases = new Label[size];
+        for (int i = 0; i < size; i++) {
+            cases[i] = new Label();
+        }
+
+        method.visitInsn(ICONST_0);
+        method.visitVarInsn(ISTORE, 1);
+        method.visitVarInsn(ILOAD, 0);
+        method.visitTableSwitchInsn(0, size - 1, otherwise, cases);
+        for (int i = 0; i < size; i++) {
+            method.visitLabel(cases[i]);
+            method.visitVarInsn(ILOAD, 0);
+            method.visitLdcInsn(i);
+            method.visitInsn(IMUL);
+            method.visitVarInsn(ISTORE, 1);
+            method.visitJumpInsn(GOTO, end);
+        }
+        method.visitLabel(otherwise);
+        method.visitInsn(ICONST_M1);
+        method.visitVarInsn(ISTORE, 1);
+        method.visitLabel(end);
+        end(method, 1);
+    }
+
+    /**
+     * Write the return statement.
+     *
+     * @param method A method writer.
+     * @param local The index of the returned local variable.
+     */
+    private static void end(MethodVisitor method, int local) {
+        method.visitVarInsn(ILOAD, local);
+        method.visitInsn(IRETURN);
+        method.visitMaxs(0, 0);
+        method.visitEnd();
+    }
+}
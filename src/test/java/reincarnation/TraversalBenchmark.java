@@ -0,0 +1,166 @@
+/*
+ * Copyright (C) 2024 The REINCARNATION Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package reincarnation;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import kiss.Variable;
+
+/**
+ * Compare the graph traversal by {@link Traversal} with the previous implementation by
+ * {@link kiss.Signal} and {@link HashSet}. The allocation rate is reported by the GC profiler.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TraversalBenchmark {
+
+    /** The number of diamonds in the graph. */
+    @Param({"10", "1000"})
+    public int size;
+
+    /** The entrance node. */
+    private Node entrance;
+
+    /** The exit node. */
+    private Node exit;
+
+    /** The branch nodes of the first diamond. */
+    private List<Node> branches;
+
+    /**
+     * Build the sequential diamonds: if (x) {} else {}
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+        int index = 0;
+        entrance = new Node(index, index++);
+
+        Node current = entrance;
+        for (int i = 0; i < size; i++) {
+            Node left = new Node(index, index++);
+            Node right = new Node(index, index++);
+            Node join = new Node(index, index++);
+            current.connect(left);
+            current.connect(right);
+            left.connect(join);
+            right.connect(join);
+            current = join;
+
+            if (i == 0) {
+                branches = List.of(left, right);
+            }
+        }
+        exit = current;
+    }
+
+    /**
+     * Reachability by the worklist and stamped marks.
+     */
+    @Benchmark
+    public boolean reachByTraversal() {
+        return entrance.canReachTo(exit, Set.of());
+    }
+
+    /**
+     * Reachability by the previous implementation.
+     */
+    @Benchmark
+    public boolean reachByHashSet() {
+        return canReachTo(entrance, exit, Set.of());
+    }
+
+    /**
+     * The lowest common destination by the worklist and stamped marks.
+     */
+    @Benchmark
+    public Variable<Node> destinationByTraversal() {
+        return Node.getLowestCommondDestination(branches);
+    }
+
+    /**
+     * The lowest common destination by the previous implementation.
+     */
+    @Benchmark
+    public Variable<Node> destinationBySignal() {
+        Node dominator = Node.getLowestCommonDominator(branches);
+        Set<Node> excludes = new HashSet();
+        excludes.add(dominator);
+        excludes.addAll(branches);
+
+        for (Node target : branches) {
+            for (Node node : target.outgoingRecursively(excludes::contains).toList()) {
+                if (branches.stream().allMatch(branch -> canReachTo(branch, node, Set.of()))) {
+                    return Variable.of(node);
+                }
+            }
+        }
+        return Variable.empty();
+    }
+
+    /**
+     * The previous implementation of {@link Node#canReachTo(Node, Collection)}.
+     */
+    private static boolean canReachTo(Node from, Node node, Collection<Node> exclusionNodes) {
+        Set<Node> recorder = new HashSet();
+        recorder.add(from);
+
+        Deque<Node> queue = new ArrayDeque();
+        queue.add(from);
+
+        while (!queue.isEmpty()) {
+            for (Node out : queue.pollFirst().outgoing) {
+                if (out == node) {
+                    return true;
+                }
+
+                if (!exclusionNodes.contains(out) && recorder.add(out)) {
+                    queue.addLast(out);
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Launch all benchmarks.
+     *
+     * @param args Ignored.
+     */
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(TraversalBenchmark.class.getSimpleName()).addProfiler(GCProfiler.class).build()).run();
+    }
+}
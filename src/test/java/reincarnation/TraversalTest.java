@@ -0,0 +1,144 @@
+/*
+ * Copyright (C) 2024 The REINCARNATION Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package reincarnation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+class TraversalTest {
+
+    @Test
+    void visit() {
+        Node[] n = Graph.detached(2);
+
+        try (Traversal traversal = Traversal.open()) {
+            assert traversal.visit(n[0]);
+            assert !traversal.visit(n[0]);
+            assert traversal.isVisited(n[0]);
+            assert !traversal.isVisited(n[1]);
+        }
+
+        try (Traversal traversal = Traversal.open()) {
+            assert !traversal.isVisited(n[0]);
+        }
+    }
+
+    @Test
+    void nested() {
+        Node[] n = Graph.detached(2);
+
+        try (Traversal outer = Traversal.open()) {
+            outer.visit(n[0]);
+
+            try (Traversal inner = Traversal.open()) {
+                assert inner != outer;
+                assert !inner.isVisited(n[0]);
+                inner.visit(n[1]);
+            }
+
+            assert outer.isVisited(n[0]);
+            assert !outer.isVisited(n[1]);
+        }
+    }
+
+    @Test
+    void worklist() {
+        Node[] n = Graph.detached(1000);
+        List<Node> polled = new ArrayList();
+
+        try (Traversal traversal = Traversal.open()) {
+            for (Node node : n) {
+                traversal.add(node);
+                traversal.add(node);
+                polled.add(traversal.next());
+            }
+
+            while (traversal.hasNext()) {
+                polled.add(traversal.next());
+            }
+        }
+
+        assert polled.size() == 2000;
+        for (int i = 0; i < 1000; i++) {
+            assert polled.get(i) == n[i / 2];
+        }
+    }
+
+    @Test
+    void canReachTo() {
+        Node[] n = Graph.detached(4);
+        n[0].connect(n[1]);
+        n[1].connect(n[2]);
+        n[0].connect(n[3]);
+
+        assert n[0].canReachTo(n[2]);
+        assert !n[2].canReachTo(n[0]);
+        assert !n[0].canReachTo(n[2], Set.of(n[1]));
+        assert n[0].canReachTo(n[3], Set.of(n[1]));
+    }
+
+    @Test
+    void canReachToAcceptThrow() {
+        Node[] n = Graph.detached(3);
+        n[0].connect(n[1]);
+
+        assert !n[0].canReachTo(n[2], Set.of(), true);
+
+        n[1].stack.add(new OperandThrow(new OperandNumber(0)));
+        assert n[0].canReachTo(n[2], Set.of(), true);
+        assert !n[0].canReachTo(n[2], Set.of(), false);
+    }
+
+    @Test
+    void canReachToLargeLoop() {
+        Node[] n = Graph.detached(20000);
+        for (int i = 1; i < n.length; i++) {
+            n[i - 1].connect(n[i]);
+        }
+        n[n.length - 1].connect(n[0]);
+
+        assert n[5].canReachTo(n[3]);
+        assert !n[5].canReachTo(n[3], Set.of(n[4000]));
+    }
+
+    @Test
+    void collectOutgoing() {
+        Node[] n = Graph.detached(4);
+        n[0].connect(n[1]);
+        n[0].connect(n[2]);
+        n[1].connect(n[3]);
+        n[2].connect(n[3]);
+        for (Node node : n) {
+            node.stack.add(new OperandNumber(node.index));
+        }
+
+        // same as outgoingRecursively, the junction appears on each path
+        assert n[0].collectOutgoing(x -> false, Integer.MAX_VALUE).equals(List.of(n[0], n[1], n[2], n[3], n[3]));
+        assert n[0].collectOutgoing(x -> false, 2).equals(List.of(n[0], n[1]));
+        assert n[0].collectOutgoing(x -> x == n[2], Integer.MAX_VALUE).equals(List.of(n[0], n[1]));
+    }
+
+    @Test
+    void collectOutgoingStopsAtLoop() {
+        Node[] n = Graph.detached(3);
+        n[0].connect(n[1]);
+        n[1].connect(n[2]);
+        n[2].connect(n[1]);
+        n[0].searchBackEdge();
+        for (Node node : n) {
+            node.stack.add(new OperandNumber(node.index));
+        }
+
+        assert n[0].collectOutgoing(x -> false, Integer.MAX_VALUE).equals(List.of(n[0]));
+    }
+}
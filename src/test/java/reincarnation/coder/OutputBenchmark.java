@@ -0,0 +1,89 @@
+/*
+ * Copyright (C) 2024 The REINCARNATION Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package reincarnation.coder;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measure the segmented {@link Output} by the number of regions, so the cost of the lazy regions
+ * and snapshots can be checked to grow linearly. The allocation rate is reported by the GC
+ * profiler.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OutputBenchmark {
+
+    /** The number of regions (e.g. members which write their imports or names lazily). */
+    @Param({"500", "1000", "2000", "4000"})
+    public int size;
+
+    /**
+     * Write the text which has the lazy region for each member and resolve them at the end.
+     */
+    @Benchmark
+    public String lazy() {
+        Output output = new Output();
+        for (int i = 0; i < size; i++) {
+            String name = "member" + i;
+            output.append("void ");
+            output.lazy(0, () -> output.append(name));
+            output.append("() {\n    return;\n}\n");
+        }
+        output.resolve(indent -> {
+        });
+        return output.text();
+    }
+
+    /**
+     * Write the text which takes the snapshot for each member and reverts the half of them.
+     */
+    @Benchmark
+    public String snapshot() {
+        Output output = new Output();
+        for (int i = 0; i < size; i++) {
+            Output.Mark mark = output.mark();
+            output.append("void member" + i + "() {\n    return;\n}\n");
+
+            if ((i & 1) == 0) {
+                output.revert();
+            }
+            output.release(mark);
+        }
+        return output.text();
+    }
+
+    /**
+     * Launch all benchmarks.
+     *
+     * @param args Ignored.
+     */
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(OutputBenchmark.class.getSimpleName()).addProfiler(GCProfiler.class).build()).run();
+    }
+}
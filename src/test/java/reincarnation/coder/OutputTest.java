@@ -0,0 +1,259 @@
+/*
+ * Copyright (C) 2024 The REINCARNATION Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package reincarnation.coder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+
+class OutputTest {
+
+    private static final String LARGE = "x".repeat(100 * 1024);
+
+    @Test
+    void memory() {
+        Output output = new Output();
+        output.append("head");
+        output.append(LARGE);
+
+        assert output.text().equals("head" + LARGE);
+        assert output.position() == 4 + LARGE.length();
+    }
+
+    @Test
+    void lazy() {
+        Output output = new Output();
+        output.append("head;");
+        output.lazy(0, () -> output.append("first;"));
+        output.append("middle;");
+        output.lazy(0, () -> output.append("second;"));
+        output.append("tail;");
+        output.resolve(indent -> {
+        });
+
+        assert output.text().equals("head;first;middle;second;tail;");
+    }
+
+    @Test
+    void lazyResolveTwice() {
+        Output output = new Output();
+        output.append("head;");
+        output.lazy(0, () -> output.append("lazy;"));
+        output.append("tail;");
+        output.resolve(indent -> {
+        });
+        output.resolve(indent -> {
+        });
+
+        assert output.text().equals("head;lazy;tail;");
+    }
+
+    @Test
+    void lazyMany() {
+        int size = 10000;
+        StringBuilder expected = new StringBuilder();
+        Output output = new Output();
+
+        for (int i = 0; i < size; i++) {
+            String text = "method" + i + ";";
+            String value = "lazy" + i + ";";
+            output.append(text);
+            output.lazy(0, () -> output.append(value));
+            expected.append(text).append(value);
+        }
+        output.resolve(indent -> {
+        });
+
+        assert output.text().equals(expected.toString());
+    }
+
+    @Test
+    void lazyIndent() {
+        StringBuilder indents = new StringBuilder();
+        Output output = new Output();
+        output.lazy(1, () -> output.append("1"));
+        output.lazy(2, () -> output.append("2"));
+        output.resolve(indents::append);
+
+        assert indents.toString().equals("21");
+    }
+
+    @Test
+    void snapshot() {
+        Output output = new Output();
+        output.append("head;");
+        Output.Mark mark = output.mark();
+        output.append("kept;");
+        output.release(mark);
+
+        assert output.text().equals("head;kept;");
+    }
+
+    @Test
+    void snapshotRevert() {
+        Output output = new Output();
+        output.append("head;");
+        Output.Mark mark = output.mark();
+        output.append("reverted;");
+        output.revert();
+        output.release(mark);
+        output.append("tail;");
+
+        assert output.text().equals("head;tail;");
+        assert output.position() == 10;
+    }
+
+    @Test
+    void snapshotNested() {
+        Output output = new Output();
+        output.append("head;");
+        Output.Mark outer = output.mark();
+        output.append("outer;");
+        Output.Mark inner = output.mark();
+        output.append("inner;");
+        output.revert();
+        output.release(inner);
+        output.release(outer);
+
+        assert output.text().equals("head;outer;");
+    }
+
+    @Test
+    void snapshotRevertLazy() {
+        Output output = new Output();
+        output.append("head;");
+        Output.Mark mark = output.mark();
+        output.lazy(0, () -> output.append("reverted;"));
+        output.revert();
+        output.release(mark);
+        output.lazy(0, () -> output.append("kept;"));
+        output.resolve(indent -> {
+        });
+
+        assert output.text().equals("head;kept;");
+    }
+
+    @Test
+    void streamBeforeLazy() {
+        StringBuilder sink = new StringBuilder();
+        Output output = new Output();
+        output.streamTo(sink);
+        output.append(LARGE);
+
+        assert sink.length() == LARGE.length();
+        assert output.position() == LARGE.length();
+    }
+
+    @Test
+    void holdAfterLazy() {
+        StringBuilder sink = new StringBuilder();
+        Output output = new Output();
+        output.streamTo(sink);
+        output.append("head;");
+        output.lazy(0, () -> output.append("first;"));
+        output.append(LARGE);
+        output.append("middle;");
+        output.lazy(0, () -> output.append("second;"));
+        output.append(LARGE);
+        output.append("tail;");
+
+        assert sink.toString().equals("head;");
+        output.resolve(indent -> {
+        });
+        output.finish();
+        assert sink.toString().equals("head;first;" + LARGE + "middle;second;" + LARGE + "tail;");
+    }
+
+    @Test
+    void holdAfterLazyPartially() {
+        StringBuilder sink = new StringBuilder();
+        Output output = new Output();
+        output.streamTo(sink);
+        output.append("head;");
+        output.lazy(0, () -> output.append("first;"));
+        output.append(LARGE);
+        output.lazy(0, () -> output.append("second;"));
+        output.append("tail;");
+        output.resolve(indent -> {
+        });
+        output.finish();
+
+        assert sink.toString().equals("head;first;" + LARGE + "second;tail;");
+    }
+
+    @Test
+    void discard() throws IOException {
+        Set<Path> before = spills();
+        StringBuilder sink = new StringBuilder();
+        Output output = new Output();
+        output.streamTo(sink);
+        output.append("head;");
+        output.lazy(0, () -> output.append("first;"));
+        output.append(LARGE);
+
+        Set<Path> spilled = spills();
+        spilled.removeAll(before);
+        assert !spilled.isEmpty();
+
+        // the generation is failed before finishing
+        output.discard();
+        for (Path spill : spilled) {
+            assert Files.notExists(spill);
+        }
+        assert sink.toString().equals("head;");
+    }
+
+    /**
+     * List the temporary files of the spilled text.
+     * 
+     * @return The temporary files.
+     */
+    private Set<Path> spills() throws IOException {
+        try (Stream<Path> files = Files.list(Path.of(System.getProperty("java.io.tmpdir")))) {
+            return new HashSet(files.filter(file -> file.getFileName().toString().startsWith("reincarnation")).toList());
+        }
+    }
+
+    @Test
+    void snapshotGuard() {
+        StringBuilder sink = new StringBuilder();
+        Output output = new Output();
+        output.streamTo(sink);
+        output.append("head;");
+        Output.Mark mark = output.mark();
+        output.append(LARGE);
+
+        assert sink.toString().equals("head;");
+
+        output.revert();
+        output.release(mark);
+        output.append("tail;");
+        output.finish();
+        assert sink.toString().equals("head;tail;");
+    }
+
+    @Test
+    void streamAfterWrite() {
+        Output output = new Output();
+        output.append("written");
+
+        try {
+            output.streamTo(new StringBuilder());
+            assert false;
+        } catch (IllegalStateException e) {
+            // expected
+        }
+    }
+}
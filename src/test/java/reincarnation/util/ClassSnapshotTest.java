@@ -0,0 +1,91 @@
+/*
+ * Copyright (C) 2024 The REINCARNATION Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package reincarnation.util;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class ClassSnapshotTest {
+
+    @Test
+    void shared() {
+        assert ClassSnapshot.of(ArrayList.class) == ClassSnapshot.of(ArrayList.class);
+        assert ClassSnapshot.of(ArrayList.class) != ClassSnapshot.of(List.class);
+    }
+
+    @Test
+    void fields() {
+        ClassSnapshot snapshot = ClassSnapshot.of(Point.class);
+        assert snapshot.fields().equals(List.of(Point.class.getDeclaredFields()));
+        assert snapshot.fields() == snapshot.fields();
+    }
+
+    @Test
+    void methods() {
+        ClassSnapshot snapshot = ClassSnapshot.of(ArrayList.class);
+        assert snapshot.methods().equals(List.of(ArrayList.class.getDeclaredMethods()));
+        assert snapshot.methods() == snapshot.methods();
+    }
+
+    @Test
+    void constructors() {
+        ClassSnapshot snapshot = ClassSnapshot.of(ArrayList.class);
+        assert snapshot.constructors().equals(List.of(ArrayList.class.getDeclaredConstructors()));
+        assert snapshot.constructors() == snapshot.constructors();
+    }
+
+    @Test
+    void immutable() {
+        try {
+            ClassSnapshot.of(Point.class).fields().clear();
+            assert false;
+        } catch (UnsupportedOperationException e) {
+            // expected
+        }
+    }
+
+    @Test
+    void recordComponents() {
+        assert ClassSnapshot.of(Point.class).recordComponents().size() == 2;
+        assert ClassSnapshot.of(Point.class).recordComponents().get(0).getName().equals("x");
+        assert ClassSnapshot.of(ArrayList.class).recordComponents().isEmpty();
+    }
+
+    @Test
+    void parameters() throws Exception {
+        Method method = String.class.getDeclaredMethod("substring", int.class, int.class);
+        List<Parameter> parameters = ClassSnapshot.of(method).parameters(method);
+        assert parameters.equals(List.of(method.getParameters()));
+
+        // the equivalent executable shares the same parameters
+        Method other = String.class.getDeclaredMethod("substring", int.class, int.class);
+        assert method != other;
+        assert parameters == ClassSnapshot.of(other).parameters(other);
+        assert parameters.get(0) == ClassSnapshot.of(other).parameters(other).get(0);
+    }
+
+    @Test
+    void parameterTypes() throws Exception {
+        Constructor constructor = Mode.class.getDeclaredConstructor(String.class, int.class);
+        assert ClassSnapshot.of(constructor).parameterTypes(constructor).equals(List.of(String.class, int.class));
+    }
+
+    private record Point(int x, int y) {
+    }
+
+    private enum Mode {
+        On;
+    }
+}